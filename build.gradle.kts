@@ -77,6 +77,20 @@ tasks {
         }
         finalizedBy("jacocoTestReport")
     }
+    register<Test>("virtualThreadScalingTest") {
+        description = "Runs the scaling test of the blocking readers on virtual threads (Java 21 or later)."
+        group = "verification"
+        testClassesDirs = sourceSets["test"].output.classesDirs
+        classpath = sourceSets["test"].runtimeClasspath
+        filter {
+            includeTestsMatching("org.eclipse.keyple.core.service.ObservableLocalReaderBlockingScalingTest")
+        }
+        systemProperty("org.eclipse.keyple.core.service.useVirtualThreads", "true")
+        testLogging {
+            events("passed", "skipped", "failed")
+            showStandardStreams = true
+        }
+    }
     jacocoTestReport {
         dependsOn("test")
         reports {
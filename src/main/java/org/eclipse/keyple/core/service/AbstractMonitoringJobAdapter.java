@@ -52,6 +52,20 @@ final ObservableLocalReaderAdapter getReader() {
    */
   abstract Runnable getMonitoringJob(AbstractObservableStateAdapter monitoringState);
 
+  /**
+   * (package-private)<br>
+   * Indicates whether the job keeps running after the completion of the task returned by {@link
+   * #getMonitoringJob(AbstractObservableStateAdapter)}, by rescheduling itself.
+   *
+   * <p>Such a job has to be stopped whenever its state is deactivated.
+   *
+   * @return False by default.
+   * @since 2.0
+   */
+  boolean isSelfRescheduling() {
+    return false;
+  }
+
   /**
    * (package-private)<br>
    * Stops/interrupts the monitoring job
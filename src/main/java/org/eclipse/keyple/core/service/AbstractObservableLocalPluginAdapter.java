@@ -11,8 +11,7 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 import org.eclipse.keyple.core.plugin.spi.PluginSpi;
 import org.eclipse.keyple.core.service.spi.PluginObservationExceptionHandlerSpi;
 import org.eclipse.keyple.core.service.spi.PluginObserverSpi;
@@ -81,8 +80,9 @@ final void notifyObservers(final PluginEvent event) {
           countObservers());
     }
 
-    for (PluginObserverSpi observer : observationManager.getObservers()) {
-      notifyObserver(observer, event);
+    List<PluginObserverSpi> observers = observationManager.getObservers();
+    for (int i = 0; i < observers.size(); i++) {
+      notifyObserver(observers.get(i), event);
     }
   }
 
@@ -112,10 +112,9 @@ private void notifyObserver(PluginObserverSpi observer, PluginEvent event) {
    */
   @Override
   final void unregister() {
-    Set<String> unregisteredReaderNames = new HashSet<String>(this.getReaderNames());
     notifyObservers(
         new PluginEventAdapter(
-            this.getName(), unregisteredReaderNames, PluginEvent.Type.UNAVAILABLE));
+            this.getName(), getReaderNamesSnapshot(), PluginEvent.Type.UNAVAILABLE));
     clearObservers();
     super.unregister();
   }
@@ -176,8 +176,9 @@ final void onDeactivate() {
       logger.trace("[{}] onDeactivate => {}", this.reader.getName(), this.getMonitoringState());
     }
 
-    // cancel the monitoringJob is necessary
-    if (monitoringEvent != null && !monitoringEvent.isDone()) {
+    // cancel the monitoringJob is necessary, a self rescheduling job outlives its first task
+    if (monitoringEvent != null
+        && (monitoringJob.isSelfRescheduling() || !monitoringEvent.isDone())) {
       monitoringJob.stop();
 
       boolean canceled = monitoringEvent.cancel(false);
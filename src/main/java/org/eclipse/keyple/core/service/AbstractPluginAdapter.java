@@ -11,9 +11,12 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.keyple.core.common.KeyplePluginExtension;
 import org.eclipse.keyple.core.plugin.PluginIOException;
@@ -33,6 +36,10 @@ abstract class AbstractPluginAdapter implements Plugin {
   private final KeyplePluginExtension pluginExtension;
   private boolean isRegistered;
   private final Map<String, Reader> readers;
+  private final Object readerNamesSnapshotMonitor = new Object();
+
+  /* Immutable snapshot of the reader names, null when outdated, guarded by the monitor above */
+  private SortedSet<String> readerNamesSnapshot;
 
   /**
    * (package-private)<br>
@@ -86,8 +93,10 @@ void unregister() {
       } catch (Exception e) {
         logger.error("Error during the unregistration of reader '{}'", reader.getName(), e);
       }
+      SmartCardServiceAdapter.getInstance().unregisterReader(this, reader);
     }
     readers.clear();
+    invalidateReaderNamesSnapshot();
     isRegistered = false;
   }
 
@@ -114,12 +123,63 @@ public final <T extends KeyplePluginExtension> T getExtension(Class<T> pluginExt
 
   /**
    * (package-private)<br>
-   * Gets the Map of all connected readers.
+   * Adds a reader to the map of connected readers and references it in the reader directory of the
+   * service.
+   *
+   * @param reader The reader to add.
+   * @since 2.0
+   */
+  final void addReaderToMap(Reader reader) {
+    readers.put(reader.getName(), reader);
+    invalidateReaderNamesSnapshot();
+    SmartCardServiceAdapter.getInstance().registerReader(this, reader);
+  }
+
+  /**
+   * (package-private)<br>
+   * Removes a reader from the map of connected readers and from the reader directory of the
+   * service.
+   *
+   * @param reader The reader to remove.
+   * @since 2.0
+   */
+  final void removeReaderFromMap(Reader reader) {
+    readers.remove(reader.getName());
+    invalidateReaderNamesSnapshot();
+    SmartCardServiceAdapter.getInstance().unregisterReader(this, reader);
+  }
+
+  /**
+   * (private)<br>
+   * Invalidates the snapshot of the reader names after a change of the map of readers.
+   *
+   * <p>The snapshot is only rebuilt when it is next requested, so that adding or removing many
+   * readers in a row does not rebuild it each time.
+   */
+  private void invalidateReaderNamesSnapshot() {
+    synchronized (readerNamesSnapshotMonitor) {
+      readerNamesSnapshot = null;
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets an immutable snapshot of the names of the connected readers.
    *
+   * <p>The snapshot is shared and only rebuilt after a reader has been added or removed, it can
+   * therefore be used without copy in the plugin events and in the monitoring loops.
+   *
+   * @return A not null immutable reference.
    * @since 2.0
    */
-  final Map<String, Reader> getReadersMap() {
-    return readers;
+  final SortedSet<String> getReaderNamesSnapshot() {
+    synchronized (readerNamesSnapshotMonitor) {
+      if (readerNamesSnapshot == null) {
+        readerNamesSnapshot =
+            Collections.unmodifiableSortedSet(new TreeSet<String>(readers.keySet()));
+      }
+      return readerNamesSnapshot;
+    }
   }
 
   /**
@@ -0,0 +1,104 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.List;
+import org.calypsonet.terminal.card.spi.CardSelectionRequestSpi;
+
+/**
+ * (package-private)<br>
+ * Records how often each card selection request of a reader's selection list matches, and provides
+ * the order in which to try them, most frequently matched first.
+ *
+ * <p>The statistics apply to a given list of requests: they are reset when the reader processes a
+ * list whose requests are not the same instances, at the same positions, as the previous one.<br>
+ * The counters are halved periodically so that the order follows changes in the card population.
+ *
+ * @since 2.0
+ */
+final class AdaptiveSelectionOrderAdapter {
+
+  /** number of matches after which all the counters are halved */
+  private static final int AGING_PERIOD = 1024;
+
+  private CardSelectionRequestSpi[] cardSelectionRequests = new CardSelectionRequestSpi[0];
+  private int[] matchCounts = new int[0];
+  private int matchCountSinceAging;
+
+  /**
+   * (package-private)<br>
+   * Gets the order in which the provided card selection requests should be tried.
+   *
+   * @param cardSelectionRequests The card selection requests.
+   * @return A not null array containing the original indices of the requests, sorted by descending
+   *     number of matches, then by ascending index.
+   * @since 2.0
+   */
+  synchronized int[] getOrder(List<CardSelectionRequestSpi> cardSelectionRequests) {
+    if (!isCurrentList(cardSelectionRequests)) {
+      this.cardSelectionRequests =
+          cardSelectionRequests.toArray(new CardSelectionRequestSpi[cardSelectionRequests.size()]);
+      matchCounts = new int[this.cardSelectionRequests.length];
+      matchCountSinceAging = 0;
+    }
+    // insertion sort, stable and well suited to the few requests of a selection
+    int[] order = new int[matchCounts.length];
+    for (int i = 0; i < order.length; i++) {
+      int j = i;
+      while (j > 0 && matchCounts[order[j - 1]] < matchCounts[i]) {
+        order[j] = order[j - 1];
+        j--;
+      }
+      order[j] = i;
+    }
+    return order;
+  }
+
+  /**
+   * (package-private)<br>
+   * Records a match of the request at the provided original index of the current list.
+   *
+   * @param index The original index of the request.
+   * @since 2.0
+   */
+  synchronized void onMatched(int index) {
+    if (index >= matchCounts.length) {
+      return;
+    }
+    matchCounts[index]++;
+    if (++matchCountSinceAging >= AGING_PERIOD) {
+      for (int i = 0; i < matchCounts.length; i++) {
+        matchCounts[i] >>= 1;
+      }
+      matchCountSinceAging = 0;
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Indicates whether the provided list contains the same requests as the current one.
+   *
+   * @param cardSelectionRequests The card selection requests.
+   * @return True if the requests are the same instances, at the same positions.
+   */
+  private boolean isCurrentList(List<CardSelectionRequestSpi> cardSelectionRequests) {
+    if (cardSelectionRequests.size() != this.cardSelectionRequests.length) {
+      return false;
+    }
+    for (int i = 0; i < this.cardSelectionRequests.length; i++) {
+      if (cardSelectionRequests.get(i) != this.cardSelectionRequests[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
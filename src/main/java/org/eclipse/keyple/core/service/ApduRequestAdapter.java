@@ -27,6 +27,7 @@ class ApduRequestAdapter implements ApduRequestSpi {
 
   private final byte[] apdu;
   private final Set<Integer> successfulStatusWords;
+  private transient StatusWordSetAdapter successfulStatusWordSet;
   private String info;
 
   /**
@@ -41,6 +42,7 @@ public ApduRequestAdapter(byte[] apdu) {
     this.apdu = apdu;
     this.successfulStatusWords = new HashSet<Integer>();
     this.successfulStatusWords.add(DEFAULT_SUCCESSFUL_CODE);
+    this.successfulStatusWordSet = StatusWordSetAdapter.of(successfulStatusWords);
   }
 
   /**
@@ -54,6 +56,7 @@ public ApduRequestAdapter(byte[] apdu) {
    */
   public ApduRequestAdapter addSuccessfulStatusWord(int successfulStatusWord) {
     this.successfulStatusWords.add(successfulStatusWord);
+    this.successfulStatusWordSet = successfulStatusWordSet.with(successfulStatusWord);
     return this;
   }
 
@@ -91,6 +94,17 @@ public Set<Integer> getSuccessfulStatusWords() {
     return successfulStatusWords;
   }
 
+  /**
+   * (package-private)<br>
+   * Gets the successful status words as a primitive set.
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  StatusWordSetAdapter getSuccessfulStatusWordSet() {
+    return successfulStatusWordSet;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -11,6 +11,7 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import org.calypsonet.terminal.card.ApduResponseApi;
 import org.eclipse.keyple.core.util.json.JsonUtil;
@@ -58,6 +59,32 @@ public byte[] getDataOut() {
     return Arrays.copyOfRange(this.apdu, 0, this.apdu.length - 2);
   }
 
+  /**
+   * (package-private)<br>
+   * Gets the length of the data out, without copying them.
+   *
+   * <p>The data out are the first bytes of the array returned by {@link #getApdu()}.
+   *
+   * @return A positive or zero int.
+   * @since 2.0
+   */
+  int getDataOutLength() {
+    return apdu.length - 2;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets a read-only view of the data out, without copying them.
+   *
+   * <p>The position of the returned buffer is 0 and its limit is the length of the data out.
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  ByteBuffer getDataOutBuffer() {
+    return ByteBuffer.wrap(apdu, 0, apdu.length - 2).slice().asReadOnlyBuffer();
+  }
+
   /**
    * {@inheritDoc}
    *
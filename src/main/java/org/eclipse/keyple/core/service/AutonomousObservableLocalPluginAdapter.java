@@ -86,7 +86,7 @@ public void onReaderDisconnected(Set<String> readerNames) {
       } else {
         // unregister and remove reader
         ((LocalReaderAdapter) reader).unregister();
-        getReadersMap().remove(reader.getName());
+        removeReaderFromMap(reader);
         if (logger.isTraceEnabled()) {
           logger.trace(
               "[{}] ObservableLocalPlugin => Remove reader '{}' from readers list.",
@@ -114,7 +114,7 @@ private void addReader(ReaderSpi readerSpi) {
       reader = new LocalReaderAdapter(readerSpi, this.getName());
     }
     reader.register();
-    getReadersMap().put(reader.getName(), reader);
+    addReaderToMap(reader);
     if (logger.isTraceEnabled()) {
       logger.trace(
           "[{}] ObservableLocalPlugin => Add reader '{}' to readers list.",
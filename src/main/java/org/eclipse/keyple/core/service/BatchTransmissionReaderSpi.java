@@ -0,0 +1,77 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.List;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+
+/**
+ * (package-private)<br>
+ * Optional capability of a reader SPI able to transmit several APDUs to the card in a single
+ * exchange with the reader.
+ *
+ * <p>When the SPI of a local reader implements this interface, the service uses it to transmit the
+ * APDUs of the card requests instead of calling the transmission method of the reader SPI for each
+ * APDU.
+ *
+ * <p>This capability is intended for the reader plugins and belongs to the plugin API. It is kept
+ * internal to the service until it is defined there, so that no plugin depends on the service to
+ * implement it.
+ *
+ * @since 2.0
+ */
+interface BatchTransmissionReaderSpi {
+
+  /**
+   * (package-private)<br>
+   * Transmits the provided APDUs to the card, in order, and returns the responses received.
+   *
+   * <p>If a status word checker is provided, the transmission stops after the first response whose
+   * status word is not successful for the corresponding APDU; the responses returned then end with
+   * this response.<br>
+   * Otherwise, all the APDUs must be transmitted and a response returned for each of them.
+   *
+   * <p>The service never provides a batch in which a case 4 APDU is followed by another APDU, so
+   * that it can retrieve the outgoing data of cards answering such a command without data.
+   *
+   * @param apdus The APDUs to transmit (not empty).
+   * @param statusWordChecker Null if the transmission must not stop on an unsuccessful status word,
+   *     otherwise the checker of the status words received.
+   * @return A not empty list of responses containing the data and the status word.
+   * @throws ReaderIOException If the communication with the reader has failed.
+   * @throws CardIOException If the communication with the card has failed.
+   * @since 2.0
+   */
+  List<byte[]> transmitApdus(List<byte[]> apdus, StatusWordChecker statusWordChecker)
+      throws ReaderIOException, CardIOException;
+
+  /**
+   * (package-private)<br>
+   * Checks the status words received in response to the APDUs of a batch.
+   *
+   * @since 2.0
+   */
+  interface StatusWordChecker {
+
+    /**
+     * (package-private)<br>
+     * Indicates whether the provided status word is successful for the APDU at the provided index.
+     *
+     * @param apduIndex The index of the APDU in the batch.
+     * @param statusWord The status word received in response to this APDU.
+     * @return True if the status word is successful.
+     * @since 2.0
+     */
+    boolean isSuccessful(int apduIndex, int statusWord);
+  }
+}
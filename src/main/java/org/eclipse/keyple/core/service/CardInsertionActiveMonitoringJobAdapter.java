@@ -11,6 +11,9 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service;
 
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +23,10 @@
  * This monitoring job polls the {@link Reader#isCardPresent()} method to detect a card insertion or
  * a card removal.
  *
+ * <p>Each polling cycle is executed as a task of the scheduler shared by all readers, the next
+ * cycle being scheduled at the end of the current one as long as the expected event has not
+ * occurred.
+ *
  * <p>All runtime exceptions that may occur during the monitoring process are caught and notified at
  * the application level through the {@link
  * org.eclipse.keyple.core.service.spi.CardReaderObservationExceptionHandlerSpi} mechanism.
@@ -31,26 +38,32 @@ final class CardInsertionActiveMonitoringJobAdapter extends AbstractMonitoringJo
   private static final Logger logger =
       LoggerFactory.getLogger(CardInsertionActiveMonitoringJobAdapter.class);
 
-  private final long cycleDurationMillis;
+  private final PollingCadenceAdapter pollingCadence;
   private final boolean monitorInsertion;
   private final Reader reader;
-  private final AtomicBoolean loop = new AtomicBoolean();
+  private final ScheduledExecutorService scheduler;
+  private volatile PollingTask pollingTask;
 
   /**
    * (package-private)<br>
    * Build a monitoring job to detect the card insertion
    *
    * @param reader reader that will be polled with the method isCardPresent()
-   * @param cycleDurationMillis time interval between two presence polls.
+   * @param pollingCadence the cadence defining the time interval between two presence polls.
    * @param monitorInsertion if true, polls for CARD_INSERTED, else CARD_REMOVED
+   * @param scheduler the scheduler used to execute the polling cycles.
    * @since 2.0
    */
   public CardInsertionActiveMonitoringJobAdapter(
-      ObservableLocalReaderAdapter reader, long cycleDurationMillis, boolean monitorInsertion) {
+      ObservableLocalReaderAdapter reader,
+      PollingCadenceAdapter pollingCadence,
+      boolean monitorInsertion,
+      ScheduledExecutorService scheduler) {
     super(reader);
-    this.cycleDurationMillis = cycleDurationMillis;
+    this.pollingCadence = pollingCadence;
     this.reader = reader;
     this.monitorInsertion = monitorInsertion;
+    this.scheduler = scheduler;
   }
 
   /**
@@ -62,69 +75,26 @@ public CardInsertionActiveMonitoringJobAdapter(
    */
   @Override
   Runnable getMonitoringJob(final AbstractObservableStateAdapter monitoringState) {
-    return new Runnable() {
-      long retries = 0;
-
-      /**
-       * Monitoring loop
-       *
-       * <p>Polls for the presence of a card and loops until no card responds. <br>
-       * Triggers a CARD_INSERTED event and exits as soon as a communication with a card is
-       * established.
-       *
-       * <p>Any exceptions are notified to the application using the exception handler.
-       */
-      @Override
-      public void run() {
-        try {
-          if (logger.isDebugEnabled()) {
-            logger.debug("[{}] Polling from isCardPresent", reader.getName());
-          }
-          // re-init loop value to true
-          loop.set(true);
-          while (loop.get()) {
-            // polls for CARD_INSERTED
-            if (monitorInsertion && reader.isCardPresent()) {
-              if (logger.isDebugEnabled()) {
-                logger.debug("[{}] The card is present ", reader.getName());
-              }
-              monitoringState.onEvent(ObservableLocalReaderAdapter.InternalEvent.CARD_INSERTED);
-              return;
-            }
-            // polls for CARD_REMOVED
-            if (!monitorInsertion && !reader.isCardPresent()) {
-              if (logger.isDebugEnabled()) {
-                logger.debug("[{}] The card is not present ", reader.getName());
-              }
-              loop.set(false);
-              monitoringState.onEvent(ObservableLocalReaderAdapter.InternalEvent.CARD_REMOVED);
-              return;
-            }
-            retries++;
+    // a previous polling task must not keep running alongside the new one
+    PollingTask previousPollingTask = pollingTask;
+    if (previousPollingTask != null) {
+      previousPollingTask.cancel();
+    }
+    pollingCadence.reset();
+    pollingTask = new PollingTask(monitoringState);
+    return pollingTask;
+  }
 
-            if (logger.isTraceEnabled()) {
-              logger.trace("[{}] isCardPresent polling retries : {}", reader.getName(), retries);
-            }
-            try {
-              // wait a bit
-              Thread.sleep(cycleDurationMillis);
-            } catch (InterruptedException ignored) {
-              // Restore interrupted state...
-              Thread.currentThread().interrupt();
-              loop.set(false);
-            }
-          }
-          if (logger.isTraceEnabled()) {
-            logger.trace("[{}] Looping has been stopped", reader.getName());
-          }
-        } catch (RuntimeException e) {
-          ((ObservableLocalReaderAdapter) reader)
-              .getObservationExceptionHandler()
-              .onReaderObservationError(
-                  ((ObservableLocalReaderAdapter) reader).getPluginName(), reader.getName(), e);
-        }
-      }
-    };
+  /**
+   * (package-private)<br>
+   * The polling cycles following the first one are scheduled by the job itself.
+   *
+   * @return True
+   * @since 2.0
+   */
+  @Override
+  boolean isSelfRescheduling() {
+    return true;
   }
 
   /**
@@ -138,6 +108,101 @@ void stop() {
     if (logger.isDebugEnabled()) {
       logger.debug("[{}] Stop polling ", reader.getName());
     }
-    loop.set(false);
+    PollingTask currentPollingTask = pollingTask;
+    if (currentPollingTask != null) {
+      currentPollingTask.cancel();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * A polling cycle, rescheduled until a card is detected or the job is stopped.
+   */
+  private final class PollingTask implements Runnable {
+
+    private final AbstractObservableStateAdapter monitoringState;
+    private final AtomicBoolean loop = new AtomicBoolean(true);
+    private volatile Future<?> nextCycle;
+    private long retries = 0;
+
+    /**
+     * (private)<br>
+     * Constructor.
+     *
+     * @param monitoringState reference to the state the monitoring job in running against.
+     */
+    private PollingTask(AbstractObservableStateAdapter monitoringState) {
+      this.monitoringState = monitoringState;
+    }
+
+    /**
+     * Monitoring cycle
+     *
+     * <p>Polls for the presence of a card and schedules the next cycle if no card responds. <br>
+     * Triggers a CARD_INSERTED event and exits as soon as a communication with a card is
+     * established.
+     *
+     * <p>Any exceptions are notified to the application using the exception handler.
+     */
+    @Override
+    public void run() {
+      if (!loop.get()) {
+        if (logger.isTraceEnabled()) {
+          logger.trace("[{}] Looping has been stopped", reader.getName());
+        }
+        return;
+      }
+      try {
+        if (retries == 0 && logger.isDebugEnabled()) {
+          logger.debug("[{}] Polling from isCardPresent", reader.getName());
+        }
+        // polls for CARD_INSERTED
+        if (monitorInsertion && reader.isCardPresent()) {
+          if (logger.isDebugEnabled()) {
+            logger.debug("[{}] The card is present ", reader.getName());
+          }
+          loop.set(false);
+          getReader()
+              .onMonitoringEvent(
+                  monitoringState, ObservableLocalReaderAdapter.InternalEvent.CARD_INSERTED);
+          return;
+        }
+        // polls for CARD_REMOVED
+        if (!monitorInsertion && !getReader().isCardPresentForRemovalMonitoring()) {
+          if (logger.isDebugEnabled()) {
+            logger.debug("[{}] The card is not present ", reader.getName());
+          }
+          loop.set(false);
+          getReader()
+              .onMonitoringEvent(
+                  monitoringState, ObservableLocalReaderAdapter.InternalEvent.CARD_REMOVED);
+          return;
+        }
+        retries++;
+
+        if (logger.isTraceEnabled()) {
+          logger.trace("[{}] isCardPresent polling retries : {}", reader.getName(), retries);
+        }
+        if (loop.get()) {
+          // schedule the next cycle
+          nextCycle =
+              scheduler.schedule(this, pollingCadence.nextCycleDuration(), TimeUnit.MILLISECONDS);
+        }
+      } catch (RuntimeException e) {
+        getReader().notifyObservationError(e);
+      }
+    }
+
+    /**
+     * (private)<br>
+     * Stops the polling and cancels the next scheduled cycle if any.
+     */
+    private void cancel() {
+      loop.set(false);
+      Future<?> currentCycle = nextCycle;
+      if (currentCycle != null) {
+        currentCycle.cancel(false);
+      }
+    }
   }
 }
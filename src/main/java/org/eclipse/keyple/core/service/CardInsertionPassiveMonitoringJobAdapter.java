@@ -78,7 +78,9 @@ public void run() {
           while (!Thread.currentThread().isInterrupted()) {
             try {
               readerSpi.waitForCardInsertion();
-              monitoringState.onEvent(ObservableLocalReaderAdapter.InternalEvent.CARD_INSERTED);
+              getReader()
+                  .onMonitoringEvent(
+                      monitoringState, ObservableLocalReaderAdapter.InternalEvent.CARD_INSERTED);
               break;
             } catch (ReaderIOException e) {
               // just warn as it can be a disconnection of the reader.
@@ -91,9 +93,7 @@ public void run() {
             }
           }
         } catch (RuntimeException e) {
-          getReader()
-              .getObservationExceptionHandler()
-              .onReaderObservationError(getReader().getPluginName(), getReader().getName(), e);
+          getReader().notifyObservationError(e);
         }
       }
     };
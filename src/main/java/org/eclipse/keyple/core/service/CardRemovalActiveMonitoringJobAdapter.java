@@ -11,6 +11,9 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service;
 
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,7 +23,7 @@
  * Ping the card to detect removal thanks to the method {@link
  * ObservableLocalReaderAdapter#isCardPresentPing()}.
  *
- * <p>This method is invoked in another thread.
+ * <p>This method is invoked by the scheduler shared by all readers.
  *
  * <p>This job should be used by readers who do not have the ability to natively detect the
  * disappearance of the card at the end of the transaction.
@@ -28,7 +31,8 @@
  * <p>It is based on sending a neutral APDU command as long as the card is responding, an internal
  * CARD_REMOVED event is fired when the card is no longer responding.
  *
- * <p>By default a delay of 200 ms is inserted between each APDU sending .
+ * <p>By default a delay of 200 ms is inserted between each APDU sending, this delay can be made
+ * adaptive through the polling cadence of the reader.
  *
  * <p>All runtime exceptions that may occur during the monitoring process are caught and notified at
  * the application level through the appropriate exception handler.
@@ -40,21 +44,26 @@ final class CardRemovalActiveMonitoringJobAdapter extends AbstractMonitoringJobA
   private static final Logger logger =
       LoggerFactory.getLogger(CardRemovalActiveMonitoringJobAdapter.class);
 
-  private final AtomicBoolean loop = new AtomicBoolean();
-  private final long cycleDurationMillis;
+  private final PollingCadenceAdapter pollingCadence;
+  private final ScheduledExecutorService scheduler;
+  private volatile PollingTask pollingTask;
 
   /**
    * (package-private)<br>
    * Create a job monitor job that ping the card with the method isCardPresentPing()
    *
    * @param reader reference to the reader
-   * @param cycleDurationMillis delay between between each APDU sending
+   * @param pollingCadence the cadence defining the delay between each APDU sending
+   * @param scheduler the scheduler used to execute the polling cycles.
    * @since 2.0
    */
   public CardRemovalActiveMonitoringJobAdapter(
-      ObservableLocalReaderAdapter reader, long cycleDurationMillis) {
+      ObservableLocalReaderAdapter reader,
+      PollingCadenceAdapter pollingCadence,
+      ScheduledExecutorService scheduler) {
     super(reader);
-    this.cycleDurationMillis = cycleDurationMillis;
+    this.pollingCadence = pollingCadence;
+    this.scheduler = scheduler;
   }
 
   /**
@@ -66,59 +75,26 @@ public CardRemovalActiveMonitoringJobAdapter(
    */
   @Override
   Runnable getMonitoringJob(final AbstractObservableStateAdapter monitoringState) {
+    // a previous polling task must not keep running alongside the new one
+    PollingTask previousPollingTask = pollingTask;
+    if (previousPollingTask != null) {
+      previousPollingTask.cancel();
+    }
+    pollingCadence.reset();
+    pollingTask = new PollingTask(monitoringState);
+    return pollingTask;
+  }
 
-    return new Runnable() {
-      long retries = 0;
-
-      /**
-       * Monitoring loop
-       *
-       * <p>Sends a neutral command to the card and loops as long as the card responds. <br>
-       * Triggers a CARD_REMOVED event and exits as soon as the communication with the card is lost.
-       *
-       * <p>Any exceptions are notified to the application using the exception handler.
-       */
-      @Override
-      public void run() {
-        try {
-          if (logger.isDebugEnabled()) {
-            logger.debug("[{}] Polling from isCardPresentPing", getReader().getName());
-          }
-          // re-init loop value to true
-          loop.set(true);
-          while (loop.get()) {
-            if (!getReader().isCardPresentPing()) {
-              if (logger.isDebugEnabled()) {
-                logger.debug("[{}] the card stopped responding", getReader().getName());
-              }
-              monitoringState.onEvent(ObservableLocalReaderAdapter.InternalEvent.CARD_REMOVED);
-              return;
-            }
-            retries++;
-
-            if (logger.isTraceEnabled()) {
-              logger.trace("[{}] Polling retries : {}", getReader().getName(), retries);
-            }
-            try {
-              // wait a bit
-              Thread.sleep(cycleDurationMillis);
-            } catch (InterruptedException ignored) {
-              // Restore interrupted state...
-              Thread.currentThread().interrupt();
-              loop.set(false);
-            }
-          }
-
-          if (logger.isDebugEnabled()) {
-            logger.debug("[{}] Polling loop has been stopped", getReader().getName());
-          }
-        } catch (RuntimeException e) {
-          getReader()
-              .getObservationExceptionHandler()
-              .onReaderObservationError(getReader().getPluginName(), getReader().getName(), e);
-        }
-      }
-    };
+  /**
+   * (package-private)<br>
+   * The polling cycles following the first one are scheduled by the job itself.
+   *
+   * @return True
+   * @since 2.0
+   */
+  @Override
+  boolean isSelfRescheduling() {
+    return true;
   }
 
   /**
@@ -132,6 +108,89 @@ void stop() {
     if (logger.isDebugEnabled()) {
       logger.debug("[{}] Stop Polling ", getReader().getName());
     }
-    loop.set(false);
+    PollingTask currentPollingTask = pollingTask;
+    if (currentPollingTask != null) {
+      currentPollingTask.cancel();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * A polling cycle, rescheduled as long as the card responds and the job is not stopped.
+   */
+  private final class PollingTask implements Runnable {
+
+    private final AbstractObservableStateAdapter monitoringState;
+    private final AtomicBoolean loop = new AtomicBoolean(true);
+    private volatile Future<?> nextCycle;
+    private long retries = 0;
+
+    /**
+     * (private)<br>
+     * Constructor.
+     *
+     * @param monitoringState reference to the state the monitoring job in running against.
+     */
+    private PollingTask(AbstractObservableStateAdapter monitoringState) {
+      this.monitoringState = monitoringState;
+    }
+
+    /**
+     * Monitoring cycle
+     *
+     * <p>Sends a neutral command to the card and schedules the next cycle if the card responds.
+     * <br>
+     * Triggers a CARD_REMOVED event and exits as soon as the communication with the card is lost.
+     *
+     * <p>Any exceptions are notified to the application using the exception handler.
+     */
+    @Override
+    public void run() {
+      if (!loop.get()) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("[{}] Polling loop has been stopped", getReader().getName());
+        }
+        return;
+      }
+      try {
+        if (retries == 0 && logger.isDebugEnabled()) {
+          logger.debug("[{}] Polling from isCardPresentPing", getReader().getName());
+        }
+        if (!getReader().isCardPresentPing()) {
+          if (logger.isDebugEnabled()) {
+            logger.debug("[{}] the card stopped responding", getReader().getName());
+          }
+          loop.set(false);
+          getReader()
+              .onMonitoringEvent(
+                  monitoringState, ObservableLocalReaderAdapter.InternalEvent.CARD_REMOVED);
+          return;
+        }
+        retries++;
+
+        if (logger.isTraceEnabled()) {
+          logger.trace("[{}] Polling retries : {}", getReader().getName(), retries);
+        }
+        if (loop.get()) {
+          // schedule the next cycle
+          nextCycle =
+              scheduler.schedule(this, pollingCadence.nextCycleDuration(), TimeUnit.MILLISECONDS);
+        }
+      } catch (RuntimeException e) {
+        getReader().notifyObservationError(e);
+      }
+    }
+
+    /**
+     * (private)<br>
+     * Stops the polling and cancels the next scheduled cycle if any.
+     */
+    private void cancel() {
+      loop.set(false);
+      Future<?> currentCycle = nextCycle;
+      if (currentCycle != null) {
+        currentCycle.cancel(false);
+      }
+    }
   }
 }
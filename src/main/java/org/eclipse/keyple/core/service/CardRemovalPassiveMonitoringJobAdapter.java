@@ -97,7 +97,9 @@ public void run() {
               } else {
                 readerProcessingSpi.waitForCardRemovalDuringProcessing();
               }
-              monitoringState.onEvent(ObservableLocalReaderAdapter.InternalEvent.CARD_REMOVED);
+              getReader()
+                  .onMonitoringEvent(
+                      monitoringState, ObservableLocalReaderAdapter.InternalEvent.CARD_REMOVED);
               break;
             } catch (ReaderIOException e) {
               // just warn as it can be a disconnection of the reader.
@@ -110,9 +112,7 @@ public void run() {
             }
           }
         } catch (RuntimeException e) {
-          getReader()
-              .getObservationExceptionHandler()
-              .onReaderObservationError(getReader().getPluginName(), getReader().getName(), e);
+          getReader().notifyObservationError(e);
         }
       }
     };
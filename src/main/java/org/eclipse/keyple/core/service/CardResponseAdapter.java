@@ -12,6 +12,7 @@
 package org.eclipse.keyple.core.service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.calypsonet.terminal.card.ApduResponseApi;
 import org.calypsonet.terminal.card.CardResponseApi;
@@ -29,6 +30,7 @@ final class CardResponseAdapter implements CardResponseApi {
 
   private final List<ApduResponseAdapter> apduResponses;
   private final boolean isLogicalChannelOpen;
+  private transient List<ApduResponseApi> apduResponsesView;
 
   /**
    * (package-private)<br>
@@ -45,6 +47,17 @@ final class CardResponseAdapter implements CardResponseApi {
     this.isLogicalChannelOpen = isLogicalChannelOpen;
   }
 
+  /**
+   * (package-private)<br>
+   * Gets the same card response, indicating that the logical channel is closed.
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  CardResponseAdapter withLogicalChannelClosed() {
+    return isLogicalChannelOpen ? new CardResponseAdapter(apduResponses, false) : this;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -55,6 +68,25 @@ public List<ApduResponseApi> getApduResponses() {
     return new ArrayList<ApduResponseApi>(apduResponses);
   }
 
+  /**
+   * (package-private)<br>
+   * Gets an unmodifiable view of the APDU responses, without copying them.
+   *
+   * <p>Unlike {@link #getApduResponses()}, the same list is returned on each call.
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  List<ApduResponseApi> getApduResponsesView() {
+    // racy single-check: the view is stateless, concurrent initializations are harmless
+    List<ApduResponseApi> view = apduResponsesView;
+    if (view == null) {
+      view = Collections.<ApduResponseApi>unmodifiableList(apduResponses);
+      apduResponsesView = view;
+    }
+    return view;
+  }
+
   /**
    * {@inheritDoc}
    *
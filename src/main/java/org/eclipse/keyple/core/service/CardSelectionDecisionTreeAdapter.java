@@ -0,0 +1,307 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * (package-private)<br>
+ * Decision tree deciding at once which card selectors of a plan can match a card, according to its
+ * protocol and its power-on data.
+ *
+ * <p>The selectors are grouped by card protocol, then by literal prefix of their power-on data
+ * regular expression, then by regular expression. For a given card, the protocol groups not
+ * matching the current protocol and the prefix groups not matching the power-on data are rejected
+ * as a whole, and each distinct regular expression is evaluated only once.
+ *
+ * <p>The verdicts are those that the individual evaluation of each selector would give, so that the
+ * selection requests can still be processed in order, with unchanged results.
+ *
+ * @since 2.0
+ */
+final class CardSelectionDecisionTreeAdapter {
+
+  /** the filters of the selector have to be evaluated individually */
+  static final byte UNDECIDED = 0;
+
+  /** the selector requires a protocol while no protocol association is defined */
+  static final byte PROTOCOL_NOT_ASSOCIATED = 1;
+
+  /** the card protocol does not match */
+  static final byte PROTOCOL_REJECTED = 2;
+
+  /** the power-on data does not match */
+  static final byte POWER_ON_DATA_REJECTED = 3;
+
+  /** the protocol and power-on data filters accept the card */
+  static final byte ACCEPTED = 4;
+
+  private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+  private static final String REGEX_QUANTIFIERS = "?*+{";
+
+  private final int size;
+  private final Map<String, PrefixGroup[]> prefixGroupsByProtocol;
+  private final PrefixGroup[] protocolIndependentPrefixGroups;
+
+  /**
+   * (package-private)<br>
+   * Provides the power-on data of the card and evaluates the regular expressions of the selectors.
+   *
+   * @since 2.0
+   */
+  interface PowerOnDataEvaluator {
+
+    /**
+     * (package-private)<br>
+     * Gets the power-on data of the card.
+     *
+     * @return Null if no power-on data is available.
+     * @since 2.0
+     */
+    String getPowerOnData();
+
+    /**
+     * (package-private)<br>
+     * Evaluates the power-on data filter of a selector.
+     *
+     * @param powerOnData The power-on data of the card.
+     * @param cardSelector The card selector.
+     * @return True if the power-on data is accepted.
+     * @since 2.0
+     */
+    boolean acceptsPowerOnData(String powerOnData, CompiledCardSelectorAdapter cardSelector);
+  }
+
+  /**
+   * (package-private)<br>
+   * Builds the decision tree of the provided selectors.
+   *
+   * @param cardSelectors The compiled selectors, in the order of the plan.
+   * @since 2.0
+   */
+  CardSelectionDecisionTreeAdapter(List<CompiledCardSelectorAdapter> cardSelectors) {
+    size = cardSelectors.size();
+    Map<String, List<Integer>> indicesByProtocol = new LinkedHashMap<String, List<Integer>>();
+    List<Integer> independentIndices = new ArrayList<Integer>();
+    for (int i = 0; i < size; i++) {
+      String cardProtocol = cardSelectors.get(i).getCardProtocol();
+      if (cardProtocol == null) {
+        independentIndices.add(i);
+      } else {
+        List<Integer> indices = indicesByProtocol.get(cardProtocol);
+        if (indices == null) {
+          indices = new ArrayList<Integer>();
+          indicesByProtocol.put(cardProtocol, indices);
+        }
+        indices.add(i);
+      }
+    }
+    protocolIndependentPrefixGroups = buildPrefixGroups(cardSelectors, independentIndices);
+    prefixGroupsByProtocol = new LinkedHashMap<String, PrefixGroup[]>();
+    for (Map.Entry<String, List<Integer>> entry : indicesByProtocol.entrySet()) {
+      prefixGroupsByProtocol.put(
+          entry.getKey(), buildPrefixGroups(cardSelectors, entry.getValue()));
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Decides which selectors can match the card connected.
+   *
+   * @param currentProtocol The current protocol of the card (optional).
+   * @param useDefaultProtocol True if no protocol association is defined.
+   * @param evaluator The provider of the power-on data and evaluator of the regular expressions.
+   * @return An array of verdicts, one per selector in the order of the plan.
+   * @since 2.0
+   */
+  byte[] evaluate(
+      String currentProtocol, boolean useDefaultProtocol, PowerOnDataEvaluator evaluator) {
+    byte[] verdicts = new byte[size];
+    // the verdicts of the selectors without protocol are all set below
+    Arrays.fill(verdicts, useDefaultProtocol ? PROTOCOL_NOT_ASSOCIATED : PROTOCOL_REJECTED);
+    PrefixGroup[] protocolPrefixGroups =
+        currentProtocol != null && !useDefaultProtocol
+            ? prefixGroupsByProtocol.get(currentProtocol)
+            : null;
+    if (protocolIndependentPrefixGroups.length == 0 && protocolPrefixGroups == null) {
+      // no selector accepts the protocol, the power-on data is not needed
+      return verdicts;
+    }
+    String powerOnData = evaluator.getPowerOnData();
+    evaluate(protocolIndependentPrefixGroups, powerOnData, evaluator, verdicts);
+    if (protocolPrefixGroups != null) {
+      evaluate(protocolPrefixGroups, powerOnData, evaluator, verdicts);
+    }
+    return verdicts;
+  }
+
+  /**
+   * (private)<br>
+   * Decides the power-on data verdicts of the selectors of the provided prefix groups.
+   *
+   * @param prefixGroups The prefix groups.
+   * @param powerOnData The power-on data of the card.
+   * @param evaluator The evaluator of the regular expressions.
+   * @param verdicts The verdicts to update.
+   */
+  private static void evaluate(
+      PrefixGroup[] prefixGroups,
+      String powerOnData,
+      PowerOnDataEvaluator evaluator,
+      byte[] verdicts) {
+    for (PrefixGroup prefixGroup : prefixGroups) {
+      boolean isPrefixRejected = powerOnData != null && !powerOnData.startsWith(prefixGroup.prefix);
+      for (RegexGroup regexGroup : prefixGroup.regexGroups) {
+        byte verdict;
+        if (isPrefixRejected) {
+          verdict = POWER_ON_DATA_REJECTED;
+        } else {
+          verdict =
+              evaluator.acceptsPowerOnData(powerOnData, regexGroup.cardSelector)
+                  ? ACCEPTED
+                  : POWER_ON_DATA_REJECTED;
+        }
+        for (int index : regexGroup.indices) {
+          verdicts[index] = verdict;
+        }
+      }
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Groups the provided selectors by literal prefix and regular expression.
+   *
+   * @param cardSelectors All the compiled selectors.
+   * @param indices The indices of the selectors to group.
+   * @return A not null array.
+   */
+  private static PrefixGroup[] buildPrefixGroups(
+      List<CompiledCardSelectorAdapter> cardSelectors, List<Integer> indices) {
+    Map<String, Map<String, List<Integer>>> indicesByRegexByPrefix =
+        new LinkedHashMap<String, Map<String, List<Integer>>>();
+    for (int index : indices) {
+      String regex = cardSelectors.get(index).getPowerOnDataRegex();
+      String prefix = regex != null ? getLiteralPrefix(regex) : "";
+      Map<String, List<Integer>> indicesByRegex = indicesByRegexByPrefix.get(prefix);
+      if (indicesByRegex == null) {
+        indicesByRegex = new LinkedHashMap<String, List<Integer>>();
+        indicesByRegexByPrefix.put(prefix, indicesByRegex);
+      }
+      List<Integer> regexIndices = indicesByRegex.get(regex);
+      if (regexIndices == null) {
+        regexIndices = new ArrayList<Integer>();
+        indicesByRegex.put(regex, regexIndices);
+      }
+      regexIndices.add(index);
+    }
+    PrefixGroup[] prefixGroups = new PrefixGroup[indicesByRegexByPrefix.size()];
+    int i = 0;
+    for (Map.Entry<String, Map<String, List<Integer>>> entry : indicesByRegexByPrefix.entrySet()) {
+      RegexGroup[] regexGroups = new RegexGroup[entry.getValue().size()];
+      int j = 0;
+      for (List<Integer> regexIndices : entry.getValue().values()) {
+        regexGroups[j++] =
+            new RegexGroup(cardSelectors.get(regexIndices.get(0)), toArray(regexIndices));
+      }
+      prefixGroups[i++] = new PrefixGroup(entry.getKey(), regexGroups);
+    }
+    return prefixGroups;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the literal characters that any string fully matching the provided regular expression
+   * starts with.
+   *
+   * <p>The prefix stops at the first metacharacter, the character preceding a quantifier being
+   * excluded. It is empty if the expression contains an alternation.
+   *
+   * @param regex The regular expression.
+   * @return A not null string, possibly empty.
+   * @since 2.0
+   */
+  static String getLiteralPrefix(String regex) {
+    if (regex.indexOf('|') >= 0) {
+      return "";
+    }
+    int end = 0;
+    while (end < regex.length() && REGEX_METACHARACTERS.indexOf(regex.charAt(end)) < 0) {
+      end++;
+    }
+    if (end > 0 && end < regex.length() && REGEX_QUANTIFIERS.indexOf(regex.charAt(end)) >= 0) {
+      end--;
+    }
+    return regex.substring(0, end);
+  }
+
+  /**
+   * (private)<br>
+   * Converts a list of indices into an array.
+   *
+   * @param indices The indices.
+   * @return A not null array.
+   */
+  private static int[] toArray(List<Integer> indices) {
+    int[] array = new int[indices.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = indices.get(i);
+    }
+    return array;
+  }
+
+  /**
+   * (private)<br>
+   * Selectors whose power-on data regular expressions share the same literal prefix.
+   */
+  private static final class PrefixGroup {
+
+    private final String prefix;
+    private final RegexGroup[] regexGroups;
+
+    /**
+     * Constructor.
+     *
+     * @param prefix The literal prefix.
+     * @param regexGroups The groups of selectors having the same regular expression.
+     */
+    PrefixGroup(String prefix, RegexGroup[] regexGroups) {
+      this.prefix = prefix;
+      this.regexGroups = regexGroups;
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Selectors having the same power-on data regular expression.
+   */
+  private static final class RegexGroup {
+
+    private final CompiledCardSelectorAdapter cardSelector;
+    private final int[] indices;
+
+    /**
+     * Constructor.
+     *
+     * @param cardSelector A selector of the group, used to evaluate the regular expression.
+     * @param indices The indices of the selectors of the group.
+     */
+    RegexGroup(CompiledCardSelectorAdapter cardSelector, int[] indices) {
+      this.cardSelector = cardSelector;
+      this.indices = indices;
+    }
+  }
+}
@@ -21,26 +21,34 @@
 import org.calypsonet.terminal.reader.CardReader;
 import org.calypsonet.terminal.reader.ObservableCardReader;
 import org.calypsonet.terminal.reader.ReaderCommunicationException;
-import org.calypsonet.terminal.reader.selection.CardSelectionManager;
 import org.calypsonet.terminal.reader.selection.CardSelectionResult;
 import org.calypsonet.terminal.reader.selection.InvalidCardResponseException;
 import org.calypsonet.terminal.reader.selection.ScheduledCardSelectionsResponse;
 import org.calypsonet.terminal.reader.selection.spi.CardSelection;
 import org.calypsonet.terminal.reader.selection.spi.SmartCard;
+import org.eclipse.keyple.core.service.spi.CardSelectionObserverSpi;
 import org.eclipse.keyple.core.util.Assert;
 
 /**
  * (package-private) <br>
- * Implementation of the {@link CardSelectionManager}.
+ * Implementation of the {@link KeypleCardSelectionManager}.
  *
  * @since 2.0
  */
-final class CardSelectionManagerAdapter implements CardSelectionManager {
+final class CardSelectionManagerAdapter implements KeypleCardSelectionManager {
 
   private final List<CardSelectionSpi> cardSelections;
   private final List<CardSelectionRequestSpi> cardSelectionRequests;
+  private final List<CompiledCardSelectorAdapter> compiledCardSelectors;
   private MultiSelectionProcessing multiSelectionProcessing;
   private ChannelControl channelControl = ChannelControl.KEEP_OPEN;
+  private long timeBudgetMillis;
+  /**
+   * stream of the last scheduled scenario, null if its results are not streamed, only used to
+   * notify the responses of the remote readers as the responses of the local readers carry their
+   * streaming state
+   */
+  private volatile CardSelectionStreamAdapter scheduledCardSelectionStream;
 
   /**
    * (package-private) <br>
@@ -53,6 +61,7 @@ final class CardSelectionManagerAdapter implements CardSelectionManager {
     multiSelectionProcessing = MultiSelectionProcessing.FIRST_MATCH;
     cardSelections = new ArrayList<CardSelectionSpi>();
     cardSelectionRequests = new ArrayList<CardSelectionRequestSpi>();
+    compiledCardSelectors = new ArrayList<CompiledCardSelectorAdapter>();
   }
 
   /**
@@ -65,6 +74,17 @@ public void setMultipleSelectionMode() {
     multiSelectionProcessing = MultiSelectionProcessing.PROCESS_ALL;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public void setTimeBudget(long timeBudgetMillis) {
+    Assert.getInstance().isTrue(timeBudgetMillis >= 0, "timeBudgetMillis >= 0");
+    this.timeBudgetMillis = timeBudgetMillis;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -77,7 +97,12 @@ public int prepareSelection(CardSelection cardSelection) {
 
     /* keep the selection request */
     cardSelections.add((CardSelectionSpi) cardSelection);
-    cardSelectionRequests.add(((CardSelectionSpi) cardSelection).getCardSelectionRequest());
+    CardSelectionRequestSpi cardSelectionRequest =
+        ((CardSelectionSpi) cardSelection).getCardSelectionRequest();
+    /* compile its selector once for all the future selection processes */
+    compiledCardSelectors.add(
+        new CompiledCardSelectorAdapter(cardSelectionRequest.getCardSelector()));
+    cardSelectionRequests.add(cardSelectionRequest);
     /* return the selection index (starting at 0) */
     return cardSelections.size() - 1;
   }
@@ -102,6 +127,37 @@ public CardSelectionResult processCardSelectionScenario(CardReader reader) {
 
     Assert.getInstance().notNull(reader, "reader");
 
+    return executeCardSelectionScenario(reader, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public CardSelectionResult processCardSelectionScenario(
+      CardReader reader, CardSelectionObserverSpi cardSelectionObserver) {
+
+    Assert.getInstance()
+        .notNull(reader, "reader")
+        .notNull(cardSelectionObserver, "cardSelectionObserver");
+
+    return executeCardSelectionScenario(
+        reader, new CardSelectionStreamAdapter(cardSelections, cardSelectionObserver));
+  }
+
+  /**
+   * (private)<br>
+   * Processes the card selection scenario, streaming its results if requested.
+   *
+   * @param reader The reader.
+   * @param cardSelectionStream The stream of the results, null if they are not streamed.
+   * @return A not null reference.
+   */
+  private CardSelectionResult executeCardSelectionScenario(
+      CardReader reader, CardSelectionStreamAdapter cardSelectionStream) {
+
     // Communicate with the card to make the actual selection
     List<CardSelectionResponseApi> cardSelectionResponses;
 
@@ -109,7 +165,9 @@ public CardSelectionResult processCardSelectionScenario(CardReader reader) {
       cardSelectionResponses =
           ((AbstractReaderAdapter) reader)
               .transmitCardSelectionRequests(
-                  cardSelectionRequests, multiSelectionProcessing, channelControl);
+                  getCardSelectionPlan(cardSelectionStream),
+                  multiSelectionProcessing,
+                  channelControl);
     } catch (ReaderBrokenCommunicationException e) {
       throw new ReaderCommunicationException(e.getMessage(), e);
     } catch (CardBrokenCommunicationException e) {
@@ -118,9 +176,10 @@ public CardSelectionResult processCardSelectionScenario(CardReader reader) {
 
     // clear the selection requests list
     cardSelectionRequests.clear();
+    compiledCardSelectors.clear();
 
     // Analyze the received responses
-    return processCardSelectionResponses(cardSelectionResponses);
+    return processCardSelectionResponses(cardSelectionResponses, cardSelectionStream);
   }
 
   /**
@@ -139,9 +198,54 @@ public void scheduleCardSelectionScenario(
         .notNull(detectionMode, "detectionMode")
         .notNull(notificationMode, "notificationMode");
 
+    submitCardSelectionScenario(observableCardReader, detectionMode, notificationMode, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public void scheduleCardSelectionScenario(
+      ObservableCardReader observableCardReader,
+      ObservableCardReader.DetectionMode detectionMode,
+      ObservableCardReader.NotificationMode notificationMode,
+      CardSelectionObserverSpi cardSelectionObserver) {
+
+    Assert.getInstance()
+        .notNull(observableCardReader, "observableCardReader")
+        .notNull(detectionMode, "detectionMode")
+        .notNull(notificationMode, "notificationMode")
+        .notNull(cardSelectionObserver, "cardSelectionObserver");
+
+    submitCardSelectionScenario(
+        observableCardReader,
+        detectionMode,
+        notificationMode,
+        new CardSelectionStreamAdapter(cardSelections, cardSelectionObserver));
+  }
+
+  /**
+   * (private)<br>
+   * Schedules the card selection scenario, streaming its results if requested.
+   *
+   * @param observableCardReader The observable reader.
+   * @param detectionMode The card detection mode.
+   * @param notificationMode The notification mode.
+   * @param cardSelectionStream The stream of the results, null if they are not streamed.
+   * @throws IllegalArgumentException If the reader is not a Keyple reader.
+   */
+  private void submitCardSelectionScenario(
+      ObservableCardReader observableCardReader,
+      ObservableCardReader.DetectionMode detectionMode,
+      ObservableCardReader.NotificationMode notificationMode,
+      CardSelectionStreamAdapter cardSelectionStream) {
+
     CardSelectionScenarioAdapter cardSelectionScenario =
         new CardSelectionScenarioAdapter(
-            cardSelectionRequests, multiSelectionProcessing, channelControl);
+            getCardSelectionPlan(cardSelectionStream), multiSelectionProcessing, channelControl);
+    scheduledCardSelectionStream = cardSelectionStream;
     if (observableCardReader instanceof ObservableLocalReaderAdapter) {
       ((ObservableLocalReaderAdapter) observableCardReader)
           .scheduleCardSelectionScenario(cardSelectionScenario, notificationMode, detectionMode);
@@ -167,7 +271,21 @@ public CardSelectionResult parseScheduledCardSelectionsResponse(
 
     return processCardSelectionResponses(
         ((ScheduledCardSelectionsResponseAdapter) scheduledCardSelectionsResponse)
-            .getCardSelectionResponses());
+            .getCardSelectionResponses(),
+        scheduledCardSelectionStream);
+  }
+
+  /**
+   * (private)<br>
+   * Gets the compiled form of the card selection requests prepared so far.
+   *
+   * @param cardSelectionStream The stream of the results, null if they are not streamed.
+   * @return A not null reference.
+   */
+  private CardSelectionPlanAdapter getCardSelectionPlan(
+      CardSelectionStreamAdapter cardSelectionStream) {
+    return new CardSelectionPlanAdapter(
+        cardSelectionRequests, compiledCardSelectors, timeBudgetMillis, cardSelectionStream);
   }
 
   /**
@@ -175,31 +293,51 @@ public CardSelectionResult parseScheduledCardSelectionsResponse(
    * Analyzes the responses received in return of the execution of a card selection scenario and
    * returns the CardSelectionResult.
    *
+   * <p>The smart cards already parsed when the responses were streamed are reused. The responses
+   * that were not streamed, as those of remote readers, are notified to the observer here.
+   *
    * @param cardSelectionResponses The card selection responses.
+   * @param cardSelectionStream The stream of the results, null if they are not streamed.
    * @return A not null reference.
    * @throws IllegalArgumentException If the list is null or empty.
    */
   private CardSelectionResult processCardSelectionResponses(
-      List<CardSelectionResponseApi> cardSelectionResponses) {
+      List<CardSelectionResponseApi> cardSelectionResponses,
+      CardSelectionStreamAdapter cardSelectionStream) {
 
     Assert.getInstance().notEmpty(cardSelectionResponses, "cardSelectionResponses");
 
     CardSelectionResultAdapter cardSelectionsResult = new CardSelectionResultAdapter();
+    boolean isStreamed =
+        cardSelectionStream == null
+            || CardSelectionStreamAdapter.isStreamed(cardSelectionResponses);
 
     int index = 0;
 
     /* Check card responses */
     for (CardSelectionResponseApi cardSelectionResponse : cardSelectionResponses) {
-      if (cardSelectionResponse.hasMatched()) {
-        // invoke the parse method defined by the card extension to retrieve the smart card
+      if (cardSelectionResponse instanceof CardSelectionResponseAdapter
+          && ((CardSelectionResponseAdapter) cardSelectionResponse).isNotAttempted()) {
+        // the time budget of the scenario was exhausted before this selection
+        cardSelectionsResult.addNotAttemptedSelectionIndex(index);
+      } else {
         SmartCard smartCard = null;
-        try {
-          smartCard = (SmartCard) cardSelections.get(index).parse(cardSelectionResponse);
-        } catch (ParseException e) {
-          throw new InvalidCardResponseException(
-              "Error occurred while parsing the card response: " + e.getMessage(), e);
+        if (cardSelectionResponse.hasMatched()) {
+          smartCard = CardSelectionStreamAdapter.getSmartCard(cardSelectionResponse);
+          if (smartCard == null) {
+            // invoke the parse method defined by the card extension to retrieve the smart card
+            try {
+              smartCard = (SmartCard) cardSelections.get(index).parse(cardSelectionResponse);
+            } catch (ParseException e) {
+              throw new InvalidCardResponseException(
+                  "Error occurred while parsing the card response: " + e.getMessage(), e);
+            }
+          }
+          cardSelectionsResult.addSmartCard(index, smartCard);
+        }
+        if (!isStreamed) {
+          cardSelectionStream.notifyObserver(index, cardSelectionResponse, smartCard);
         }
-        cardSelectionsResult.addSmartCard(index, smartCard);
       }
       index++;
     }
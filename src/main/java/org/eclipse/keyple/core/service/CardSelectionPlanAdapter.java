@@ -0,0 +1,214 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.calypsonet.terminal.card.CardSelectionResponseApi;
+import org.calypsonet.terminal.card.spi.CardSelectionRequestSpi;
+
+/**
+ * (package-private)<br>
+ * Compiled form of a list of card selection requests.
+ *
+ * <p>The plan is an immutable list of the original {@link CardSelectionRequestSpi}, which can
+ * therefore be transmitted wherever such a list is expected (remote readers, JSON serialization),
+ * associated with the {@link CompiledCardSelectorAdapter} of each request.<br>
+ * It is built once when the selection is prepared or scheduled and shared by all the readers
+ * processing it, each selector being compiled at most once.
+ *
+ * @since 2.0
+ */
+final class CardSelectionPlanAdapter extends AbstractList<CardSelectionRequestSpi>
+    implements RandomAccess {
+
+  /** minimum number of requests for which the filters are decided by a decision tree */
+  static final int DECISION_TREE_MIN_SIZE = 8;
+
+  private final CardSelectionRequestSpi[] cardSelectionRequests;
+  private final CompiledCardSelectorAdapter[] compiledCardSelectors;
+  private final long timeBudgetMillis;
+  private final ResponseListener responseListener;
+  private CardSelectionDecisionTreeAdapter decisionTree;
+
+  /**
+   * (package-private)<br>
+   * Builds a plan from card selection requests whose selectors are compiled on first use.
+   *
+   * @param cardSelectionRequests The card selection requests.
+   * @since 2.0
+   */
+  CardSelectionPlanAdapter(List<CardSelectionRequestSpi> cardSelectionRequests) {
+    this.cardSelectionRequests =
+        cardSelectionRequests.toArray(new CardSelectionRequestSpi[cardSelectionRequests.size()]);
+    this.compiledCardSelectors = new CompiledCardSelectorAdapter[this.cardSelectionRequests.length];
+    this.timeBudgetMillis = 0;
+    this.responseListener = null;
+  }
+
+  /**
+   * (package-private)<br>
+   * Builds a plan from card selection requests and their already compiled selectors.
+   *
+   * @param cardSelectionRequests The card selection requests.
+   * @param compiledCardSelectors The compiled selectors, in the same order as the requests.
+   * @param timeBudgetMillis The time allowed to process the plan in milliseconds (0 for no limit).
+   * @param responseListener The listener of the responses to the requests, null if none.
+   * @since 2.0
+   */
+  CardSelectionPlanAdapter(
+      List<CardSelectionRequestSpi> cardSelectionRequests,
+      List<CompiledCardSelectorAdapter> compiledCardSelectors,
+      long timeBudgetMillis,
+      ResponseListener responseListener) {
+    this.cardSelectionRequests =
+        cardSelectionRequests.toArray(new CardSelectionRequestSpi[cardSelectionRequests.size()]);
+    this.compiledCardSelectors =
+        compiledCardSelectors.toArray(
+            new CompiledCardSelectorAdapter[compiledCardSelectors.size()]);
+    this.timeBudgetMillis = timeBudgetMillis;
+    this.responseListener = responseListener;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the plan of the provided card selection requests, wrapping them in a new plan if they are
+   * not already a plan.
+   *
+   * @param cardSelectionRequests The card selection requests.
+   * @return A not null reference.
+   * @since 2.0
+   */
+  static CardSelectionPlanAdapter of(List<CardSelectionRequestSpi> cardSelectionRequests) {
+    if (cardSelectionRequests instanceof CardSelectionPlanAdapter) {
+      return (CardSelectionPlanAdapter) cardSelectionRequests;
+    }
+    return new CardSelectionPlanAdapter(cardSelectionRequests);
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the compiled selector of the request at the provided index, compiling it if it is not
+   * already.
+   *
+   * <p>Compiled selectors being immutable, concurrent readers compiling the same selector at the
+   * same time is harmless: one of the equivalent instances is kept.
+   *
+   * @param index The index of the request.
+   * @return A not null reference.
+   * @since 2.0
+   */
+  CompiledCardSelectorAdapter getCompiledCardSelector(int index) {
+    CompiledCardSelectorAdapter compiledCardSelector = compiledCardSelectors[index];
+    if (compiledCardSelector == null) {
+      compiledCardSelector =
+          new CompiledCardSelectorAdapter(cardSelectionRequests[index].getCardSelector());
+      compiledCardSelectors[index] = compiledCardSelector;
+    }
+    return compiledCardSelector;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the time allowed to process the plan.
+   *
+   * @return 0 if the time is not limited, a number of milliseconds otherwise.
+   * @since 2.0
+   */
+  long getTimeBudgetMillis() {
+    return timeBudgetMillis;
+  }
+
+  /**
+   * (package-private)<br>
+   * Notifies the listener of the plan, if any, of the response to one of its requests.
+   *
+   * <p>The local readers invoke this method as soon as each request has been processed.
+   *
+   * @param index The index of the request.
+   * @param cardSelectionResponse The response to the request.
+   * @since 2.0
+   */
+  void notifyCardSelectionResponse(int index, CardSelectionResponseApi cardSelectionResponse) {
+    if (responseListener != null) {
+      responseListener.onCardSelectionResponse(index, cardSelectionResponse);
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the decision tree of the selectors of the plan, building it if it is not already.
+   *
+   * <p>Small plans have no decision tree, their selectors being evaluated individually at lower
+   * cost. As for the compiled selectors, concurrent builds of the tree are harmless.
+   *
+   * @return Null if the plan has less than {@link #DECISION_TREE_MIN_SIZE} requests.
+   * @since 2.0
+   */
+  CardSelectionDecisionTreeAdapter getDecisionTree() {
+    if (cardSelectionRequests.length < DECISION_TREE_MIN_SIZE) {
+      return null;
+    }
+    CardSelectionDecisionTreeAdapter tree = decisionTree;
+    if (tree == null) {
+      List<CompiledCardSelectorAdapter> cardSelectors =
+          new ArrayList<CompiledCardSelectorAdapter>(cardSelectionRequests.length);
+      for (int i = 0; i < cardSelectionRequests.length; i++) {
+        cardSelectors.add(getCompiledCardSelector(i));
+      }
+      tree = new CardSelectionDecisionTreeAdapter(cardSelectors);
+      decisionTree = tree;
+    }
+    return tree;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public CardSelectionRequestSpi get(int index) {
+    return cardSelectionRequests[index];
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public int size() {
+    return cardSelectionRequests.length;
+  }
+
+  /**
+   * (package-private)<br>
+   * Listener of the responses to the requests of a plan.
+   *
+   * @since 2.0
+   */
+  interface ResponseListener {
+
+    /**
+     * (package-private)<br>
+     * Invoked when a request of the plan has been processed.
+     *
+     * @param index The index of the request.
+     * @param cardSelectionResponse The response to the request.
+     * @since 2.0
+     */
+    void onCardSelectionResponse(int index, CardSelectionResponseApi cardSelectionResponse);
+  }
+}
@@ -11,9 +11,11 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service;
 
+import java.util.ArrayList;
 import org.calypsonet.terminal.card.ApduResponseApi;
 import org.calypsonet.terminal.card.CardResponseApi;
 import org.calypsonet.terminal.card.CardSelectionResponseApi;
+import org.calypsonet.terminal.reader.selection.spi.SmartCard;
 import org.eclipse.keyple.core.util.json.JsonUtil;
 
 /**
@@ -32,6 +34,9 @@ final class CardSelectionResponseAdapter implements CardSelectionResponseApi {
   private final ApduResponseAdapter selectApplicationResponse;
   private final boolean hasMatched;
   private final CardResponseAdapter cardResponse;
+  private transient boolean isNotAttempted;
+  private transient boolean isStreamed;
+  private transient SmartCard streamedSmartCard;
 
   /**
    * (package-private)<br>
@@ -56,6 +61,74 @@ final class CardSelectionResponseAdapter implements CardSelectionResponseApi {
     this.cardResponse = cardResponse;
   }
 
+  /**
+   * (package-private)<br>
+   * Builds the response of a card selection request that was not attempted.
+   *
+   * <p>The response does not match and has no selection data.
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  static CardSelectionResponseAdapter notAttempted() {
+    CardSelectionResponseAdapter cardSelectionResponse =
+        new CardSelectionResponseAdapter(
+            null,
+            null,
+            false,
+            new CardResponseAdapter(new ArrayList<ApduResponseAdapter>(), false));
+    cardSelectionResponse.isNotAttempted = true;
+    return cardSelectionResponse;
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether the card selection request was not attempted.
+   *
+   * @return True if the request was not attempted, false if it was attempted or if this response
+   *     was received from a remote reader.
+   * @since 2.0
+   */
+  boolean isNotAttempted() {
+    return isNotAttempted;
+  }
+
+  /**
+   * (package-private)<br>
+   * Records that the response has been notified to a card selection observer as soon as it was
+   * received, along with the smart card parsed from it.
+   *
+   * @param smartCard The smart card parsed from the response, null if it did not match.
+   * @since 2.0
+   */
+  void setStreamed(SmartCard smartCard) {
+    this.streamedSmartCard = smartCard;
+    this.isStreamed = true;
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether the response has been notified to a card selection observer as soon as it was
+   * received.
+   *
+   * @return True if the response has been streamed.
+   * @since 2.0
+   */
+  boolean isStreamed() {
+    return isStreamed;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the smart card parsed from the response when it was streamed.
+   *
+   * @return Null if the response has not been streamed or did not match.
+   * @since 2.0
+   */
+  SmartCard getStreamedSmartCard() {
+    return streamedSmartCard;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -11,21 +11,24 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import org.calypsonet.terminal.reader.selection.CardSelectionResult;
+import java.util.Set;
+import java.util.TreeSet;
 import org.calypsonet.terminal.reader.selection.spi.SmartCard;
 
 /**
  * (package-private)<br>
- * Implementation of {@link CardSelectionResult}.
+ * Implementation of {@link KeypleCardSelectionResult}.
  *
  * @since 2.0
  */
-final class CardSelectionResultAdapter implements CardSelectionResult {
+final class CardSelectionResultAdapter implements KeypleCardSelectionResult {
 
   private int activeSelectionIndex = -1;
   private final Map<Integer, SmartCard> smartCardMap = new HashMap<Integer, SmartCard>();
+  private final Set<Integer> notAttemptedSelectionIndexes = new TreeSet<Integer>();
 
   /**
    * (package-private)<br>
@@ -49,6 +52,17 @@ void addSmartCard(int selectionIndex, SmartCard smartCard) {
     activeSelectionIndex = selectionIndex;
   }
 
+  /**
+   * (package-private)<br>
+   * Records a selection that was not attempted.
+   *
+   * @param selectionIndex The index of the selection.
+   * @since 2.0
+   */
+  void addNotAttemptedSelectionIndex(int selectionIndex) {
+    notAttemptedSelectionIndexes.add(selectionIndex);
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -82,4 +96,14 @@ public SmartCard getActiveSmartCard() {
   public int getActiveSelectionIndex() {
     return activeSelectionIndex;
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public Set<Integer> getNotAttemptedSelectionIndexes() {
+    return Collections.unmodifiableSet(notAttemptedSelectionIndexes);
+  }
 }
@@ -66,7 +66,7 @@ final class CardSelectionScenarioAdapter {
         .notNull(multiSelectionProcessing, "multiSelectionProcessing")
         .notNull(channelControl, "channelControl");
 
-    this.cardSelectionRequests = cardSelectionRequests;
+    this.cardSelectionRequests = CardSelectionPlanAdapter.of(cardSelectionRequests);
     this.multiSelectionProcessing = multiSelectionProcessing;
     this.channelControl = channelControl;
   }
@@ -75,6 +75,9 @@ final class CardSelectionScenarioAdapter {
    * (package-private)<br>
    * Gets the card selection requests list.
    *
+   * <p>The list is an immutable {@link CardSelectionPlanAdapter}, shared by all the readers
+   * processing the scenario.
+   *
    * @return A not null reference
    * @since 2.0
    */
@@ -0,0 +1,133 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.List;
+import org.calypsonet.terminal.card.CardSelectionResponseApi;
+import org.calypsonet.terminal.card.spi.CardSelectionSpi;
+import org.calypsonet.terminal.card.spi.ParseException;
+import org.calypsonet.terminal.reader.selection.spi.SmartCard;
+import org.eclipse.keyple.core.service.spi.CardSelectionObserverSpi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * (package-private)<br>
+ * Streaming of the results of a card selection scenario to a {@link CardSelectionObserverSpi}.
+ *
+ * <p>Each response received from the reader is parsed and notified to the observer at once. The
+ * smart card parsed is kept by the response itself, so that it does not have to be parsed a second
+ * time when the result of the whole scenario is built. The stream thus holds no state specific to a
+ * run of the scenario and can be shared by the successive runs of a scheduled scenario.
+ *
+ * @since 2.0
+ */
+final class CardSelectionStreamAdapter implements CardSelectionPlanAdapter.ResponseListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(CardSelectionStreamAdapter.class);
+
+  private final CardSelectionSpi[] cardSelections;
+  private final CardSelectionObserverSpi cardSelectionObserver;
+
+  /**
+   * (package-private)<br>
+   * Constructor.
+   *
+   * @param cardSelections The card selections of the scenario, in the order of preparation.
+   * @param cardSelectionObserver The observer to notify.
+   * @since 2.0
+   */
+  CardSelectionStreamAdapter(
+      List<CardSelectionSpi> cardSelections, CardSelectionObserverSpi cardSelectionObserver) {
+    this.cardSelections = cardSelections.toArray(new CardSelectionSpi[cardSelections.size()]);
+    this.cardSelectionObserver = cardSelectionObserver;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A response that can't be parsed is not notified, the error being reported when the result of
+   * the whole scenario is built.
+   *
+   * @since 2.0
+   */
+  @Override
+  public void onCardSelectionResponse(int index, CardSelectionResponseApi cardSelectionResponse) {
+    SmartCard smartCard = null;
+    if (cardSelectionResponse.hasMatched()) {
+      try {
+        smartCard = (SmartCard) cardSelections[index].parse(cardSelectionResponse);
+      } catch (ParseException e) {
+        logger.warn("Unable to parse the card selection response #{}: {}", index, e.getMessage());
+        return;
+      }
+    }
+    if (cardSelectionResponse instanceof CardSelectionResponseAdapter) {
+      ((CardSelectionResponseAdapter) cardSelectionResponse).setStreamed(smartCard);
+    }
+    notifyObserver(index, cardSelectionResponse, smartCard);
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether at least one of the provided responses has already been streamed.
+   *
+   * <p>This is not the case when the responses come from a remote reader.
+   *
+   * @param cardSelectionResponses The responses of the scenario.
+   * @return True if the responses have been streamed as they were received.
+   * @since 2.0
+   */
+  static boolean isStreamed(List<CardSelectionResponseApi> cardSelectionResponses) {
+    for (CardSelectionResponseApi cardSelectionResponse : cardSelectionResponses) {
+      if (cardSelectionResponse instanceof CardSelectionResponseAdapter
+          && ((CardSelectionResponseAdapter) cardSelectionResponse).isStreamed()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the smart card already parsed from a response.
+   *
+   * @param cardSelectionResponse The response to the selection case.
+   * @return Null if the response has not been streamed or did not match.
+   * @since 2.0
+   */
+  static SmartCard getSmartCard(CardSelectionResponseApi cardSelectionResponse) {
+    return cardSelectionResponse instanceof CardSelectionResponseAdapter
+        ? ((CardSelectionResponseAdapter) cardSelectionResponse).getStreamedSmartCard()
+        : null;
+  }
+
+  /**
+   * (package-private)<br>
+   * Notifies the observer of the result of a selection case.
+   *
+   * <p>The exceptions thrown by the observer are logged and do not interrupt the scenario.
+   *
+   * @param index The index of the selection case.
+   * @param cardSelectionResponse The response to the selection case.
+   * @param smartCard The smart card parsed from the response, null if it did not match.
+   * @since 2.0
+   */
+  void notifyObserver(
+      int index, CardSelectionResponseApi cardSelectionResponse, SmartCard smartCard) {
+    try {
+      cardSelectionObserver.onCardSelectionProcessed(index, cardSelectionResponse, smartCard);
+    } catch (RuntimeException e) {
+      logger.error("Card selection observer error on selection case #{}", index, e);
+    }
+  }
+}
@@ -0,0 +1,282 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import org.calypsonet.terminal.card.spi.CardSelectorSpi;
+
+/**
+ * (package-private)<br>
+ * Compiled form of a {@link CardSelectorSpi}.
+ *
+ * <p>Everything the selection process derives from the selector is computed once at creation: the
+ * power-on data pattern, the P2 parameter and the whole command of the ISO7816-4 Select Application
+ * APDU, and the successful selection status words.<br>
+ * Instances are immutable and can be shared by all the readers processing the same selection.
+ *
+ * @since 2.0
+ */
+final class CompiledCardSelectorAdapter {
+
+  private final CardSelectorSpi cardSelector;
+  private final String cardProtocol;
+  private final String powerOnDataRegex;
+  private final Pattern powerOnDataPattern;
+  private final byte[] aid;
+  private final byte selectApplicationP2;
+  private final byte[] selectApplicationCommand;
+  private final StatusWordSetAdapter successfulSelectionStatusWords;
+
+  /** P2 bit set for the NEXT and PREVIOUS file occurrences */
+  private static final byte P2_RELATIVE_OCCURRENCE = (byte) 0x02;
+
+  /**
+   * (package-private)<br>
+   * Compiles the provided card selector.
+   *
+   * @param cardSelector The card selector.
+   * @throws java.util.regex.PatternSyntaxException If the power-on data regular expression is
+   *     invalid.
+   * @throws IllegalStateException If the file occurrence or the file control information is
+   *     unexpected.
+   * @since 2.0
+   */
+  CompiledCardSelectorAdapter(CardSelectorSpi cardSelector) {
+    this.cardSelector = cardSelector;
+    this.cardProtocol = cardSelector.getCardProtocol();
+    this.powerOnDataRegex = cardSelector.getPowerOnDataRegex();
+    this.powerOnDataPattern = powerOnDataRegex != null ? Pattern.compile(powerOnDataRegex) : null;
+    this.aid = cardSelector.getAid();
+    if (aid != null) {
+      this.selectApplicationP2 =
+          computeSelectApplicationP2(
+              cardSelector.getFileOccurrence(), cardSelector.getFileControlInformation());
+      this.selectApplicationCommand = buildSelectApplicationCommand(aid, selectApplicationP2);
+      this.successfulSelectionStatusWords =
+          StatusWordSetAdapter.of(cardSelector.getSuccessfulSelectionStatusWords());
+    } else {
+      this.selectApplicationP2 = 0;
+      this.selectApplicationCommand = null;
+      this.successfulSelectionStatusWords = StatusWordSetAdapter.of(null);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Builds the ISO7816-4 Select Application APDU command.
+   *
+   * @param aid The AID.
+   * @param p2 The P2 parameter.
+   * @return A not null array.
+   */
+  private static byte[] buildSelectApplicationCommand(byte[] aid, byte p2) {
+    /*
+     * build a get response command the actual length expected by the card in the get response
+     * command is handled in transmitApdu
+     */
+    byte[] selectApplicationCommand = new byte[6 + aid.length];
+    selectApplicationCommand[0] = (byte) 0x00; // CLA
+    selectApplicationCommand[1] = (byte) 0xA4; // INS
+    selectApplicationCommand[2] = (byte) 0x04; // P1: select by name
+    // P2: b0,b1 define the File occurrence, b2,b3 define the File control information
+    // we use the bitmask defined in the respective enums
+    selectApplicationCommand[3] = p2;
+    selectApplicationCommand[4] = (byte) (aid.length); // Lc
+    System.arraycopy(aid, 0, selectApplicationCommand, 5, aid.length); // data
+    selectApplicationCommand[5 + aid.length] = (byte) 0x00; // Le
+    return selectApplicationCommand;
+  }
+
+  /**
+   * (private)<br>
+   * Computes the P2 parameter of the ISO7816-4 Select Application APDU command from the provided
+   * FileOccurrence and FileControlInformation.
+   *
+   * @param fileOccurrence The file's position relative to the current file.
+   * @param fileControlInformation The file control information output.
+   * @throws IllegalStateException If one of the provided argument is unexpected.
+   */
+  private static byte computeSelectApplicationP2(
+      CardSelectorSpi.FileOccurrence fileOccurrence,
+      CardSelectorSpi.FileControlInformation fileControlInformation) {
+
+    byte p2;
+    switch (fileOccurrence) {
+      case FIRST:
+        p2 = (byte) 0x00;
+        break;
+      case LAST:
+        p2 = (byte) 0x01;
+        break;
+      case NEXT:
+        p2 = (byte) 0x02;
+        break;
+      case PREVIOUS:
+        p2 = (byte) 0x03;
+        break;
+      default:
+        throw new IllegalStateException("Unexpected value: " + fileOccurrence);
+    }
+
+    switch (fileControlInformation) {
+      case FCI:
+        p2 |= (byte) 0x00;
+        break;
+      case FCP:
+        p2 |= (byte) 0x04;
+        break;
+      case FMD:
+        p2 |= (byte) 0x08;
+        break;
+      case NO_RESPONSE:
+        p2 |= (byte) 0x0C;
+        break;
+      default:
+        throw new IllegalStateException("Unexpected value: " + fileControlInformation);
+    }
+
+    return p2;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the original card selector.
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  CardSelectorSpi getCardSelector() {
+    return cardSelector;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the card protocol targeted by the selector.
+   *
+   * @return Null if the protocol is not filtered.
+   * @since 2.0
+   */
+  String getCardProtocol() {
+    return cardProtocol;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the regular expression the power-on data must match.
+   *
+   * @return Null if the power-on data are not filtered.
+   * @since 2.0
+   */
+  String getPowerOnDataRegex() {
+    return powerOnDataRegex;
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether the provided power-on data are accepted by the selector.
+   *
+   * @param powerOnData The power-on data (may be null).
+   * @return True if there is no filter, if no power-on data is available or if the power-on data
+   *     match the filter.
+   * @since 2.0
+   */
+  boolean acceptsPowerOnData(String powerOnData) {
+    return powerOnData == null
+        || powerOnDataPattern == null
+        || powerOnDataPattern.matcher(powerOnData).matches();
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the AID targeted by the selector.
+   *
+   * @return Null if no application selection is required.
+   * @since 2.0
+   */
+  byte[] getAid() {
+    return aid;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the P2 parameter of the Select Application command.
+   *
+   * @return 0 if no application selection is required.
+   * @since 2.0
+   */
+  byte getSelectApplicationP2() {
+    return selectApplicationP2;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the prebuilt Select Application command.
+   *
+   * <p>The returned array is shared and must not be modified.
+   *
+   * @return Null if no application selection is required.
+   * @since 2.0
+   */
+  byte[] getSelectApplicationCommand() {
+    return selectApplicationCommand;
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether the provided status word of the Select Application response means that the
+   * selection succeeded.
+   *
+   * @param statusWord The status word.
+   * @return True if the status word is one of the successful selection status words.
+   * @since 2.0
+   */
+  boolean isSuccessfulSelectionStatusWord(int statusWord) {
+    return successfulSelectionStatusWords.contains(statusWord);
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether repeating the application selection of this selector on the same card always
+   * selects the same application, i.e. it requires an AID and the first or last occurrence of the
+   * file.
+   *
+   * @return True if the application selection is repeatable.
+   * @since 2.0
+   */
+  boolean isApplicationSelectionRepeatable() {
+    return aid != null && (selectApplicationP2 & P2_RELATIVE_OCCURRENCE) == 0;
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether the provided selector filters and selects the card in the same way as this
+   * one, regardless of their successful selection status words.
+   *
+   * @param other The other selector.
+   * @return True if both selectors have the same protocol, power-on data filter, AID and P2.
+   * @since 2.0
+   */
+  boolean hasSameSelectionAs(CompiledCardSelectorAdapter other) {
+    if (other == this) {
+      return true;
+    }
+    return (cardProtocol == null
+            ? other.cardProtocol == null
+            : cardProtocol.equals(other.cardProtocol))
+        && (powerOnDataRegex == null
+            ? other.powerOnDataRegex == null
+            : powerOnDataRegex.equals(other.powerOnDataRegex))
+        && Arrays.equals(aid, other.aid)
+        && selectApplicationP2 == other.selectApplicationP2;
+  }
+}
@@ -244,23 +244,14 @@ private LocalReaderExecutor(String jsonData, String readerName) {
 
     /**
      * (private)<br>
-     * Retrieves the first register reader having the provided name among all plugins.
+     * Retrieves the register reader having the provided name among all plugins using the reader
+     * directory of the service.
      *
      * @param readerName The name of the reader to be found.
      * @return null if no reader is found with this name.
      */
     private AbstractReaderAdapter getReader(String readerName) {
-      for (Plugin plugin : SmartCardServiceProvider.getService().getPlugins()) {
-        try {
-          Reader localReader = plugin.getReader(readerName);
-          if (localReader != null) {
-            return (AbstractReaderAdapter) localReader;
-          }
-        } catch (IllegalStateException e) {
-          // The plugin is no longer register, then continue.
-        }
-      }
-      return null;
+      return (AbstractReaderAdapter) SmartCardServiceAdapter.getInstance().findReader(readerName);
     }
 
     /**
@@ -635,13 +626,11 @@ private void releaseReader() {
       // Extract info from the message
       String readerName = input.get(JsonProperty.READER_NAME.name()).getAsString();
 
-      // Execute the service on the plugins
-      PoolPlugin poolPlugin;
-      for (String poolPluginName : poolPluginNames) {
-        poolPlugin = (PoolPlugin) SmartCardServiceProvider.getService().getPlugin(poolPluginName);
-        if (poolPlugin != null && poolPlugin.getReaderNames().contains(readerName)) {
-          poolPlugin.releaseReader(poolPlugin.getReader(readerName));
-        }
+      // Execute the service on the pool plugin owning the reader
+      Plugin plugin = SmartCardServiceAdapter.getInstance().findReaderPlugin(readerName);
+      if (plugin instanceof PoolPlugin && poolPluginNames.contains(plugin.getName())) {
+        ((PoolPlugin) plugin)
+            .releaseReader(SmartCardServiceAdapter.getInstance().findReader(readerName));
       }
     }
 
@@ -486,6 +486,7 @@ static class ApduRequest implements ApduRequestSpi {
     private byte[] apdu;
     private Set<Integer> successfulStatusWords;
     private String info;
+    private transient StatusWordSetAdapter successfulStatusWordSet;
 
     /**
      * {@inheritDoc}
@@ -507,6 +508,23 @@ public Set<Integer> getSuccessfulStatusWords() {
       return successfulStatusWords;
     }
 
+    /**
+     * (package-private)<br>
+     * Gets the successful status words as a primitive set, built on first use since the instance is
+     * created by the JSON deserializer.
+     *
+     * @return A not null reference.
+     * @since 2.0
+     */
+    StatusWordSetAdapter getSuccessfulStatusWordSet() {
+      StatusWordSetAdapter statusWordSet = successfulStatusWordSet;
+      if (statusWordSet == null) {
+        statusWordSet = StatusWordSetAdapter.of(successfulStatusWords);
+        successfulStatusWordSet = statusWordSet;
+      }
+      return statusWordSet;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -0,0 +1,101 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import org.calypsonet.terminal.reader.CardReader;
+import org.calypsonet.terminal.reader.ObservableCardReader;
+import org.calypsonet.terminal.reader.selection.CardSelectionManager;
+import org.calypsonet.terminal.reader.selection.CardSelectionResult;
+import org.eclipse.keyple.core.service.spi.CardSelectionObserverSpi;
+
+/**
+ * Keyple card selection manager, providing settings specific to the service in addition to the
+ * {@link CardSelectionManager} features.
+ *
+ * <p>The card selection managers created by {@link SmartCardService#createCardSelectionManager()}
+ * implement this interface.
+ *
+ * @since 2.0
+ */
+public interface KeypleCardSelectionManager extends CardSelectionManager {
+
+  /**
+   * Sets the maximum time allowed to process the card selection scenarios on a local reader.
+   *
+   * <p>The time budget is checked before each selection case. Once it is exhausted, the remaining
+   * selection cases are not attempted and the scenario completes with the results obtained so far.
+   * The selection cases not attempted are reported by {@link
+   * KeypleCardSelectionResult#getNotAttemptedSelectionIndexes()} and the reader counts the overrun
+   * (see {@link LocalReader#getSelectionTimeBudgetOverrunCount()}).<br>
+   * The time budget is only checked between the selection cases: a selection case already started
+   * is never interrupted, so a scenario may exceed its time budget by the duration of its last
+   * selection case attempted.<br>
+   * The time budget applies to the scenarios processed or scheduled after this call. It is not
+   * applied by remote readers.
+   *
+   * <p>By default, the time is not limited.
+   *
+   * @param timeBudgetMillis The time budget in milliseconds (0 for no limit).
+   * @throws IllegalArgumentException If the time budget is negative.
+   * @since 2.0
+   */
+  void setTimeBudget(long timeBudgetMillis);
+
+  /**
+   * Same as {@link #processCardSelectionScenario(CardReader)}, the observer being notified of the
+   * result of each selection case as soon as it is processed.
+   *
+   * <p>In multiple selection mode, the application can thus start using the first smart card
+   * selected while the other selection cases are still being processed. The smart cards notified
+   * are the ones provided by the returned result.
+   *
+   * @param reader The reader to communicate with the card.
+   * @param cardSelectionObserver The observer of the selection cases.
+   * @return A not null reference.
+   * @throws IllegalArgumentException If a provided argument is null.
+   * @throws org.calypsonet.terminal.reader.ReaderCommunicationException If the communication with
+   *     the reader has failed.
+   * @throws org.calypsonet.terminal.reader.CardCommunicationException If the communication with the
+   *     card has failed.
+   * @throws org.calypsonet.terminal.reader.selection.InvalidCardResponseException If a response of
+   *     the card can't be parsed.
+   * @see CardSelectionObserverSpi
+   * @since 2.0
+   */
+  CardSelectionResult processCardSelectionScenario(
+      CardReader reader, CardSelectionObserverSpi cardSelectionObserver);
+
+  /**
+   * Same as {@link #scheduleCardSelectionScenario(ObservableCardReader,
+   * ObservableCardReader.DetectionMode, ObservableCardReader.NotificationMode)}, the observer being
+   * notified of the result of each selection case as soon as it is processed, each time the
+   * scenario is processed.
+   *
+   * <p>The notifications precede the reader event carrying the responses of the whole scenario. The
+   * smart cards notified are the ones obtained when parsing these responses, even if the scenario
+   * has been processed again in the meantime.
+   *
+   * @param observableCardReader The reader with which the card communication is carried out.
+   * @param detectionMode The card detection mode.
+   * @param notificationMode The card notification mode.
+   * @param cardSelectionObserver The observer of the selection cases.
+   * @throws IllegalArgumentException If a provided argument is null or if the reader is not a
+   *     Keyple reader.
+   * @see CardSelectionObserverSpi
+   * @since 2.0
+   */
+  void scheduleCardSelectionScenario(
+      ObservableCardReader observableCardReader,
+      ObservableCardReader.DetectionMode detectionMode,
+      ObservableCardReader.NotificationMode notificationMode,
+      CardSelectionObserverSpi cardSelectionObserver);
+}
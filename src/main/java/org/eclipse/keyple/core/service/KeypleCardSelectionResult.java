@@ -0,0 +1,42 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.Set;
+import org.calypsonet.terminal.reader.selection.CardSelectionResult;
+
+/**
+ * Keyple card selection result, providing information specific to the service in addition to the
+ * {@link CardSelectionResult} features.
+ *
+ * <p>The card selection results provided by a {@link KeypleCardSelectionManager} implement this
+ * interface.
+ *
+ * @since 2.0
+ */
+public interface KeypleCardSelectionResult extends CardSelectionResult {
+
+  /**
+   * Gets the indexes of the selection cases that were not attempted because the time budget of the
+   * scenario was exhausted or, when the adaptive selection order of the reader is enabled, because
+   * a selection case tried before them matched.
+   *
+   * <p>Unlike the selection cases that did not match, these cases may match if the scenario is
+   * processed again.
+   *
+   * @return An unmodifiable set, empty if all the selection cases were attempted.
+   * @see KeypleCardSelectionManager#setTimeBudget(long)
+   * @see LocalReader#setAdaptiveSelectionOrder(boolean)
+   * @since 2.0
+   */
+  Set<Integer> getNotAttemptedSelectionIndexes();
+}
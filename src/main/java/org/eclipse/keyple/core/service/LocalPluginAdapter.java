@@ -66,7 +66,7 @@ final void register() throws PluginIOException {
       } else {
         localReaderAdapter = new LocalReaderAdapter(readerSpi, getName());
       }
-      getReadersMap().put(readerSpi.getName(), localReaderAdapter);
+      addReaderToMap(localReaderAdapter);
       localReaderAdapter.register();
     }
   }
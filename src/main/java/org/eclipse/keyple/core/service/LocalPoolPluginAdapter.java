@@ -116,7 +116,7 @@ public Reader allocateReader(String readerGroupReference) {
     } else {
       localReaderAdapter = new LocalReaderAdapter(readerSpi, getName());
     }
-    getReadersMap().put(localReaderAdapter.getName(), localReaderAdapter);
+    addReaderToMap(localReaderAdapter);
     localReaderAdapter.register();
     return localReaderAdapter;
   }
@@ -148,7 +148,7 @@ public void releaseReader(Reader reader) {
               getName(), reader.getName(), e.getMessage()),
           e);
     } finally {
-      getReadersMap().remove(reader.getName());
+      removeReaderFromMap(reader);
       ((LocalReaderAdapter) reader).unregister();
     }
   }
@@ -0,0 +1,309 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import org.calypsonet.terminal.card.*;
+import org.calypsonet.terminal.card.spi.CardRequestSpi;
+
+/**
+ * Keyple card reader managed locally by the service.
+ *
+ * <p>Provides settings and monitoring data specific to the card selection process performed by the
+ * service itself.
+ *
+ * @since 2.0
+ */
+public interface LocalReader extends Reader {
+
+  /**
+   * Sets the capacity of the cache remembering, for each type of card met, the power-on data
+   * filters of the card selectors that rejected it.
+   *
+   * <p>A type of card is identified by its protocol and its power-on data. When a card of a known
+   * type is selected, the card selectors whose power-on data filter already rejected this type are
+   * skipped without evaluating the filter again. The selection results are unchanged.
+   *
+   * <p>When the capacity is reached, the least recently used type of card is evicted.<br>
+   * By default, the capacity is 0, i.e. the cache is disabled.<br>
+   * Changing the capacity clears the cache and resets its counters.
+   *
+   * @param capacity The maximum number of types of card remembered (0 to disable the cache).
+   * @throws IllegalArgumentException If the provided capacity is negative.
+   * @since 2.0
+   */
+  void setPowerOnDataNegativeCacheCapacity(int capacity);
+
+  /**
+   * Gets the number of card selector filter evaluations avoided thanks to the power-on data
+   * negative cache.
+   *
+   * @return A positive or zero long.
+   * @since 2.0
+   */
+  long getPowerOnDataNegativeCacheHitCount();
+
+  /**
+   * Gets the number of card selector filter evaluations that could not be avoided by the power-on
+   * data negative cache.
+   *
+   * @return A positive or zero long.
+   * @since 2.0
+   */
+  long getPowerOnDataNegativeCacheMissCount();
+
+  /**
+   * Enables or disables the adaptive ordering of the card selection requests.
+   *
+   * <p>When enabled, the reader records how often each card selection request of the list it
+   * processes matches, and tries them from the most frequently matched to the least, as long as the
+   * selection process stops at the first match. This saves the application selection commands of
+   * the requests that usually do not match.<br>
+   * The selection results are still reported under the original indices of the requests. The
+   * requests that were not attempted because another one matched first are reported as not
+   * attempted, see {@link KeypleCardSelectionResult#getNotAttemptedSelectionIndexes()}.<br>
+   * As a consequence, when several requests match the same card, the request reported as matching
+   * is the most frequently matched one, which is not necessarily the first one in the order of the
+   * list. The index reported by the card selection result (see {@link
+   * org.calypsonet.terminal.reader.selection.CardSelectionResult#getActiveSelectionIndex()}) may
+   * thus change as the statistics evolve. The adaptive ordering must therefore only be enabled when
+   * the requests of the list are mutually exclusive, or when the application does not depend on
+   * which of the matching requests is reported.
+   *
+   * <p>The statistics are reset when a different list of requests is processed.<br>
+   * By default, the adaptive ordering is disabled.
+   *
+   * @param enabled True to enable the adaptive ordering, false to disable it.
+   * @since 2.0
+   */
+  void setAdaptiveSelectionOrder(boolean enabled);
+
+  /**
+   * Enables or disables the lightweight handling of the unexpected status words received while
+   * processing card selection requests.
+   *
+   * <p>The selection process reports an unexpected status word as a {@link
+   * org.calypsonet.terminal.card.CardBrokenCommunicationException}, which by default wraps an
+   * {@link org.calypsonet.terminal.card.UnexpectedStatusWordException}, each with its own stack
+   * trace. When enabled, the wrapped exception is replaced by an internal exception without stack
+   * trace, which halves the cost of these routine failures, e.g. when cards of an unexpected type
+   * are frequently presented.<br>
+   * The card response carried by the reported exception is unchanged. Genuine communication
+   * failures are not affected.
+   *
+   * <p>By default, the lightweight handling is disabled.
+   *
+   * @param enabled True to enable the lightweight handling, false to disable it.
+   * @since 2.0
+   */
+  void setLightweightStatusWordFailures(boolean enabled);
+
+  /**
+   * Enables or disables the reuse of the application already selected on the basic logical channel.
+   *
+   * <p>When enabled, a card selection request whose card selector has the same protocol, power-on
+   * data filter, AID and file occurrence and control information as the one that selected the
+   * application still selected does not send the application selection command again. The selection
+   * response of the previous selection is reported instead, and the optional card request is
+   * transmitted as usual.<br>
+   * Only the selections of the first or last occurrence of an application are reused. The selected
+   * application is forgotten as soon as another selection is attempted, a card request is
+   * transmitted on the basic channel, the logical or physical channel is closed or the card is
+   * removed.
+   *
+   * <p>By default, the reuse is disabled.
+   *
+   * @param enabled True to enable the reuse, false to disable it.
+   * @since 2.0
+   */
+  void setSelectedApplicationReuse(boolean enabled);
+
+  /**
+   * Acquires the exclusive use of the reader by the current thread, waiting as long as necessary.
+   *
+   * <p>Once acquired, the card requests and card selection requests transmitted through this reader
+   * by other threads, as well as their channel releases, are blocked until the current thread calls
+   * {@link #release()}. This allows a thread to perform a sequence of exchanges with a card without
+   * interleaving.<br>
+   * Each transmission outside a session acquires the reader implicitly for its own duration.<br>
+   * The acquisition is reentrant: each call must be balanced by a call to {@link #release()}.
+   *
+   * <p>For an observable reader, the processing of the card selection scenario following a card
+   * insertion and the closing of the channels following a card removal are delayed while the reader
+   * is acquired by another thread.
+   *
+   * @see #tryAcquire(long)
+   * @since 2.0
+   */
+  void acquire();
+
+  /**
+   * Acquires the exclusive use of the reader by the current thread if it becomes available within
+   * the provided timeout.
+   *
+   * <p>If the current thread is interrupted while waiting, its interrupted status is kept and the
+   * reader is not acquired.
+   *
+   * @param timeoutMillis The maximum time to wait in milliseconds (0 to not wait).
+   * @return True if the reader was acquired, false if the timeout elapsed first.
+   * @throws IllegalArgumentException If the provided timeout is negative.
+   * @see #acquire()
+   * @since 2.0
+   */
+  boolean tryAcquire(long timeoutMillis);
+
+  /**
+   * Releases the exclusive use of the reader previously acquired by the current thread.
+   *
+   * @throws IllegalStateException If the reader is not acquired by the current thread.
+   * @since 2.0
+   */
+  void release();
+
+  /**
+   * Sets the fairness of the reader acquisitions.
+   *
+   * <p>When fair, the threads waiting for the reader acquire it in their order of arrival. When not
+   * fair, a thread finding the reader free takes it immediately, even if other threads are waiting,
+   * which increases the throughput at the cost of a possible starvation.<br>
+   * The fairness is approximate: a thread that does not find the reader free always waits for it in
+   * its order of arrival, whatever the setting.<br>
+   * By default, the acquisitions are fair.
+   *
+   * @param isFair True for fair acquisitions, false otherwise.
+   * @since 2.0
+   */
+  void setSessionAcquisitionFair(boolean isFair);
+
+  /**
+   * Gets the number of sessions, i.e. the number of times the reader has been acquired with {@link
+   * #acquire()} or {@link #tryAcquire(long)}.
+   *
+   * <p>The reentrant acquisitions are not counted, nor are the implicit acquisitions of the
+   * transmissions performed outside a session. The wait and hold times below only cover the
+   * sessions as well.
+   *
+   * @return A positive or zero long.
+   * @since 2.0
+   */
+  long getSessionCount();
+
+  /**
+   * Gets the total time spent by the threads waiting to acquire the reader.
+   *
+   * @return A positive or zero long representing a number of milliseconds.
+   * @since 2.0
+   */
+  long getTotalSessionWaitTime();
+
+  /**
+   * Gets the longest time spent by a thread waiting to acquire the reader.
+   *
+   * @return A positive or zero long representing a number of milliseconds.
+   * @since 2.0
+   */
+  long getMaxSessionWaitTime();
+
+  /**
+   * Gets the total time during which the reader has been acquired.
+   *
+   * @return A positive or zero long representing a number of milliseconds.
+   * @since 2.0
+   */
+  long getTotalSessionHoldTime();
+
+  /**
+   * Gets the longest time during which the reader has been continuously acquired by a thread.
+   *
+   * @return A positive or zero long representing a number of milliseconds.
+   * @since 2.0
+   */
+  long getMaxSessionHoldTime();
+
+  /**
+   * Gets the number of card selection scenarios whose time budget has been exhausted on this reader
+   * before all their selection cases were attempted.
+   *
+   * @return A positive or zero long.
+   * @see KeypleCardSelectionManager#setTimeBudget(long)
+   * @since 2.0
+   */
+  long getSelectionTimeBudgetOverrunCount();
+
+  /**
+   * Opens a supplementary logical channel with the card currently connected, using the ISO 7816-4
+   * MANAGE CHANNEL command.
+   *
+   * <p>The channel number is assigned by the card. Several applications of the card can thus stay
+   * selected at the same time, one per logical channel, the application to use on a supplementary
+   * channel being selected by a card request transmitted on this channel with {@link
+   * #transmitCardRequest(CardRequestSpi, int, ChannelControl)}.<br>
+   * The supplementary logical channels are closed along with the physical channel.
+   *
+   * @return The number of the logical channel opened (1 to 19).
+   * @throws IllegalStateException If no card is connected.
+   * @throws ReaderBrokenCommunicationException If the communication with the reader has failed.
+   * @throws CardBrokenCommunicationException If the communication with the card has failed or if
+   *     the card provided an invalid channel number.
+   * @throws UnexpectedStatusWordException If the card refused to open a logical channel.
+   * @since 2.0
+   */
+  int openSupplementaryLogicalChannel()
+      throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
+          UnexpectedStatusWordException;
+
+  /**
+   * Closes a supplementary logical channel previously opened with {@link
+   * #openSupplementaryLogicalChannel()}, using the ISO 7816-4 MANAGE CHANNEL command.
+   *
+   * @param logicalChannel The number of the logical channel (1 to 19).
+   * @throws IllegalArgumentException If the channel number is out of range.
+   * @throws IllegalStateException If the logical channel is not open.
+   * @throws ReaderBrokenCommunicationException If the communication with the reader has failed.
+   * @throws CardBrokenCommunicationException If the communication with the card has failed.
+   * @throws UnexpectedStatusWordException If the card refused to close the logical channel.
+   * @since 2.0
+   */
+  void closeSupplementaryLogicalChannel(int logicalChannel)
+      throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
+          UnexpectedStatusWordException;
+
+  /**
+   * Transmits a card request on the provided logical channel.
+   *
+   * <p>The class byte of each command of the request is adjusted to designate the logical channel,
+   * as defined by ISO 7816-4, unless it is proprietary. The logical channel 0 is the basic channel
+   * used by {@link ProxyReaderApi#transmitCardRequest(CardRequestSpi, ChannelControl)}.<br>
+   * On a supplementary logical channel, {@link ChannelControl#CLOSE_AFTER} closes only this logical
+   * channel, as {@link #closeSupplementaryLogicalChannel(int)} does: the physical channel and the
+   * other logical channels stay open.<br>
+   * The card response indicates whether the logical channel used is still open.
+   *
+   * @param cardRequest The card request.
+   * @param logicalChannel The number of the logical channel (0 to 19).
+   * @param channelControl The channel control policy to apply.
+   * @return A not null reference.
+   * @throws IllegalArgumentException If the card request or the channel control is null or if the
+   *     channel number is out of range.
+   * @throws IllegalStateException If the supplementary logical channel is not open.
+   * @throws ReaderBrokenCommunicationException If the communication with the reader has failed.
+   * @throws CardBrokenCommunicationException If the communication with the card has failed.
+   * @throws UnexpectedStatusWordException If status word verification is enabled in the card
+   *     request and the card returned an unexpected code, or if the card refused to close the
+   *     supplementary logical channel.
+   * @see #openSupplementaryLogicalChannel()
+   * @since 2.0
+   */
+  CardResponseApi transmitCardRequest(
+      CardRequestSpi cardRequest, int logicalChannel, ChannelControl channelControl)
+      throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
+          UnexpectedStatusWordException;
+}
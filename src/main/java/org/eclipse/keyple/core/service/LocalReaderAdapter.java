@@ -12,14 +12,15 @@
 package org.eclipse.keyple.core.service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import org.calypsonet.terminal.card.*;
 import org.calypsonet.terminal.card.spi.ApduRequestSpi;
 import org.calypsonet.terminal.card.spi.CardRequestSpi;
 import org.calypsonet.terminal.card.spi.CardSelectionRequestSpi;
-import org.calypsonet.terminal.card.spi.CardSelectorSpi;
 import org.calypsonet.terminal.reader.ReaderCommunicationException;
 import org.calypsonet.terminal.reader.ReaderProtocolNotSupportedException;
 import org.eclipse.keyple.core.common.KeypleReaderExtension;
@@ -39,7 +40,7 @@
  *
  * @since 2.0
  */
-class LocalReaderAdapter extends AbstractReaderAdapter {
+class LocalReaderAdapter extends AbstractReaderAdapter implements LocalReader {
 
   private static final Logger logger = LoggerFactory.getLogger(LocalReaderAdapter.class);
 
@@ -50,11 +51,31 @@ class LocalReaderAdapter extends AbstractReaderAdapter {
 
   private static final int DEFAULT_SUCCESSFUL_CODE = 0x9000;
 
+  /** value of the last card response timestamp when no response was received */
+  static final long NO_CARD_RESPONSE = Long.MIN_VALUE;
+
   private final ReaderSpi readerSpi;
   private long before;
   private boolean logicalChannelIsOpen;
-  private boolean useDefaultProtocol;
-  private String currentProtocol;
+  private volatile PhysicalChannelContext physicalChannelContext;
+  private volatile long lastCardResponseNanos = NO_CARD_RESPONSE;
+  private volatile PowerOnDataNegativeCacheAdapter powerOnDataNegativeCache;
+  private volatile AdaptiveSelectionOrderAdapter adaptiveSelectionOrder;
+  private volatile boolean isStatusWordFailureLightweight;
+  private volatile boolean isSelectedApplicationReuseEnabled;
+  private final ReaderSessionLockAdapter sessionLock = new ReaderSessionLockAdapter();
+  private final AtomicLong selectionTimeBudgetOverrunCount = new AtomicLong();
+  /**
+   * supplementary logical channels open, bit n set for channel n, updated under the session lock
+   * but also reset without it when the channels are closed after a card removal
+   */
+  private volatile int openSupplementaryLogicalChannels;
+  /** logical channel of the card request being processed, guarded by the session lock */
+  private int currentLogicalChannel;
+  /** selector and status of the application selected on the basic channel, if reusable */
+  private CompiledCardSelectorAdapter selectedApplicationSelector;
+
+  private SelectionStatus selectedApplicationStatus;
   private final Map<String, String> protocolAssociations;
 
   /**
@@ -93,28 +114,267 @@ final boolean isLogicalChannelOpen() {
     return logicalChannelIsOpen;
   }
 
+  /**
+   * (package-private)<br>
+   * Gets the time at which the card last responded to an APDU since the physical channel was
+   * opened.
+   *
+   * @return The value of {@link System#nanoTime()} at the time of the response, or {@link
+   *     #NO_CARD_RESPONSE} if the card has not responded since the physical channel was opened.
+   * @since 2.0
+   */
+  final long getLastCardResponseNanos() {
+    return lastCardResponseNanos;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final void setPowerOnDataNegativeCacheCapacity(int capacity) {
+    Assert.getInstance().greaterOrEqual(capacity, 0, "capacity");
+    powerOnDataNegativeCache = capacity > 0 ? new PowerOnDataNegativeCacheAdapter(capacity) : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final long getPowerOnDataNegativeCacheHitCount() {
+    PowerOnDataNegativeCacheAdapter cache = powerOnDataNegativeCache;
+    return cache != null ? cache.getHitCount() : 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final long getPowerOnDataNegativeCacheMissCount() {
+    PowerOnDataNegativeCacheAdapter cache = powerOnDataNegativeCache;
+    return cache != null ? cache.getMissCount() : 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final void setAdaptiveSelectionOrder(boolean enabled) {
+    adaptiveSelectionOrder = enabled ? new AdaptiveSelectionOrderAdapter() : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final void setLightweightStatusWordFailures(boolean enabled) {
+    isStatusWordFailureLightweight = enabled;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final void setSelectedApplicationReuse(boolean enabled) {
+    isSelectedApplicationReuseEnabled = enabled;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final void acquire() {
+    checkStatus();
+    sessionLock.acquire();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final boolean tryAcquire(long timeoutMillis) {
+    checkStatus();
+    Assert.getInstance().isTrue(timeoutMillis >= 0, "timeoutMillis >= 0");
+    return sessionLock.tryAcquire(timeoutMillis);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final void release() {
+    sessionLock.release();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final void setSessionAcquisitionFair(boolean isFair) {
+    sessionLock.setFair(isFair);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final long getSessionCount() {
+    return sessionLock.getSessionCount();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final long getTotalSessionWaitTime() {
+    return sessionLock.getTotalWaitTime();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final long getMaxSessionWaitTime() {
+    return sessionLock.getMaxWaitTime();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final long getTotalSessionHoldTime() {
+    return sessionLock.getTotalHoldTime();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final long getMaxSessionHoldTime() {
+    return sessionLock.getMaxHoldTime();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final long getSelectionTimeBudgetOverrunCount() {
+    return selectionTimeBudgetOverrunCount.get();
+  }
+
+  /**
+   * (package-private)<br>
+   * Reserves the reader for a background exchange, such as a card presence check, unless a card
+   * request is being transmitted, a session is held by another thread or a thread is waiting for
+   * the reader.
+   *
+   * <p>The transmissions of the application thus take precedence over the background exchanges,
+   * which must be skipped when the reservation fails. A successful reservation must be released
+   * with {@link #releaseFromBackgroundExchange()}.
+   *
+   * @return True if the reader is reserved, false if the background exchange must be skipped.
+   * @since 2.0
+   */
+  final boolean tryReserveForBackgroundExchange() {
+    return sessionLock.tryAcquireForBackgroundTask();
+  }
+
+  /**
+   * (package-private)<br>
+   * Releases the reservation obtained with {@link #tryReserveForBackgroundExchange()}.
+   *
+   * @since 2.0
+   */
+  final void releaseFromBackgroundExchange() {
+    sessionLock.releaseFromBackgroundTask();
+  }
+
+  /**
+   * (package-private)<br>
+   * Reserves the reader for the processing of a monitoring event, waiting as long as necessary for
+   * the end of the session held by another thread, if any.
+   *
+   * <p>It allows the monitoring to exchange with the card and to close the channels it has opened
+   * without an application thread taking the reader in between. The reservation must be released
+   * with {@link #releaseFromMonitoring()}.
+   *
+   * @since 2.0
+   */
+  final void reserveForMonitoring() {
+    sessionLock.acquireForInternalTask();
+  }
+
+  /**
+   * (package-private)<br>
+   * Releases the reservation obtained with {@link #reserveForMonitoring()}.
+   *
+   * @since 2.0
+   */
+  final void releaseFromMonitoring() {
+    sessionLock.releaseFromInternalTask();
+  }
+
   /**
    * (package-private)<br>
    * Close both logical and physical channels
    *
-   * <p>This method doesn't raise any exception.
+   * <p>This method doesn't raise any exception.<br>
+   * The channels are closed with exclusive access to the reader, waiting for the end of the session
+   * held by another thread, if any.
    *
    * @since 2.0
    */
   final void closeLogicalAndPhysicalChannelsSilently() {
 
-    closeLogicalChannel();
-    // Closes the physical channel and resets the current protocol info.
-    currentProtocol = null;
-    useDefaultProtocol = false;
+    sessionLock.acquireForInternalTask();
     try {
-      readerSpi.closePhysicalChannel();
-    } catch (ReaderIOException e) {
-      logger.error(
-          "[{}] Exception occurred in releaseSeChannel. Message: {}",
-          this.getName(),
-          e.getMessage(),
-          e);
+      closeLogicalChannel();
+      // Closes the physical channel and resets the current protocol info.
+      physicalChannelContext = null;
+      openSupplementaryLogicalChannels = 0;
+      lastCardResponseNanos = NO_CARD_RESPONSE;
+      try {
+        readerSpi.closePhysicalChannel();
+      } catch (ReaderIOException e) {
+        logger.error(
+            "[{}] Exception occurred in releaseSeChannel. Message: {}",
+            this.getName(),
+            e.getMessage(),
+            e);
+      }
+    } finally {
+      sessionLock.releaseFromInternalTask();
     }
   }
 
@@ -150,28 +410,104 @@ final List<CardSelectionResponseApi> processCardSelectionRequests(
 
     checkStatus();
 
-    List<CardSelectionResponseApi> cardSelectionResponses =
-        new ArrayList<CardSelectionResponseApi>();
+    sessionLock.acquireForInternalTask();
+    try {
+      /* the time budget of the scenario includes the opening of the physical channel */
+      long startNanos = System.nanoTime();
+
+      List<CardSelectionResponseApi> cardSelectionResponses =
+          new ArrayList<CardSelectionResponseApi>();
+
+      /* Open the physical channel if needed, determine the current protocol */
+      if (!readerSpi.isPhysicalChannelOpen()) {
+        try {
+          openPhysicalChannelAndSetProtocol();
+        } catch (ReaderIOException e) {
+          throw new ReaderBrokenCommunicationException(
+              null, false, "Reader communication failure while opening physical channel", e);
+        } catch (CardIOException e) {
+          throw new CardBrokenCommunicationException(
+              null, false, "Card communication failure while opening physical channel", e);
+        }
+      }
+
+      /* get the compiled form of the requests, already available when prepared by the service */
+      CardSelectionPlanAdapter cardSelectionPlan =
+          CardSelectionPlanAdapter.of(cardSelectionRequests);
 
-    /* Open the physical channel if needed, determine the current protocol */
-    if (!readerSpi.isPhysicalChannelOpen()) {
       try {
-        openPhysicalChannelAndSetProtocol();
-      } catch (ReaderIOException e) {
-        throw new ReaderBrokenCommunicationException(
-            null, false, "Reader communication failure while opening physical channel", e);
-      } catch (CardIOException e) {
-        throw new CardBrokenCommunicationException(
-            null, false, "Card communication failure while opening physical channel", e);
+        processCardSelectionPlan(
+            cardSelectionPlan, multiSelectionProcessing, startNanos, cardSelectionResponses);
+      } catch (UnexpectedStatusWordSignal e) {
+        if (isStatusWordFailureLightweight) {
+          /* routine failure: skip the intermediate exception and its stack trace */
+          throw new CardBrokenCommunicationException(
+              e.getCardResponse(), false, "An unexpected status word was received.", e);
+        }
+        throw e.toUnexpectedStatusWordException();
       }
+
+      /* close the channel if requested */
+      if (channelControl == ChannelControl.CLOSE_AFTER) {
+        releaseChannel();
+      }
+
+      return cardSelectionResponses;
+    } finally {
+      sessionLock.releaseFromInternalTask();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Processes the card selection requests of the plan according to the multi selection policy.
+   *
+   * @param cardSelectionPlan The card selection plan.
+   * @param multiSelectionProcessing The multi selection policy.
+   * @param startNanos The start time of the scenario, from which its time budget is counted.
+   * @param cardSelectionResponses The list to which the responses are added.
+   * @throws ReaderBrokenCommunicationException If the communication with the reader has failed.
+   * @throws CardBrokenCommunicationException If the communication with the card has failed.
+   * @throws UnexpectedStatusWordSignal If status word verification is enabled in the card request
+   *     and the card returned an unexpected code.
+   */
+  private void processCardSelectionPlan(
+      CardSelectionPlanAdapter cardSelectionPlan,
+      MultiSelectionProcessing multiSelectionProcessing,
+      long startNanos,
+      List<CardSelectionResponseApi> cardSelectionResponses)
+      throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
+          UnexpectedStatusWordSignal {
+
+    /* decide at once the filters of all the requests of a large plan */
+    byte[] filterVerdicts = decideFilters(cardSelectionPlan);
+
+    AdaptiveSelectionOrderAdapter selectionOrder = adaptiveSelectionOrder;
+    if (selectionOrder != null
+        && multiSelectionProcessing == MultiSelectionProcessing.FIRST_MATCH) {
+      /* try the requests from the most frequently matched one */
+      processCardSelectionPlanInAdaptiveOrder(
+          cardSelectionPlan, filterVerdicts, selectionOrder, startNanos, cardSelectionResponses);
+      return;
     }
 
     /* loop over all CardRequest provided in the list */
-    for (CardSelectionRequestSpi cardSelectionRequest : cardSelectionRequests) {
+    for (int i = 0; i < cardSelectionPlan.size(); i++) {
+      if (isTimeBudgetExhausted(cardSelectionPlan, startNanos)) {
+        /* the remaining requests are not attempted */
+        for (int j = i; j < cardSelectionPlan.size(); j++) {
+          cardSelectionResponses.add(CardSelectionResponseAdapter.notAttempted());
+        }
+        break;
+      }
       /* process the CardRequest and append the CardResponse list */
       CardSelectionResponseApi cardSelectionResponse =
-          processCardSelectionRequest(cardSelectionRequest);
+          processCardSelectionRequest(
+              cardSelectionPlan.get(i),
+              cardSelectionPlan.getCompiledCardSelector(i),
+              getFilterVerdict(filterVerdicts, i));
       cardSelectionResponses.add(cardSelectionResponse);
+      cardSelectionPlan.notifyCardSelectionResponse(i, cardSelectionResponse);
       if (multiSelectionProcessing == MultiSelectionProcessing.PROCESS_ALL) {
         /* multi CardRequest case: just close the logical channel and go on with the next selection. */
         closeLogicalChannel();
@@ -182,13 +518,118 @@ final List<CardSelectionResponseApi> processCardSelectionRequests(
         }
       }
     }
+  }
 
-    /* close the channel if requested */
-    if (channelControl == ChannelControl.CLOSE_AFTER) {
-      releaseChannel();
+  /**
+   * (private)<br>
+   * Checks if the time budget of the plan is exhausted and counts the overrun if so.
+   *
+   * @param cardSelectionPlan The card selection plan.
+   * @param startNanos The start time of the scenario.
+   * @return False if the plan has no time budget or if it is not exhausted.
+   */
+  private boolean isTimeBudgetExhausted(
+      CardSelectionPlanAdapter cardSelectionPlan, long startNanos) {
+    long timeBudgetMillis = cardSelectionPlan.getTimeBudgetMillis();
+    if (timeBudgetMillis == 0 || System.nanoTime() - startNanos < timeBudgetMillis * 1000000) {
+      return false;
+    }
+    selectionTimeBudgetOverrunCount.incrementAndGet();
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "[{}] selection time budget of {} ms exhausted, remaining requests not attempted.",
+          getName(),
+          timeBudgetMillis);
     }
+    return true;
+  }
 
-    return cardSelectionResponses;
+  /**
+   * (private)<br>
+   * Decides the protocol and power-on data filters of all the requests of the plan with its
+   * decision tree, if it has one.
+   *
+   * @param cardSelectionPlan The card selection plan.
+   * @return Null if the filters have to be evaluated individually.
+   */
+  private byte[] decideFilters(CardSelectionPlanAdapter cardSelectionPlan) {
+    CardSelectionDecisionTreeAdapter decisionTree = cardSelectionPlan.getDecisionTree();
+    if (decisionTree == null) {
+      return null;
+    }
+    PhysicalChannelContext context = getPhysicalChannelContext();
+    return decisionTree.evaluate(context.currentProtocol, context.useDefaultProtocol, context);
+  }
+
+  /**
+   * (private)<br>
+   * Gets the verdict of the decision tree on the filters of a request.
+   *
+   * @param filterVerdicts The verdicts of the decision tree, null if there is none.
+   * @param index The index of the request.
+   * @return {@link CardSelectionDecisionTreeAdapter#UNDECIDED} if there is no decision tree.
+   */
+  private static byte getFilterVerdict(byte[] filterVerdicts, int index) {
+    return filterVerdicts != null
+        ? filterVerdicts[index]
+        : CardSelectionDecisionTreeAdapter.UNDECIDED;
+  }
+
+  /**
+   * (private)<br>
+   * Processes the card selection requests of the plan in the order provided by the adaptive
+   * selection order, stopping at the first match.
+   *
+   * <p>The responses are added under the original indices of the requests, up to the highest index
+   * attempted. The requests that were not attempted are given a response marked as such.<br>
+   * If the time budget of the plan is exhausted, the responses of all the requests are added.
+   *
+   * @param cardSelectionPlan The card selection plan.
+   * @param filterVerdicts The verdicts of the decision tree of the plan, null if it has none.
+   * @param selectionOrder The adaptive selection order of the reader.
+   * @param startNanos The start time of the scenario, from which its time budget is counted.
+   * @param cardSelectionResponses The list to which the responses are added.
+   * @throws ReaderBrokenCommunicationException If the communication with the reader has failed.
+   * @throws CardBrokenCommunicationException If the communication with the card has failed.
+   * @throws UnexpectedStatusWordSignal If status word verification is enabled in the card request
+   *     and the card returned an unexpected code.
+   */
+  private void processCardSelectionPlanInAdaptiveOrder(
+      CardSelectionPlanAdapter cardSelectionPlan,
+      byte[] filterVerdicts,
+      AdaptiveSelectionOrderAdapter selectionOrder,
+      long startNanos,
+      List<CardSelectionResponseApi> cardSelectionResponses)
+      throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
+          UnexpectedStatusWordSignal {
+
+    CardSelectionResponseApi[] responses = new CardSelectionResponseApi[cardSelectionPlan.size()];
+    int highestIndex = -1;
+    for (int index : selectionOrder.getOrder(cardSelectionPlan)) {
+      if (isTimeBudgetExhausted(cardSelectionPlan, startNanos)) {
+        highestIndex = responses.length - 1;
+        break;
+      }
+      responses[index] =
+          processCardSelectionRequest(
+              cardSelectionPlan.get(index),
+              cardSelectionPlan.getCompiledCardSelector(index),
+              getFilterVerdict(filterVerdicts, index));
+      cardSelectionPlan.notifyCardSelectionResponse(index, responses[index]);
+      highestIndex = Math.max(highestIndex, index);
+      if (logicalChannelIsOpen) {
+        /* the logical channel being open, we stop here */
+        selectionOrder.onMatched(index);
+        break;
+      }
+    }
+    for (int i = 0; i <= highestIndex; i++) {
+      if (responses[i] == null) {
+        // not attempted
+        responses[i] = CardSelectionResponseAdapter.notAttempted();
+      }
+      cardSelectionResponses.add(responses[i]);
+    }
   }
 
   /**
@@ -204,17 +645,29 @@ final CardResponseApi processCardRequest(
 
     checkStatus();
 
-    CardResponseApi cardResponse;
+    sessionLock.acquireForInternalTask();
+    try {
+      CardResponseApi cardResponse;
 
-    /* process the CardRequest and keep the CardResponse */
-    cardResponse = processCardRequest(cardRequest);
+      /* the card request may select another file or change the state of the application */
+      forgetSelectedApplication();
 
-    /* close the channel if requested */
-    if (channelControl == ChannelControl.CLOSE_AFTER) {
-      releaseChannel();
-    }
+      /* process the CardRequest and keep the CardResponse */
+      try {
+        cardResponse = processCardRequest(cardRequest);
+      } catch (UnexpectedStatusWordSignal e) {
+        throw e.toUnexpectedStatusWordException();
+      }
+
+      /* close the channel if requested */
+      if (channelControl == ChannelControl.CLOSE_AFTER) {
+        releaseChannel();
+      }
 
-    return cardResponse;
+      return cardResponse;
+    } finally {
+      sessionLock.releaseFromInternalTask();
+    }
   }
 
   /**
@@ -270,33 +723,224 @@ public final void activateProtocol(String readerProtocol, String applicationProt
    * @since 2.0
    */
   @Override
-  public final void deactivateProtocol(String readerProtocol) {
+  public final void deactivateProtocol(String readerProtocol) {
+    checkStatus();
+    Assert.getInstance().notEmpty(readerProtocol, "readerProtocol");
+
+    protocolAssociations.remove(readerProtocol);
+
+    if (!readerSpi.isProtocolSupported(readerProtocol)) {
+      throw new ReaderProtocolNotSupportedException(readerProtocol);
+    }
+
+    readerSpi.deactivateProtocol(readerProtocol);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final void releaseChannel() throws ReaderBrokenCommunicationException {
+    checkStatus();
+    sessionLock.acquireForInternalTask();
+    try {
+      lastCardResponseNanos = NO_CARD_RESPONSE;
+      openSupplementaryLogicalChannels = 0;
+      forgetSelectedApplication();
+      physicalChannelContext = null;
+      try {
+        readerSpi.closePhysicalChannel();
+      } catch (ReaderIOException e) {
+        throw new ReaderBrokenCommunicationException(
+            null, false, "Failed to release the physical channel", e);
+      }
+    } finally {
+      sessionLock.releaseFromInternalTask();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final int openSupplementaryLogicalChannel()
+      throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
+          UnexpectedStatusWordException {
+    checkStatus();
+    sessionLock.acquireForInternalTask();
+    try {
+      if (!readerSpi.isPhysicalChannelOpen()) {
+        throw new IllegalStateException("No card is connected.");
+      }
+      ApduResponseAdapter apduResponse =
+          transmitManageChannelCommand(LogicalChannelUtilAdapter.buildOpenChannelCommand());
+      int logicalChannel =
+          apduResponse.getDataOutLength() == 1 ? apduResponse.getDataOut()[0] & 0xFF : 0;
+      if (logicalChannel < 1 || logicalChannel > LogicalChannelUtilAdapter.MAX_LOGICAL_CHANNEL) {
+        throw new CardBrokenCommunicationException(
+            new CardResponseAdapter(Collections.singletonList(apduResponse), logicalChannelIsOpen),
+            false,
+            "The card provided an invalid logical channel number.");
+      }
+      openSupplementaryLogicalChannels |= 1 << logicalChannel;
+      return logicalChannel;
+    } finally {
+      sessionLock.releaseFromInternalTask();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final void closeSupplementaryLogicalChannel(int logicalChannel)
+      throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
+          UnexpectedStatusWordException {
+    checkStatus();
+    Assert.getInstance()
+        .isInRange(
+            logicalChannel, 1, LogicalChannelUtilAdapter.MAX_LOGICAL_CHANNEL, "logicalChannel");
+    sessionLock.acquireForInternalTask();
+    try {
+      checkSupplementaryLogicalChannelOpen(logicalChannel);
+      transmitManageChannelCommand(
+          LogicalChannelUtilAdapter.buildCloseChannelCommand(logicalChannel));
+      openSupplementaryLogicalChannels &= ~(1 << logicalChannel);
+    } finally {
+      sessionLock.releaseFromInternalTask();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public final CardResponseApi transmitCardRequest(
+      CardRequestSpi cardRequest, int logicalChannel, ChannelControl channelControl)
+      throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
+          UnexpectedStatusWordException {
+    Assert.getInstance()
+        .isInRange(
+            logicalChannel, 0, LogicalChannelUtilAdapter.MAX_LOGICAL_CHANNEL, "logicalChannel");
+    if (logicalChannel == 0) {
+      return transmitCardRequest(cardRequest, channelControl);
+    }
     checkStatus();
-    Assert.getInstance().notEmpty(readerProtocol, "readerProtocol");
+    Assert.getInstance()
+        .notNull(cardRequest, "cardRequest")
+        .notNull(channelControl, "channelControl");
 
-    protocolAssociations.remove(readerProtocol);
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "[{}] transmit on logical channel {} => {}", this.getName(), logicalChannel, cardRequest);
+    }
 
-    if (!readerSpi.isProtocolSupported(readerProtocol)) {
-      throw new ReaderProtocolNotSupportedException(readerProtocol);
+    sessionLock.acquireForInternalTask();
+    try {
+      checkSupplementaryLogicalChannelOpen(logicalChannel);
+
+      CardResponseAdapter cardResponse;
+
+      /* process the CardRequest on the logical channel and keep the CardResponse */
+      currentLogicalChannel = logicalChannel;
+      try {
+        cardResponse = processCardRequest(cardRequest);
+      } catch (UnexpectedStatusWordSignal e) {
+        throw e.toUnexpectedStatusWordException();
+      } finally {
+        currentLogicalChannel = 0;
+      }
+
+      /* close only this logical channel if requested, the other channels staying open */
+      if (channelControl == ChannelControl.CLOSE_AFTER && cardResponse.isLogicalChannelOpen()) {
+        closeSupplementaryLogicalChannel(logicalChannel);
+        cardResponse = cardResponse.withLogicalChannelClosed();
+      }
+
+      return cardResponse;
+    } finally {
+      sessionLock.releaseFromInternalTask();
     }
+  }
 
-    readerSpi.deactivateProtocol(readerProtocol);
+  /**
+   * (private)<br>
+   * Checks that the provided supplementary logical channel is open.
+   *
+   * @param logicalChannel The number of the logical channel.
+   * @throws IllegalStateException If the logical channel is not open.
+   */
+  private void checkSupplementaryLogicalChannelOpen(int logicalChannel) {
+    if ((openSupplementaryLogicalChannels & (1 << logicalChannel)) == 0) {
+      throw new IllegalStateException("The logical channel " + logicalChannel + " is not open.");
+    }
   }
 
   /**
-   * {@inheritDoc}
+   * (private)<br>
+   * Indicates whether the logical channel of the card request being processed is open.
    *
-   * @since 2.0
+   * @return True if the logical channel is open.
    */
-  @Override
-  public final void releaseChannel() throws ReaderBrokenCommunicationException {
-    checkStatus();
+  private boolean isCurrentLogicalChannelOpen() {
+    return currentLogicalChannel == 0
+        ? logicalChannelIsOpen
+        : (openSupplementaryLogicalChannels & (1 << currentLogicalChannel)) != 0;
+  }
+
+  /**
+   * (private)<br>
+   * Transmits a MANAGE CHANNEL command on the basic channel and checks its status word.
+   *
+   * @param command The MANAGE CHANNEL command.
+   * @return A not null reference.
+   * @throws ReaderBrokenCommunicationException If the communication with the reader has failed.
+   * @throws CardBrokenCommunicationException If the communication with the card has failed.
+   * @throws UnexpectedStatusWordException If the card refused the command.
+   */
+  private ApduResponseAdapter transmitManageChannelCommand(byte[] command)
+      throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
+          UnexpectedStatusWordException {
+
+    ApduRequestAdapter apduRequest = new ApduRequestAdapter(command);
+
+    if (logger.isDebugEnabled()) {
+      apduRequest.setInfo("Internal Manage Channel");
+    }
+
+    List<ApduResponseAdapter> apduResponses = new ArrayList<ApduResponseAdapter>(1);
     try {
-      readerSpi.closePhysicalChannel();
+      apduResponses.add(processApduRequest(apduRequest));
     } catch (ReaderIOException e) {
+      closeLogicalAndPhysicalChannelsSilently();
       throw new ReaderBrokenCommunicationException(
-          null, false, "Failed to release the physical channel", e);
+          new CardResponseAdapter(apduResponses, false),
+          false,
+          "Reader communication failure while managing a logical channel.",
+          e);
+    } catch (CardIOException e) {
+      closeLogicalAndPhysicalChannelsSilently();
+      throw new CardBrokenCommunicationException(
+          new CardResponseAdapter(apduResponses, false),
+          false,
+          "Card communication failure while managing a logical channel.",
+          e);
     }
+    if (apduResponses.get(0).getStatusWord() != DEFAULT_SUCCESSFUL_CODE) {
+      throw new UnexpectedStatusWordException(
+          new CardResponseAdapter(apduResponses, logicalChannelIsOpen),
+          true,
+          "The card refused the logical channel management command.");
+    }
+    return apduResponses.get(0);
   }
 
   /**
@@ -308,7 +952,23 @@ public final void releaseChannel() throws ReaderBrokenCommunicationException {
    */
   private void openPhysicalChannelAndSetProtocol() throws ReaderIOException, CardIOException {
     readerSpi.openPhysicalChannel();
-    computeCurrentProtocol();
+    physicalChannelContext = computePhysicalChannelContext();
+  }
+
+  /**
+   * (private)<br>
+   * Gets the context of the physical channel currently open, determining it if the channel was
+   * opened by the reader itself.
+   *
+   * @return A not null reference.
+   */
+  private PhysicalChannelContext getPhysicalChannelContext() {
+    PhysicalChannelContext context = physicalChannelContext;
+    if (context == null) {
+      context = computePhysicalChannelContext();
+      physicalChannelContext = context;
+    }
+    return context;
   }
 
   /**
@@ -319,55 +979,188 @@ private void openPhysicalChannelAndSetProtocol() throws ReaderIOException, CardI
    * @return A not null reference.
    * @throws ReaderBrokenCommunicationException If the communication with the reader has failed.
    * @throws CardBrokenCommunicationException If the communication with the card has failed.
-   * @throws UnexpectedStatusWordException If status word verification is enabled in the card
-   *     request and the card returned an unexpected code.
+   * @throws UnexpectedStatusWordSignal If status word verification is enabled in the card request
+   *     and the card returned an unexpected code.
    */
   private CardResponseAdapter processCardRequest(CardRequestSpi cardRequest)
       throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
-          UnexpectedStatusWordException {
+          UnexpectedStatusWordSignal {
 
     List<ApduResponseAdapter> apduResponses = new ArrayList<ApduResponseAdapter>();
 
-    /* Proceeds with the APDU requests present in the CardRequest */
-    for (ApduRequestSpi apduRequest : cardRequest.getApduRequests()) {
-      try {
-        ApduResponseAdapter apduResponse = processApduRequest(apduRequest);
-        apduResponses.add(apduResponse);
-        if (cardRequest.stopOnUnsuccessfulStatusWord()
-            && !apduRequest.getSuccessfulStatusWords().contains(apduResponse.getStatusWord())) {
-          throw new UnexpectedStatusWordException(
-              new CardResponseAdapter(apduResponses, false),
-              cardRequest.getApduRequests().size() == apduResponses.size(),
-              "Unexpected status word.");
+    try {
+      if (readerSpi instanceof BatchTransmissionReaderSpi) {
+        processApduRequestsInBatches(cardRequest, apduResponses);
+      } else {
+        /* Proceeds with the APDU requests present in the CardRequest */
+        for (ApduRequestSpi apduRequest : cardRequest.getApduRequests()) {
+          ApduResponseAdapter apduResponse = processApduRequest(apduRequest);
+          apduResponses.add(apduResponse);
+          checkStatusWord(cardRequest, apduRequest, apduResponse, apduResponses);
         }
-      } catch (ReaderIOException e) {
-        /*
-         * The process has been interrupted. We close the logical channel and launch a
-         * KeypleReaderException with the Apdu responses collected so far.
-         */
-        closeLogicalAndPhysicalChannelsSilently();
+      }
+    } catch (ReaderIOException e) {
+      /*
+       * The process has been interrupted. We close the logical channel and launch a
+       * KeypleReaderException with the Apdu responses collected so far.
+       */
+      closeLogicalAndPhysicalChannelsSilently();
 
-        throw new ReaderBrokenCommunicationException(
-            new CardResponseAdapter(apduResponses, false),
-            false,
-            "Reader communication failure while transmitting a card request.",
-            e);
-      } catch (CardIOException e) {
-        /*
-         * The process has been interrupted. We close the logical channel and launch a
-         * KeypleReaderException with the Apdu responses collected so far.
-         */
-        closeLogicalAndPhysicalChannelsSilently();
+      throw new ReaderBrokenCommunicationException(
+          new CardResponseAdapter(apduResponses, false),
+          false,
+          "Reader communication failure while transmitting a card request.",
+          e);
+    } catch (CardIOException e) {
+      /*
+       * The process has been interrupted. We close the logical channel and launch a
+       * KeypleReaderException with the Apdu responses collected so far.
+       */
+      closeLogicalAndPhysicalChannelsSilently();
 
-        throw new CardBrokenCommunicationException(
-            new CardResponseAdapter(apduResponses, false),
-            false,
-            "Card communication failure while transmitting a card request.",
-            e);
-      }
+      throw new CardBrokenCommunicationException(
+          new CardResponseAdapter(apduResponses, false),
+          false,
+          "Card communication failure while transmitting a card request.",
+          e);
+    }
+
+    return new CardResponseAdapter(apduResponses, isCurrentLogicalChannelOpen());
+  }
+
+  /**
+   * (private)<br>
+   * Checks the status word of the last response received if the card request requires to stop on an
+   * unsuccessful status word.
+   *
+   * @param cardRequest The card request.
+   * @param apduRequest The last APDU request transmitted.
+   * @param apduResponse The response to the last APDU request.
+   * @param apduResponses The responses collected so far.
+   * @throws UnexpectedStatusWordSignal If the status word is unexpected.
+   */
+  private static void checkStatusWord(
+      CardRequestSpi cardRequest,
+      ApduRequestSpi apduRequest,
+      ApduResponseAdapter apduResponse,
+      List<ApduResponseAdapter> apduResponses)
+      throws UnexpectedStatusWordSignal {
+    if (cardRequest.stopOnUnsuccessfulStatusWord()
+        && !isSuccessfulStatusWord(apduRequest, apduResponse.getStatusWord())) {
+      throw new UnexpectedStatusWordSignal(
+          new CardResponseAdapter(apduResponses, false),
+          cardRequest.getApduRequests().size() == apduResponses.size());
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Indicates whether the provided status word is one of the successful status words of the APDU
+   * request, using the primitive set of the requests built by the service to avoid boxing.
+   *
+   * @param apduRequest The APDU request.
+   * @param statusWord The status word.
+   * @return True if the status word is successful.
+   */
+  private static boolean isSuccessfulStatusWord(ApduRequestSpi apduRequest, int statusWord) {
+    if (apduRequest instanceof ApduRequestAdapter) {
+      return ((ApduRequestAdapter) apduRequest).getSuccessfulStatusWordSet().contains(statusWord);
     }
+    if (apduRequest instanceof DistributedUtilAdapter.ApduRequest) {
+      return ((DistributedUtilAdapter.ApduRequest) apduRequest)
+          .getSuccessfulStatusWordSet()
+          .contains(statusWord);
+    }
+    return apduRequest.getSuccessfulStatusWords().contains(statusWord);
+  }
+
+  /**
+   * (private)<br>
+   * Transmits the APDU requests of the card request using the batch transmission capability of the
+   * reader SPI.
+   *
+   * <p>A batch ends with the first case 4 APDU it contains, so that the outgoing data of the cards
+   * answering such a command without data can be retrieved with a get response command before the
+   * next APDU is transmitted.
+   *
+   * @param cardRequest The card request.
+   * @param apduResponses The list to which the responses are added.
+   * @throws ReaderIOException if the communication with the reader has failed.
+   * @throws CardIOException if the communication with the card has failed or if the reader returned
+   *     an unexpected number of responses.
+   * @throws UnexpectedStatusWordSignal If status word verification is enabled in the card request
+   *     and the card returned an unexpected code.
+   */
+  private void processApduRequestsInBatches(
+      CardRequestSpi cardRequest, List<ApduResponseAdapter> apduResponses)
+      throws ReaderIOException, CardIOException, UnexpectedStatusWordSignal {
+
+    final List<ApduRequestSpi> apduRequests = cardRequest.getApduRequests();
+    int start = 0;
+    while (start < apduRequests.size()) {
+      int end = start;
+      while (end < apduRequests.size() - 1 && !ApduUtil.isCase4(apduRequests.get(end).getApdu())) {
+        end++;
+      }
+      List<byte[]> apdus = new ArrayList<byte[]>(end - start + 1);
+      for (int i = start; i <= end; i++) {
+        apdus.add(
+            LogicalChannelUtilAdapter.encodeLogicalChannel(
+                apduRequests.get(i).getApdu(), currentLogicalChannel));
+      }
+      final int batchStart = start;
+      BatchTransmissionReaderSpi.StatusWordChecker statusWordChecker =
+          cardRequest.stopOnUnsuccessfulStatusWord()
+              ? new BatchTransmissionReaderSpi.StatusWordChecker() {
+                @Override
+                public boolean isSuccessful(int apduIndex, int statusWord) {
+                  return isSuccessfulStatusWord(
+                      apduRequests.get(batchStart + apduIndex), statusWord);
+                }
+              }
+              : null;
+
+      if (logger.isDebugEnabled()) {
+        long timeStamp = System.nanoTime();
+        long elapsed10ms = (timeStamp - before) / 100000;
+        this.before = timeStamp;
+        logger.debug(
+            "[{}] processApduRequests => {}, elapsed {} ms.",
+            this.getName(),
+            apduRequests.subList(start, end + 1),
+            elapsed10ms / 10.0);
+      }
 
-    return new CardResponseAdapter(apduResponses, logicalChannelIsOpen);
+      List<byte[]> responses =
+          ((BatchTransmissionReaderSpi) readerSpi).transmitApdus(apdus, statusWordChecker);
+      lastCardResponseNanos = System.nanoTime();
+
+      int responseCount = Math.min(responses.size(), apdus.size());
+      for (int i = 0; i < responseCount; i++) {
+        ApduRequestSpi apduRequest = apduRequests.get(start + i);
+        ApduResponseAdapter apduResponse = new ApduResponseAdapter(responses.get(i));
+        if (ApduUtil.isCase4(apduRequest.getApdu())
+            && apduResponse.getDataOutLength() == 0
+            && apduResponse.getStatusWord() == DEFAULT_SUCCESSFUL_CODE) {
+          // do the get response command
+          apduResponse = case4HackGetResponse();
+        }
+        if (logger.isDebugEnabled()) {
+          logger.debug("[{}] processApduRequests => {}", this.getName(), apduResponse);
+        }
+        apduResponses.add(apduResponse);
+        checkStatusWord(cardRequest, apduRequest, apduResponse, apduResponses);
+      }
+      if (responses.size() != apdus.size()) {
+        throw new CardIOException(
+            "The reader returned "
+                + responses.size()
+                + " responses to a batch of "
+                + apdus.size()
+                + " APDUs.");
+      }
+      start = end + 1;
+    }
   }
 
   /**
@@ -397,10 +1190,15 @@ private ApduResponseAdapter processApduRequest(ApduRequestSpi apduRequest)
           elapsed10ms / 10.0);
     }
 
-    apduResponse = new ApduResponseAdapter(readerSpi.transmitApdu(apduRequest.getApdu()));
+    apduResponse =
+        new ApduResponseAdapter(
+            readerSpi.transmitApdu(
+                LogicalChannelUtilAdapter.encodeLogicalChannel(
+                    apduRequest.getApdu(), currentLogicalChannel)));
+    lastCardResponseNanos = System.nanoTime();
 
     if (ApduUtil.isCase4(apduRequest.getApdu())
-        && apduResponse.getDataOut().length == 0
+        && apduResponse.getDataOutLength() == 0
         && apduResponse.getStatusWord() == DEFAULT_SUCCESSFUL_CODE) {
       // do the get response command
       apduResponse = case4HackGetResponse();
@@ -433,6 +1231,9 @@ private ApduResponseAdapter processApduRequest(ApduRequestSpi apduRequest)
    */
   private ApduResponseAdapter case4HackGetResponse() throws ReaderIOException, CardIOException {
 
+    byte[] getResponseApdu =
+        LogicalChannelUtilAdapter.encodeLogicalChannel(APDU_GET_RESPONSE, currentLogicalChannel);
+
     if (logger.isDebugEnabled()) {
       long timeStamp = System.nanoTime();
       long elapsed10ms = (timeStamp - before) / 100000;
@@ -440,11 +1241,11 @@ private ApduResponseAdapter case4HackGetResponse() throws ReaderIOException, Car
       logger.debug(
           "[{}] case4HackGetResponse => ApduRequest: NAME = \"Internal Get Response\", RAWDATA = {}, elapsed = {}",
           this.getName(),
-          ByteArrayUtil.toHex(APDU_GET_RESPONSE),
+          ByteArrayUtil.toHex(getResponseApdu),
           elapsed10ms / 10.0);
     }
 
-    byte[] getResponseHackResponseBytes = readerSpi.transmitApdu(APDU_GET_RESPONSE);
+    byte[] getResponseHackResponseBytes = readerSpi.transmitApdu(getResponseApdu);
 
     ApduResponseAdapter getResponseHackResponse =
         new ApduResponseAdapter(getResponseHackResponseBytes);
@@ -465,23 +1266,33 @@ private ApduResponseAdapter case4HackGetResponse() throws ReaderIOException, Car
 
   /**
    * (private)<br>
-   * Attempts to select the card and executes the optional requests if any.
+   * Attempts to select the card, unless the application is already selected and can be reused, and
+   * executes the optional requests if any.
    *
    * @param cardSelectionRequest The {@link CardSelectionRequestSpi} to be processed.
+   * @param cardSelector The compiled selector of the request.
+   * @param filterVerdict The verdict of the decision tree on the filters of the selector.
    * @return A not null reference.
    * @throws ReaderBrokenCommunicationException If the communication with the reader has failed.
    * @throws CardBrokenCommunicationException If the communication with the card has failed.
-   * @throws UnexpectedStatusWordException If status word verification is enabled in the card
-   *     request and the card returned an unexpected code.
+   * @throws UnexpectedStatusWordSignal If status word verification is enabled in the card request
+   *     and the card returned an unexpected code.
    */
   private CardSelectionResponseApi processCardSelectionRequest(
-      CardSelectionRequestSpi cardSelectionRequest)
+      CardSelectionRequestSpi cardSelectionRequest,
+      CompiledCardSelectorAdapter cardSelector,
+      byte filterVerdict)
       throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
-          UnexpectedStatusWordException {
+          UnexpectedStatusWordSignal {
 
-    SelectionStatus selectionStatus;
+    SelectionStatus selectionStatus = getReusableSelectionStatus(cardSelector);
+    if (selectionStatus != null) {
+      // the application is already selected, only the optional requests are processed
+      return processCardSelectionRequest(cardSelectionRequest, selectionStatus);
+    }
+    forgetSelectedApplication();
     try {
-      selectionStatus = processSelection(cardSelectionRequest.getCardSelector());
+      selectionStatus = processSelection(cardSelector, filterVerdict);
     } catch (ReaderIOException e) {
       throw new ReaderBrokenCommunicationException(
           new CardResponseAdapter(new ArrayList<ApduResponseAdapter>(), false),
@@ -495,6 +1306,33 @@ private CardSelectionResponseApi processCardSelectionRequest(
           e.getMessage(),
           e);
     }
+    if (selectionStatus.hasMatched
+        && isSelectedApplicationReuseEnabled
+        && cardSelector.isApplicationSelectionRepeatable()) {
+      selectedApplicationSelector = cardSelector;
+      selectedApplicationStatus = selectionStatus;
+    }
+    return processCardSelectionRequest(cardSelectionRequest, selectionStatus);
+  }
+
+  /**
+   * (private)<br>
+   * Completes the processing of a card selection request according to the selection status and
+   * executes the optional requests if the card matched.
+   *
+   * @param cardSelectionRequest The {@link CardSelectionRequestSpi} to be processed.
+   * @param selectionStatus The selection status.
+   * @return A not null reference.
+   * @throws ReaderBrokenCommunicationException If the communication with the reader has failed.
+   * @throws CardBrokenCommunicationException If the communication with the card has failed.
+   * @throws UnexpectedStatusWordSignal If status word verification is enabled in the card request
+   *     and the card returned an unexpected code.
+   */
+  private CardSelectionResponseApi processCardSelectionRequest(
+      CardSelectionRequestSpi cardSelectionRequest, SelectionStatus selectionStatus)
+      throws ReaderBrokenCommunicationException, CardBrokenCommunicationException,
+          UnexpectedStatusWordSignal {
+
     if (!selectionStatus.hasMatched) {
       // the selection failed, return an empty response having the selection status
       return new CardSelectionResponseAdapter(
@@ -520,7 +1358,7 @@ private CardSelectionResponseApi processCardSelectionRequest(
 
   /**
    * (private)<br>
-   * Select the card according to the {@link CardSelectorSpi}.
+   * Select the card according to the {@link CompiledCardSelectorAdapter}.
    *
    * <p>The selection status is returned.<br>
    * 3 levels of filtering/selection are applied successively if they are enabled: protocol, power
@@ -530,51 +1368,71 @@ private CardSelectionResponseApi processCardSelectionRequest(
    * <p>Conversely, the selection is considered successful if none of the filters have rejected the
    * card, even if none of the filters are active.
    *
-   * @param cardSelector A not null {@link CardSelectorSpi}.
+   * <p>The protocol and power-on data filters are not evaluated again if they have already been
+   * decided by the decision tree of the card selection plan.
+   *
+   * @param cardSelector A not null {@link CompiledCardSelectorAdapter}.
+   * @param filterVerdict The verdict of the decision tree on the filters of the selector, {@link
+   *     CardSelectionDecisionTreeAdapter#UNDECIDED} if they have to be evaluated.
    * @return A not null {@link SelectionStatus}.
    * @throws ReaderIOException if the communication with the reader has failed.
    * @throws CardIOException if the communication with the card has failed.
    */
-  private SelectionStatus processSelection(CardSelectorSpi cardSelector)
+  private SelectionStatus processSelection(
+      CompiledCardSelectorAdapter cardSelector, byte filterVerdict)
       throws CardIOException, ReaderIOException {
 
-    String powerOnData;
-    ApduResponseAdapter fciResponse;
-    boolean hasMatched = true;
-
-    if (cardSelector.getCardProtocol() != null && useDefaultProtocol) {
-      throw new IllegalStateException(
-          "Protocol " + cardSelector.getCardProtocol() + " not associated to a reader protocol.");
+    PhysicalChannelContext context = getPhysicalChannelContext();
+    if (filterVerdict == CardSelectionDecisionTreeAdapter.UNDECIDED) {
+      filterVerdict = checkFilters(cardSelector, context);
     }
 
-    // check protocol if enabled
-    if (cardSelector.getCardProtocol() == null
-        || cardSelector.getCardProtocol().equals(currentProtocol)) {
-      // protocol check succeeded, check power-on data if enabled
-      powerOnData = readerSpi.getPowerOnData();
-      if (checkPowerOnData(powerOnData, cardSelector)) {
+    switch (filterVerdict) {
+      case CardSelectionDecisionTreeAdapter.PROTOCOL_NOT_ASSOCIATED:
+        throw new IllegalStateException(
+            "Protocol " + cardSelector.getCardProtocol() + " not associated to a reader protocol.");
+      case CardSelectionDecisionTreeAdapter.PROTOCOL_REJECTED:
+        // protocol failed
+        return new SelectionStatus(null, null, false);
+      case CardSelectionDecisionTreeAdapter.POWER_ON_DATA_REJECTED:
+        // check failed
+        return new SelectionStatus(context.getPowerOnData(), null, false);
+      default:
         // no power-on data filter or power-on data check succeeded, select by AID if enabled.
+        ApduResponseAdapter fciResponse;
+        boolean hasMatched = true;
         if (cardSelector.getAid() != null) {
           fciResponse = selectByAid(cardSelector);
-          hasMatched =
-              cardSelector
-                  .getSuccessfulSelectionStatusWords()
-                  .contains(fciResponse.getStatusWord());
+          hasMatched = cardSelector.isSuccessfulSelectionStatusWord(fciResponse.getStatusWord());
         } else {
           fciResponse = null;
         }
-      } else {
-        // check failed
-        hasMatched = false;
-        fciResponse = null;
-      }
-    } else {
-      // protocol failed
-      powerOnData = null;
-      fciResponse = null;
-      hasMatched = false;
+        return new SelectionStatus(context.getPowerOnData(), fciResponse, hasMatched);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Evaluates the protocol and power-on data filters of the provided selector.
+   *
+   * @param cardSelector The card selector.
+   * @param context The context of the physical channel.
+   * @return The verdict, as defined by {@link CardSelectionDecisionTreeAdapter}.
+   */
+  private byte checkFilters(
+      CompiledCardSelectorAdapter cardSelector, PhysicalChannelContext context) {
+    if (cardSelector.getCardProtocol() != null && context.useDefaultProtocol) {
+      return CardSelectionDecisionTreeAdapter.PROTOCOL_NOT_ASSOCIATED;
+    }
+    // check protocol if enabled
+    if (cardSelector.getCardProtocol() != null
+        && !cardSelector.getCardProtocol().equals(context.currentProtocol)) {
+      return CardSelectionDecisionTreeAdapter.PROTOCOL_REJECTED;
     }
-    return new SelectionStatus(powerOnData, fciResponse, hasMatched);
+    // protocol check succeeded, check power-on data if enabled
+    return context.acceptsPowerOnData(context.getPowerOnData(), cardSelector)
+        ? CardSelectionDecisionTreeAdapter.ACCEPTED
+        : CardSelectionDecisionTreeAdapter.POWER_ON_DATA_REJECTED;
   }
 
   /**
@@ -583,21 +1441,27 @@ private SelectionStatus processSelection(CardSelectorSpi cardSelector)
    *
    * <p>Returns true if the power-on data is accepted by the filter.
    *
+   * @param currentProtocol The current protocol.
    * @param powerOnData A String containing the power-on data.
    * @param cardSelector The card selector.
    * @return True or false.
    * @throws IllegalStateException if no power-on data is available and the PowerOnDataFilter is
    *     set.
-   * @see #processSelection(CardSelectorSpi)
+   * @see #processSelection(CompiledCardSelectorAdapter, byte)
    */
-  private boolean checkPowerOnData(String powerOnData, CardSelectorSpi cardSelector) {
+  private boolean checkPowerOnData(
+      String currentProtocol, String powerOnData, CompiledCardSelectorAdapter cardSelector) {
 
     if (logger.isDebugEnabled()) {
       logger.debug("[{}] openLogicalChannel => PowerOnData = {}", this.getName(), powerOnData);
     }
-    String powerOnDataRegex = cardSelector.getPowerOnDataRegex();
-    // check the power-on data
-    if (powerOnData != null && powerOnDataRegex != null && !powerOnData.matches(powerOnDataRegex)) {
+    // check the power-on data, unless this card type is already known to be rejected
+    PowerOnDataNegativeCacheAdapter cache = powerOnDataNegativeCache;
+    boolean isAccepted =
+        cache != null
+            ? cache.acceptsPowerOnData(currentProtocol, powerOnData, cardSelector)
+            : cardSelector.acceptsPowerOnData(powerOnData);
+    if (!isAccepted) {
       if (logger.isInfoEnabled()) {
         logger.info(
             "[{}] openLogicalChannel => Power-on data didn't match. PowerOnData = {}, regex filter = {}",
@@ -619,20 +1483,17 @@ private boolean checkPowerOnData(String powerOnData, CardSelectorSpi cardSelecto
    *
    * @param cardSelector The card selector.
    * @return An not null {@link ApduResponseApi} containing the FCI.
-   * @see #processSelection(CardSelectorSpi)
+   * @see #processSelection(CompiledCardSelectorAdapter, byte)
    */
-  private ApduResponseAdapter selectByAid(CardSelectorSpi cardSelector)
+  private ApduResponseAdapter selectByAid(CompiledCardSelectorAdapter cardSelector)
       throws CardIOException, ReaderIOException {
 
     ApduResponseAdapter fciResponse;
 
     if (readerSpi instanceof AutonomousSelectionReaderSpi) {
-      byte[] aid = cardSelector.getAid();
-      byte p2 =
-          computeSelectApplicationP2(
-              cardSelector.getFileOccurrence(), cardSelector.getFileControlInformation());
       byte[] selectionDataBytes =
-          ((AutonomousSelectionReaderSpi) readerSpi).openChannelForAid(aid, p2);
+          ((AutonomousSelectionReaderSpi) readerSpi)
+              .openChannelForAid(cardSelector.getAid(), cardSelector.getSelectApplicationP2());
       fciResponse = new ApduResponseAdapter(selectionDataBytes);
     } else {
       fciResponse = processExplicitAidSelection(cardSelector);
@@ -650,34 +1511,19 @@ private ApduResponseAdapter selectByAid(CardSelectorSpi cardSelector)
    * @throws ReaderIOException if the communication with the reader has failed.
    * @throws CardIOException if the communication with the card has failed.
    */
-  private ApduResponseAdapter processExplicitAidSelection(CardSelectorSpi cardSelector)
+  private ApduResponseAdapter processExplicitAidSelection(CompiledCardSelectorAdapter cardSelector)
       throws CardIOException, ReaderIOException {
 
-    final byte[] aid = cardSelector.getAid();
     if (logger.isDebugEnabled()) {
       logger.debug(
           "[{}] openLogicalChannel => Select Application with AID = {}",
           this.getName(),
-          ByteArrayUtil.toHex(aid));
+          ByteArrayUtil.toHex(cardSelector.getAid()));
     }
-    /*
-     * build a get response command the actual length expected by the card in the get response
-     * command is handled in transmitApdu
-     */
-    byte[] selectApplicationCommand = new byte[6 + aid.length];
-    selectApplicationCommand[0] = (byte) 0x00; // CLA
-    selectApplicationCommand[1] = (byte) 0xA4; // INS
-    selectApplicationCommand[2] = (byte) 0x04; // P1: select by name
-    // P2: b0,b1 define the File occurrence, b2,b3 define the File control information
-    // we use the bitmask defined in the respective enums
-    selectApplicationCommand[3] =
-        computeSelectApplicationP2(
-            cardSelector.getFileOccurrence(), cardSelector.getFileControlInformation());
-    selectApplicationCommand[4] = (byte) (aid.length); // Lc
-    System.arraycopy(aid, 0, selectApplicationCommand, 5, aid.length); // data
-    selectApplicationCommand[5 + aid.length] = (byte) 0x00; // Le
-
-    ApduRequestAdapter apduRequest = new ApduRequestAdapter(selectApplicationCommand);
+
+    // the command is built once when the selector is compiled
+    ApduRequestAdapter apduRequest =
+        new ApduRequestAdapter(cardSelector.getSelectApplicationCommand());
 
     if (logger.isDebugEnabled()) {
       apduRequest.setInfo("Internal Select Application");
@@ -686,57 +1532,6 @@ private ApduResponseAdapter processExplicitAidSelection(CardSelectorSpi cardSele
     return processApduRequest(apduRequest);
   }
 
-  /**
-   * (private)<br>
-   * Computes the P2 parameter of the ISO7816-4 Select Application APDU command from the provided
-   * FileOccurrence and FileControlInformation.
-   *
-   * @param fileOccurrence The file's position relative to the current file.
-   * @param fileControlInformation The file control information output.
-   * @throws IllegalStateException If one of the provided argument is unexpected.
-   */
-  private byte computeSelectApplicationP2(
-      CardSelectorSpi.FileOccurrence fileOccurrence,
-      CardSelectorSpi.FileControlInformation fileControlInformation) {
-
-    byte p2;
-    switch (fileOccurrence) {
-      case FIRST:
-        p2 = (byte) 0x00;
-        break;
-      case LAST:
-        p2 = (byte) 0x01;
-        break;
-      case NEXT:
-        p2 = (byte) 0x02;
-        break;
-      case PREVIOUS:
-        p2 = (byte) 0x03;
-        break;
-      default:
-        throw new IllegalStateException("Unexpected value: " + fileOccurrence);
-    }
-
-    switch (fileControlInformation) {
-      case FCI:
-        p2 |= (byte) 0x00;
-        break;
-      case FCP:
-        p2 |= (byte) 0x04;
-        break;
-      case FMD:
-        p2 |= (byte) 0x08;
-        break;
-      case NO_RESPONSE:
-        p2 |= (byte) 0x0C;
-        break;
-      default:
-        throw new IllegalStateException("Unexpected value: " + fileControlInformation);
-    }
-
-    return p2;
-  }
-
   /**
    * (private)<br>
    * Close the logical channel.
@@ -750,39 +1545,79 @@ private void closeLogicalChannel() {
       ((AutonomousSelectionReaderSpi) readerSpi).closeLogicalChannel();
     }
     logicalChannelIsOpen = false;
+    forgetSelectedApplication();
+  }
+
+  /**
+   * (private)<br>
+   * Forgets the application selected on the basic channel, which can no longer be reused.
+   */
+  private void forgetSelectedApplication() {
+    selectedApplicationSelector = null;
+    selectedApplicationStatus = null;
+  }
+
+  /**
+   * (private)<br>
+   * Gets the status of the application already selected on the basic channel if the provided
+   * selector would select it again.
+   *
+   * @param cardSelector The card selector.
+   * @return Null if the application selection has to be performed.
+   */
+  private SelectionStatus getReusableSelectionStatus(CompiledCardSelectorAdapter cardSelector) {
+    CompiledCardSelectorAdapter selector = selectedApplicationSelector;
+    if (selector == null
+        || !isSelectedApplicationReuseEnabled
+        || !logicalChannelIsOpen
+        || !readerSpi.isPhysicalChannelOpen()
+        || !selector.hasSameSelectionAs(cardSelector)
+        || !cardSelector.isSuccessfulSelectionStatusWord(
+            selectedApplicationStatus.selectApplicationResponse.getStatusWord())) {
+      return null;
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "[{}] openLogicalChannel => Application with AID = {} already selected",
+          this.getName(),
+          ByteArrayUtil.toHex(cardSelector.getAid()));
+    }
+    return selectedApplicationStatus;
   }
 
   /**
    * (private)<br>
-   * Determines the current protocol used by the card.
+   * Determines the current protocol used by the card and creates the context of the physical
+   * channel.
    *
    * <p>The Map {@link #protocolAssociations} containing the protocol names (reader and application)
    * is iterated and the reader protocol (key of the Map) is checked with the reader.<br>
    *
    * <p>If the Map is not empty:
-   * <li>The boolean {@link #useDefaultProtocol} is set to false.
+   * <li>The default protocol is not used.
    * <li>If the test provided by the reader SPI is positive (the protocol presented is the one used
-   *     by the current card) then the field {@link #currentProtocol} is set with the name of the
-   *     protocol known to the application.
-   * <li>If none of the protocols present in the Map matches then the {@link #currentProtocol} is
-   *     set to null.
+   *     by the current card) then the current protocol is set with the name of the protocol known
+   *     to the application, and the iteration stops.
+   * <li>If none of the protocols present in the Map matches then the current protocol is set to
+   *     null.
    * </ul>
    *
-   * <p>If the Map is empty, no other check is done, the String field {@link #currentProtocol} is
-   * set to null and the boolean field {@link #useDefaultProtocol} is set to true.
+   * <p>If the Map is empty, no other check is done, the current protocol is set to null and the
+   * default protocol is used.
+   *
+   * @return A not null reference.
    */
-  private void computeCurrentProtocol() {
-    currentProtocol = null;
+  private PhysicalChannelContext computePhysicalChannelContext() {
     if (protocolAssociations.size() == 0) {
-      useDefaultProtocol = true;
-    } else {
-      useDefaultProtocol = false;
-      for (Map.Entry<String, String> entry : protocolAssociations.entrySet()) {
-        if (readerSpi.isCurrentProtocol(entry.getKey())) {
-          currentProtocol = entry.getValue();
-        }
+      return new PhysicalChannelContext(null, true);
+    }
+    for (Map.Entry<String, String> entry : protocolAssociations.entrySet()) {
+      if (readerSpi.isCurrentProtocol(entry.getKey())) {
+        // a card uses only one protocol at a time
+        return new PhysicalChannelContext(entry.getValue(), false);
       }
     }
+    return new PhysicalChannelContext(null, false);
   }
 
   /**
@@ -809,4 +1644,107 @@ private static class SelectionStatus {
       this.hasMatched = hasMatched;
     }
   }
+
+  /**
+   * (private)<br>
+   * Information about the card connected through the physical channel currently open, determined
+   * once for all the card selectors processed until the channel is closed.
+   */
+  private final class PhysicalChannelContext
+      implements CardSelectionDecisionTreeAdapter.PowerOnDataEvaluator {
+
+    private final String currentProtocol;
+    private final boolean useDefaultProtocol;
+    private String powerOnData;
+    private boolean isPowerOnDataRead;
+
+    /**
+     * Constructor.
+     *
+     * @param currentProtocol The application protocol of the card (optional).
+     * @param useDefaultProtocol True if no protocol association is defined.
+     */
+    PhysicalChannelContext(String currentProtocol, boolean useDefaultProtocol) {
+      this.currentProtocol = currentProtocol;
+      this.useDefaultProtocol = useDefaultProtocol;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The power-on data is read from the reader on the first call only.
+     */
+    @Override
+    public String getPowerOnData() {
+      if (!isPowerOnDataRead) {
+        powerOnData = readerSpi.getPowerOnData();
+        isPowerOnDataRead = true;
+      }
+      return powerOnData;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The power-on data negative cache of the reader is used if enabled.
+     */
+    @Override
+    public boolean acceptsPowerOnData(
+        String powerOnData, CompiledCardSelectorAdapter cardSelector) {
+      return checkPowerOnData(currentProtocol, powerOnData, cardSelector);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Internal signal of an unexpected status word, converted into the exception expected by the
+   * caller at the boundaries of the adapter.
+   *
+   * <p>The stack trace is not captured since it is never exposed.
+   */
+  private static final class UnexpectedStatusWordSignal extends Exception {
+
+    private final transient CardResponseAdapter cardResponse;
+    private final boolean isCardResponseComplete;
+
+    /**
+     * Constructor.
+     *
+     * @param cardResponse The responses received so far.
+     * @param isCardResponseComplete True if all the APDU requests have been transmitted.
+     */
+    UnexpectedStatusWordSignal(CardResponseAdapter cardResponse, boolean isCardResponseComplete) {
+      super("Unexpected status word.");
+      this.cardResponse = cardResponse;
+      this.isCardResponseComplete = isCardResponseComplete;
+    }
+
+    /**
+     * Gets the responses received so far.
+     *
+     * @return A not null reference.
+     */
+    CardResponseAdapter getCardResponse() {
+      return cardResponse;
+    }
+
+    /**
+     * Builds the public exception corresponding to this signal.
+     *
+     * @return A not null reference.
+     */
+    UnexpectedStatusWordException toUnexpectedStatusWordException() {
+      return new UnexpectedStatusWordException(cardResponse, isCardResponseComplete, getMessage());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>No stack trace is captured.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+  }
 }
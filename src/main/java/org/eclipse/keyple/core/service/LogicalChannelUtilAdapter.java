@@ -0,0 +1,109 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+/**
+ * (package-private)<br>
+ * Utility class for the management of the ISO 7816-4 logical channels.
+ *
+ * <p>The logical channel of a command is encoded in its class byte: the channels 0 to 3 in the
+ * first interindustry form, the channels 4 to 19 in the further interindustry form. The proprietary
+ * class bytes are left unchanged.
+ *
+ * @since 2.0
+ */
+final class LogicalChannelUtilAdapter {
+
+  /** highest logical channel number defined by ISO 7816-4 */
+  static final int MAX_LOGICAL_CHANNEL = 19;
+
+  private static final byte CLA_PROPRIETARY_MASK = (byte) 0x80;
+  private static final byte CLA_FURTHER_INTERINDUSTRY = (byte) 0x40;
+  private static final byte CLA_CHAINING = (byte) 0x10;
+  private static final byte CLA_FIRST_CHANNEL_MASK = (byte) 0x03;
+  private static final byte CLA_FIRST_SECURE_MESSAGING_MASK = (byte) 0x0C;
+  private static final byte CLA_FIRST_SECURE_MESSAGING = (byte) 0x08;
+  private static final byte CLA_FURTHER_SECURE_MESSAGING = (byte) 0x20;
+  private static final byte INS_MANAGE_CHANNEL = (byte) 0x70;
+  private static final byte P1_CLOSE_CHANNEL = (byte) 0x80;
+
+  /**
+   * (private)<br>
+   * Constructor.
+   */
+  private LogicalChannelUtilAdapter() {}
+
+  /**
+   * (package-private)<br>
+   * Builds the MANAGE CHANNEL command opening a logical channel whose number is assigned by the
+   * card.
+   *
+   * @return A not null array.
+   * @since 2.0
+   */
+  static byte[] buildOpenChannelCommand() {
+    return new byte[] {(byte) 0x00, INS_MANAGE_CHANNEL, (byte) 0x00, (byte) 0x00, (byte) 0x01};
+  }
+
+  /**
+   * (package-private)<br>
+   * Builds the MANAGE CHANNEL command closing the provided logical channel.
+   *
+   * @param logicalChannel The number of the logical channel to close (1 to 19).
+   * @return A not null array.
+   * @since 2.0
+   */
+  static byte[] buildCloseChannelCommand(int logicalChannel) {
+    return new byte[] {(byte) 0x00, INS_MANAGE_CHANNEL, P1_CLOSE_CHANNEL, (byte) logicalChannel};
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the provided command with its class byte indicating the provided logical channel.
+   *
+   * @param apdu The command.
+   * @param logicalChannel The number of the logical channel (0 to 19).
+   * @return The provided array itself for the basic channel or a proprietary class, a modified copy
+   *     otherwise.
+   * @since 2.0
+   */
+  static byte[] encodeLogicalChannel(byte[] apdu, int logicalChannel) {
+    byte cla = apdu[0];
+    if (logicalChannel == 0 || (cla & CLA_PROPRIETARY_MASK) != 0) {
+      return apdu;
+    }
+    // the chaining and secure messaging indications are kept
+    boolean isFirstForm = (cla & CLA_FURTHER_INTERINDUSTRY) == 0;
+    int encodedCla;
+    if (logicalChannel <= 3) {
+      encodedCla =
+          isFirstForm
+              ? (cla & ~CLA_FIRST_CHANNEL_MASK) | logicalChannel
+              : (cla & CLA_CHAINING)
+                  | ((cla & CLA_FURTHER_SECURE_MESSAGING) != 0 ? CLA_FIRST_SECURE_MESSAGING : 0)
+                  | logicalChannel;
+    } else {
+      boolean isSecureMessaging =
+          isFirstForm
+              ? (cla & CLA_FIRST_SECURE_MESSAGING_MASK) != 0
+              : (cla & CLA_FURTHER_SECURE_MESSAGING) != 0;
+      encodedCla =
+          CLA_FURTHER_INTERINDUSTRY
+              | (cla & CLA_CHAINING)
+              | (isSecureMessaging ? CLA_FURTHER_SECURE_MESSAGING : 0)
+              | (logicalChannel - 4);
+    }
+    byte[] encodedApdu = apdu.clone();
+    encodedApdu[0] = (byte) encodedCla;
+    return encodedApdu;
+  }
+}
@@ -0,0 +1,151 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * (package-private)<br>
+ * Records the dwell time in each {@link AbstractObservableStateAdapter.MonitoringState} and the
+ * transitions between states of an {@link ObservableLocalReaderAdapter}.
+ *
+ * <p>The dwell times are counted in a histogram with power of two buckets: bucket 0 counts the
+ * dwell times lower than 1 ms, bucket i counts the dwell times in [2<sup>i-1</sup>, 2<sup>i</sup>[
+ * ms and the last bucket counts all the longer dwell times.
+ *
+ * <p>The recording is made without allocation, by a single thread at a time (the one running the
+ * state machine), whereas the values can be read at any time from any thread.
+ *
+ * @since 2.0
+ */
+final class MonitoringStateMetricsAdapter {
+
+  /**
+   * (package-private)<br>
+   * Number of buckets of the dwell time histograms.
+   *
+   * @since 2.0
+   */
+  static final int HISTOGRAM_BUCKET_COUNT = 24;
+
+  private static final int STATE_COUNT =
+      AbstractObservableStateAdapter.MonitoringState.values().length;
+  private static final long NANOS_PER_MILLI = 1000000L;
+
+  private final AtomicLongArray dwellTimeHistograms =
+      new AtomicLongArray(STATE_COUNT * HISTOGRAM_BUCKET_COUNT);
+  private final AtomicLongArray totalDwellTimesNanos = new AtomicLongArray(STATE_COUNT);
+  private final AtomicLongArray maxDwellTimesNanos = new AtomicLongArray(STATE_COUNT);
+  private final AtomicLongArray transitionCounts = new AtomicLongArray(STATE_COUNT * STATE_COUNT);
+
+  private AbstractObservableStateAdapter.MonitoringState currentState;
+  private long currentStateEntryNanos;
+
+  /**
+   * (package-private)<br>
+   * Records a transition to the provided state at the provided time and the dwell time in the
+   * previous state if any.
+   *
+   * @param nextState The state entered.
+   * @param timestampNanos The time of the transition, as given by {@link System#nanoTime()}.
+   * @since 2.0
+   */
+  void onStateEntered(
+      AbstractObservableStateAdapter.MonitoringState nextState, long timestampNanos) {
+    AbstractObservableStateAdapter.MonitoringState previousState = currentState;
+    if (previousState != null) {
+      int from = previousState.ordinal();
+      long dwellTimeNanos = timestampNanos - currentStateEntryNanos;
+      dwellTimeHistograms.incrementAndGet(
+          from * HISTOGRAM_BUCKET_COUNT + getBucketIndex(dwellTimeNanos));
+      totalDwellTimesNanos.addAndGet(from, dwellTimeNanos);
+      if (dwellTimeNanos > maxDwellTimesNanos.get(from)) {
+        maxDwellTimesNanos.set(from, dwellTimeNanos);
+      }
+      transitionCounts.incrementAndGet(from * STATE_COUNT + nextState.ordinal());
+    }
+    currentState = nextState;
+    currentStateEntryNanos = timestampNanos;
+  }
+
+  /**
+   * (private)<br>
+   * Computes the index of the histogram bucket matching the provided dwell time.
+   *
+   * @param dwellTimeNanos The dwell time in nanoseconds.
+   * @return An int in the range [0, {@link #HISTOGRAM_BUCKET_COUNT}[.
+   */
+  private static int getBucketIndex(long dwellTimeNanos) {
+    long dwellTimeMillis = dwellTimeNanos / NANOS_PER_MILLI;
+    if (dwellTimeMillis <= 0) {
+      return 0;
+    }
+    int index = 64 - Long.numberOfLeadingZeros(dwellTimeMillis);
+    return index < HISTOGRAM_BUCKET_COUNT ? index : HISTOGRAM_BUCKET_COUNT - 1;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets a copy of the dwell time histogram of the provided state.
+   *
+   * @param state The state.
+   * @return A not null array of {@link #HISTOGRAM_BUCKET_COUNT} counters.
+   * @since 2.0
+   */
+  long[] getDwellTimeHistogram(AbstractObservableStateAdapter.MonitoringState state) {
+    long[] histogram = new long[HISTOGRAM_BUCKET_COUNT];
+    int offset = state.ordinal() * HISTOGRAM_BUCKET_COUNT;
+    for (int i = 0; i < HISTOGRAM_BUCKET_COUNT; i++) {
+      histogram[i] = dwellTimeHistograms.get(offset + i);
+    }
+    return histogram;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the total time spent in the provided state, excluding the current stay.
+   *
+   * @param state The state.
+   * @return A positive long representing a number of milliseconds.
+   * @since 2.0
+   */
+  long getTotalDwellTimeMillis(AbstractObservableStateAdapter.MonitoringState state) {
+    return totalDwellTimesNanos.get(state.ordinal()) / NANOS_PER_MILLI;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the longest completed stay in the provided state.
+   *
+   * @param state The state.
+   * @return A positive long representing a number of milliseconds.
+   * @since 2.0
+   */
+  long getMaxDwellTimeMillis(AbstractObservableStateAdapter.MonitoringState state) {
+    return maxDwellTimesNanos.get(state.ordinal()) / NANOS_PER_MILLI;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the number of transitions from a state to another.
+   *
+   * @param fromState The origin state.
+   * @param toState The target state.
+   * @return A positive long.
+   * @since 2.0
+   */
+  long getTransitionCount(
+      AbstractObservableStateAdapter.MonitoringState fromState,
+      AbstractObservableStateAdapter.MonitoringState toState) {
+    return transitionCounts.get(fromState.ordinal() * STATE_COUNT + toState.ordinal());
+  }
+}
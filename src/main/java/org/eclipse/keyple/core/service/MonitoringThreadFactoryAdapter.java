@@ -0,0 +1,127 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * (package-private)<br>
+ * Factory of the threads used by the service to run the monitoring tasks that may block for a long
+ * time (blocking card insertion/removal monitoring jobs, plugin monitoring).
+ *
+ * <p>By default, the threads are regular platform threads. The use of virtual threads can be
+ * enabled by setting the system property {@value #VIRTUAL_THREADS_PROPERTY} to "true"; it is only
+ * effective if the runtime supports them (Java 21 and later).<br>
+ * Since the service is built for Java 6, virtual threads are accessed through reflection.
+ *
+ * <p>Note that a virtual thread blocked in native code, as in the blocking card detection methods
+ * of the PC/SC-like plugins relying on JNI, pins the platform thread carrying it. Virtual threads
+ * should therefore only be enabled if the blocking methods of the plugins in use do not block in
+ * native code, otherwise a few hundred waiting readers may occupy all the carrier threads and stall
+ * every other virtual thread of the application.
+ *
+ * @since 2.0
+ */
+final class MonitoringThreadFactoryAdapter implements ThreadFactory {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(MonitoringThreadFactoryAdapter.class);
+
+  /**
+   * (package-private)<br>
+   * Name of the system property allowing to enable the use of virtual threads.
+   *
+   * @since 2.0
+   */
+  static final String VIRTUAL_THREADS_PROPERTY =
+      "org.eclipse.keyple.core.service.useVirtualThreads";
+
+  private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+  private final String threadNamePrefix;
+  private final boolean daemon;
+  private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+  /**
+   * (package-private)<br>
+   * Constructor.
+   *
+   * @param threadNamePrefix The prefix of the name of the created threads.
+   * @param daemon True if the created platform threads must be daemon threads (virtual threads are
+   *     always daemon threads).
+   * @since 2.0
+   */
+  MonitoringThreadFactoryAdapter(String threadNamePrefix, boolean daemon) {
+    this.threadNamePrefix = threadNamePrefix;
+    this.daemon = daemon;
+  }
+
+  /**
+   * (private)<br>
+   * Creates a factory of virtual threads if they are enabled and supported by the runtime.
+   *
+   * @return Null if virtual threads are not available.
+   */
+  private static ThreadFactory createVirtualThreadFactory() {
+    if (!Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "false"))) {
+      return null;
+    }
+    try {
+      // Thread.ofVirtual().factory()
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Method factoryMethod = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+      ThreadFactory threadFactory = (ThreadFactory) factoryMethod.invoke(builder);
+      if (logger.isDebugEnabled()) {
+        logger.debug("Virtual threads will be used for the monitoring tasks.");
+      }
+      return threadFactory;
+    } catch (Exception e) {
+      // Virtual threads are not supported by the runtime.
+      logger.warn(
+          "Virtual threads are enabled but not supported by the runtime, platform threads will be used.");
+      return null;
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether the created threads are virtual threads.
+   *
+   * @return True if the use of virtual threads is enabled and the runtime supports them.
+   * @since 2.0
+   */
+  static boolean isVirtualThreadAvailable() {
+    return VIRTUAL_THREAD_FACTORY != null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public Thread newThread(Runnable runnable) {
+    Thread thread;
+    if (VIRTUAL_THREAD_FACTORY != null) {
+      thread = VIRTUAL_THREAD_FACTORY.newThread(runnable);
+    } else {
+      thread = new Thread(runnable);
+      thread.setDaemon(daemon);
+    }
+    thread.setName(threadNamePrefix + "-" + threadNumber.getAndIncrement());
+    return thread;
+  }
+}
@@ -11,8 +11,10 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentSkipListSet;
 import org.eclipse.keyple.core.plugin.PluginIOException;
 import org.eclipse.keyple.core.plugin.spi.ObservablePluginSpi;
@@ -71,7 +73,6 @@ public void addObserver(PluginObserverSpi observer) {
         logger.debug("Start monitoring the plugin '{}'.", getName());
       }
       thread = new EventThread(getName());
-      thread.setName("PluginEventMonitoringThread");
       thread.setUncaughtExceptionHandler(
           new Thread.UncaughtExceptionHandler() {
             public void uncaughtException(Thread t, Throwable e) {
@@ -124,21 +125,51 @@ public void clearObservers() {
   /** Local thread to monitoring readers presence */
   private EventThread thread;
 
+  /** Factory of the monitoring threads, virtual threads are used when enabled */
+  private static final MonitoringThreadFactoryAdapter MONITORING_THREAD_FACTORY =
+      new MonitoringThreadFactoryAdapter("PluginEventMonitoringThread", false);
+
   /** Thread in charge of reporting live events */
-  private class EventThread extends Thread {
+  private class EventThread implements Runnable {
     private final String pluginName;
     private final long monitoringCycleDuration;
-    private boolean running = true;
+    private final Thread worker;
+    private volatile boolean running = true;
 
     private EventThread(String pluginName) {
       this.pluginName = pluginName;
       monitoringCycleDuration = observablePluginSpi.getMonitoringCycleDuration();
+      worker = MONITORING_THREAD_FACTORY.newThread(this);
+    }
+
+    /**
+     * (private)<br>
+     * Sets the handler invoked when the thread terminates due to an uncaught exception.
+     */
+    private void setUncaughtExceptionHandler(Thread.UncaughtExceptionHandler handler) {
+      worker.setUncaughtExceptionHandler(handler);
+    }
+
+    /**
+     * (private)<br>
+     * Starts the thread.
+     */
+    private void start() {
+      worker.start();
+    }
+
+    /**
+     * (private)<br>
+     * Indicate whether the thread is alive or not
+     */
+    private boolean isAlive() {
+      return worker.isAlive();
     }
 
     /** Marks the thread as one that should end when the last threadWaitTimeout occurs */
     private void end() {
       running = false;
-      interrupt();
+      worker.interrupt();
     }
 
     /**
@@ -166,7 +197,7 @@ private void addReader(String readerName) throws PluginIOException {
         reader = new LocalReaderAdapter(readerSpi, pluginName);
       }
       reader.register();
-      getReadersMap().put(reader.getName(), reader);
+      addReaderToMap(reader);
       if (logger.isTraceEnabled()) {
         logger.trace(
             "[{}][{}] Plugin thread => Add plugged reader to readers list.",
@@ -181,7 +212,7 @@ private void addReader(String readerName) throws PluginIOException {
      */
     private void removeReader(Reader reader) {
       ((LocalReaderAdapter) reader).unregister();
-      getReadersMap().remove(reader.getName());
+      removeReaderFromMap(reader);
       if (logger.isTraceEnabled()) {
         logger.trace(
             "[{}][{}] Plugin thread => Remove unplugged reader from readers list.",
@@ -202,7 +233,11 @@ private void notifyChanges(PluginEvent.Type type, SortedSet<String> changedReade
             type == PluginEvent.Type.READER_CONNECTED ? "connection" : "disconnection",
             changedReaderNames);
       }
-      notifyObservers(new PluginEventAdapter(pluginName, changedReaderNames, type));
+      notifyObservers(
+          new PluginEventAdapter(
+              pluginName,
+              Collections.unmodifiableSortedSet(new TreeSet<String>(changedReaderNames)),
+              type));
     }
 
     /**
@@ -243,7 +278,7 @@ private void processChanges(Set<String> actualNativeReaderNames) throws PluginIO
        * list
        */
       for (String readerName : actualNativeReaderNames) {
-        if (!getReaderNames().contains(readerName)) {
+        if (!getReaderNamesSnapshot().contains(readerName)) {
           addReader(readerName);
           /* add to the notification list */
           changedReaderNames.add(readerName);
@@ -269,7 +304,7 @@ public void run() {
           /*
            * checks if it has changed this algorithm favors cases where nothing change
            */
-          Set<String> currentlyRegisteredReaderNames = getReaderNames();
+          Set<String> currentlyRegisteredReaderNames = getReaderNamesSnapshot();
           if (!currentlyRegisteredReaderNames.containsAll(actualNativeReaderNames)
               || !actualNativeReaderNames.containsAll(currentlyRegisteredReaderNames)) {
             processChanges(actualNativeReaderNames);
@@ -0,0 +1,269 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import org.calypsonet.terminal.reader.spi.CardReaderObserverSpi;
+
+/**
+ * Keyple observable card reader managed locally by the service.
+ *
+ * <p>Provides settings and monitoring data specific to the card detection process performed by the
+ * service itself.
+ *
+ * @since 2.0
+ */
+public interface ObservableLocalReader extends ObservableReader, LocalReader {
+
+  /**
+   * Sets the bounds of the cycle duration used to poll the presence of the card when the reader
+   * does not natively notify the card insertion or removal.
+   *
+   * <p>Polling starts with the fast cycle duration each time a card insertion or removal is
+   * awaited, then the cycle duration is doubled after each unsuccessful poll, up to the slow cycle
+   * duration.
+   *
+   * <p>By default, both bounds are set to 200 ms, i.e. the cycle duration is fixed.
+   *
+   * <p>The new bounds are taken into account from the next awaited card insertion or removal.
+   *
+   * @param fastCycleDurationMillis The minimum cycle duration in milliseconds (must be &gt;= 1).
+   * @param slowCycleDurationMillis The maximum cycle duration in milliseconds (must be &gt;= the
+   *     minimum cycle duration).
+   * @throws IllegalArgumentException If one of the provided durations is out of range.
+   * @since 2.0
+   */
+  void setPollingCycleDurations(int fastCycleDurationMillis, int slowCycleDurationMillis);
+
+  /**
+   * Gets the cycle duration currently used to poll the presence of the card.
+   *
+   * @return A positive int representing a number of milliseconds.
+   * @since 2.0
+   */
+  int getCurrentPollingCycleDuration();
+
+  /**
+   * Sets the strategy used to check the presence of the card when the reader does not natively
+   * notify the card removal.
+   *
+   * <p>By default, the {@link CardPresenceCheckStrategy#APDU} strategy is used.
+   *
+   * @param strategy The strategy to use.
+   * @throws IllegalArgumentException If the provided strategy is null.
+   * @since 2.0
+   */
+  void setCardPresenceCheckStrategy(CardPresenceCheckStrategy strategy);
+
+  /**
+   * Sets the APDU sent to the card by the {@link CardPresenceCheckStrategy#APDU} strategy.
+   *
+   * <p>The status word of the response is not checked, the fact that the card responds is enough to
+   * consider it present.<br>
+   * By default, a GET RESPONSE command is used ("00C0000000").
+   *
+   * @param apdu The APDU to send (must be at least 4 bytes long).
+   * @throws IllegalArgumentException If the provided APDU is null or too short.
+   * @since 2.0
+   */
+  void setCardPresenceCheckApdu(byte[] apdu);
+
+  /**
+   * Sets the period during which a successful APDU exchange with the card is enough to consider it
+   * present, without performing the check of the chosen strategy.
+   *
+   * <p>All the APDUs transmitted to the card since the opening of the physical channel are taken
+   * into account.<br>
+   * Note that a removal occurring in this period may be detected up to the end of the period.
+   *
+   * <p>By default, the period is 0, i.e. the check is always performed.
+   *
+   * @param validityMillis The period in milliseconds (must be &gt;= 0).
+   * @throws IllegalArgumentException If the provided period is negative.
+   * @since 2.0
+   */
+  void setCardPresenceCacheValidity(int validityMillis);
+
+  /**
+   * Enables the asynchronous notification of the reader events to the observers.
+   *
+   * <p>Each observer is then given its own bounded queue of pending events, which are notified to
+   * it in their order of arrival by a thread of the service. Thus, a slow observer delays neither
+   * the card detection nor the other observers.
+   *
+   * <p>By default, the observers are notified synchronously by the thread monitoring the reader.
+   *
+   * @param queueCapacity The maximum number of pending events per observer (must be &gt;= 1).
+   * @param overflowPolicy The policy to apply when the queue of an observer is full.
+   * @throws IllegalArgumentException If one of the provided arguments is null or out of range.
+   * @throws IllegalStateException If observers are already registered.
+   * @since 2.0
+   */
+  void setAsynchronousNotification(int queueCapacity, NotificationOverflowPolicy overflowPolicy);
+
+  /**
+   * Restores the synchronous notification of the reader events to the observers.
+   *
+   * @throws IllegalStateException If observers are already registered.
+   * @since 2.0
+   */
+  void setSynchronousNotification();
+
+  /**
+   * Gets the number of events waiting to be notified to the provided observer.
+   *
+   * @param observer The observer.
+   * @return 0 if the notification is synchronous or if the observer is not registered.
+   * @throws IllegalArgumentException If the provided observer is null.
+   * @since 2.0
+   */
+  int getNotificationQueueDepth(CardReaderObserverSpi observer);
+
+  /**
+   * Gets the number of events that were not notified to the provided observer because its queue was
+   * full.
+   *
+   * @param observer The observer.
+   * @return 0 if the notification is synchronous or if the observer is not registered.
+   * @throws IllegalArgumentException If the provided observer is null.
+   * @since 2.0
+   */
+  long getNotificationDropCount(CardReaderObserverSpi observer);
+
+  /**
+   * Gets the distribution of the durations of the completed stays of the reader in the provided
+   * monitoring state.
+   *
+   * <p>The durations are counted in power of two buckets: the counter at index 0 counts the stays
+   * shorter than 1 ms, the counter at index i counts the stays lasting from 2<sup>i-1</sup> ms
+   * (inclusive) to 2<sup>i</sup> ms (exclusive), and the last counter counts all the longer stays.
+   *
+   * @param monitoringState The monitoring state.
+   * @return A not null copy of the counters.
+   * @throws IllegalArgumentException If the provided state is null.
+   * @since 2.0
+   */
+  long[] getDwellTimeHistogram(MonitoringState monitoringState);
+
+  /**
+   * Gets the total duration of the completed stays of the reader in the provided monitoring state.
+   *
+   * @param monitoringState The monitoring state.
+   * @return A positive long representing a number of milliseconds.
+   * @throws IllegalArgumentException If the provided state is null.
+   * @since 2.0
+   */
+  long getTotalDwellTime(MonitoringState monitoringState);
+
+  /**
+   * Gets the duration of the longest completed stay of the reader in the provided monitoring state.
+   *
+   * @param monitoringState The monitoring state.
+   * @return A positive long representing a number of milliseconds.
+   * @throws IllegalArgumentException If the provided state is null.
+   * @since 2.0
+   */
+  long getMaxDwellTime(MonitoringState monitoringState);
+
+  /**
+   * Gets the number of transitions of the reader from a monitoring state to another.
+   *
+   * @param fromMonitoringState The origin monitoring state.
+   * @param toMonitoringState The target monitoring state.
+   * @return A positive long.
+   * @throws IllegalArgumentException If one of the provided states is null.
+   * @since 2.0
+   */
+  long getTransitionCount(MonitoringState fromMonitoringState, MonitoringState toMonitoringState);
+
+  /**
+   * The states of the card detection process of an observable local reader.
+   *
+   * @since 2.0
+   */
+  enum MonitoringState {
+    /**
+     * The reader is idle and waiting for a start signal to enter the card detection mode.
+     *
+     * @since 2.0
+     */
+    WAIT_FOR_START_DETECTION,
+    /**
+     * The reader is in card detection mode and is waiting for a card to be presented.
+     *
+     * @since 2.0
+     */
+    WAIT_FOR_CARD_INSERTION,
+    /**
+     * The reader waits for the application to finish processing the card.
+     *
+     * @since 2.0
+     */
+    WAIT_FOR_CARD_PROCESSING,
+    /**
+     * The reader waits for the removal of the card.
+     *
+     * @since 2.0
+     */
+    WAIT_FOR_CARD_REMOVAL
+  }
+
+  /**
+   * The strategies used to check the presence of the card during the removal monitoring.
+   *
+   * @since 2.0
+   */
+  enum CardPresenceCheckStrategy {
+    /**
+     * An APDU is sent to the card, which is considered present as long as it responds.
+     *
+     * @since 2.0
+     */
+    APDU,
+    /**
+     * The check is delegated to the reader, in the same way as {@link Reader#isCardPresent()}.
+     *
+     * @since 2.0
+     */
+    READER
+  }
+
+  /**
+   * The policies applied when the queue of pending events of an observer is full.
+   *
+   * @since 2.0
+   */
+  enum NotificationOverflowPolicy {
+    /**
+     * The thread monitoring the reader waits until the queue has room for the new event.
+     *
+     * <p>Note that the processing of all the other monitoring events of the reader, including its
+     * state transitions, is suspended meanwhile. This policy should therefore be reserved for
+     * observers that can keep up with the pace of the events.
+     *
+     * @since 2.0
+     */
+    BLOCK,
+    /**
+     * The oldest pending event is dropped.
+     *
+     * @since 2.0
+     */
+    DROP_OLDEST,
+    /**
+     * A pending card insertion immediately followed by the removal of the card is dropped with it,
+     * otherwise the oldest pending event is dropped.
+     *
+     * @since 2.0
+     */
+    COALESCE
+  }
+}
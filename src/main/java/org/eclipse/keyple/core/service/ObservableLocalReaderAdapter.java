@@ -12,6 +12,8 @@
 package org.eclipse.keyple.core.service;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.calypsonet.terminal.card.CardBrokenCommunicationException;
 import org.calypsonet.terminal.card.CardSelectionResponseApi;
 import org.calypsonet.terminal.card.ReaderBrokenCommunicationException;
@@ -32,13 +34,13 @@
 
 /**
  * (package-private)<br>
- * Implementation for {@link ObservableReader}, {@link WaitForCardInsertionAutonomousReaderApi} and
- * {@link WaitForCardRemovalAutonomousReaderApi}.
+ * Implementation for {@link ObservableLocalReader}, {@link WaitForCardInsertionAutonomousReaderApi}
+ * and {@link WaitForCardRemovalAutonomousReaderApi}.
  *
  * @since 2.0
  */
 final class ObservableLocalReaderAdapter extends LocalReaderAdapter
-    implements ObservableReader,
+    implements ObservableLocalReader,
         WaitForCardInsertionAutonomousReaderApi,
         WaitForCardRemovalAutonomousReaderApi {
 
@@ -47,12 +49,29 @@ final class ObservableLocalReaderAdapter extends LocalReaderAdapter
   private static final byte[] APDU_PING_CARD_PRESENCE = {
     (byte) 0x00, (byte) 0xC0, (byte) 0x00, (byte) 0x00, (byte) 0x00
   };
+  private static final int DEFAULT_POLLING_CYCLE_DURATION = 200;
+  private static final long NANOS_PER_MILLI = 1000000L;
   public static final String READER_MONITORING_ERROR =
       "An error occurred while monitoring the reader.";
 
   private final ObservableReaderSpi observableReaderSpi;
-  private final ObservableReaderStateServiceAdapter stateService;
-  private final ObservationManagerAdapter<
+  private final PollingCadenceAdapter pollingCadence;
+  private final ReaderEvent cardInsertedEvent;
+  private final ReaderEvent cardRemovedEvent;
+  private final ReaderEvent unavailableEvent;
+  private final Object stateServiceMonitor = new Object();
+  private volatile ObservableReaderStateServiceAdapter stateService;
+  private volatile CardPresenceCheckStrategy cardPresenceCheckStrategy =
+      CardPresenceCheckStrategy.APDU;
+  private volatile byte[] cardPresenceCheckApdu = APDU_PING_CARD_PRESENCE;
+  private volatile long cardPresenceCacheValidityNanos;
+  private final ConcurrentMap<CardReaderObserverSpi, ObserverNotificationQueueAdapter>
+      notificationQueues =
+          new ConcurrentHashMap<CardReaderObserverSpi, ObserverNotificationQueueAdapter>();
+  private volatile int notificationQueueCapacity;
+  private volatile NotificationOverflowPolicy notificationOverflowPolicy;
+  private final Object observationManagerMonitor = new Object();
+  private volatile ObservationManagerAdapter<
           CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi>
       observationManager;
 
@@ -109,8 +128,9 @@ enum InternalEvent {
    * (package-private)<br>
    * Creates an instance of {@link ObservableLocalReaderAdapter}.
    *
-   * <p>Creates the {@link ObservableReaderStateServiceAdapter} with the possible states and their
-   * implementation.
+   * <p>The {@link ObservableReaderStateServiceAdapter} and the {@link ObservationManagerAdapter}
+   * are created on first use, so that a reader whose card detection is never started remains
+   * lightweight.
    *
    * @param observableReaderSpi The reader SPI.
    * @param pluginName The plugin name.
@@ -119,10 +139,14 @@ enum InternalEvent {
   ObservableLocalReaderAdapter(ObservableReaderSpi observableReaderSpi, String pluginName) {
     super(observableReaderSpi, pluginName);
     this.observableReaderSpi = observableReaderSpi;
-    this.stateService = new ObservableReaderStateServiceAdapter(this);
-    this.observationManager =
-        new ObservationManagerAdapter<
-            CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi>(pluginName, getName());
+    this.pollingCadence = new PollingCadenceAdapter(DEFAULT_POLLING_CYCLE_DURATION);
+    // the events without payload are immutable and can be notified again and again
+    this.cardInsertedEvent =
+        new ReaderEventAdapter(pluginName, getName(), CardReaderEvent.Type.CARD_INSERTED, null);
+    this.cardRemovedEvent =
+        new ReaderEventAdapter(pluginName, getName(), CardReaderEvent.Type.CARD_REMOVED, null);
+    this.unavailableEvent =
+        new ReaderEventAdapter(pluginName, getName(), CardReaderEvent.Type.UNAVAILABLE, null);
     if (observableReaderSpi instanceof WaitForCardInsertionAutonomousSpi) {
       ((WaitForCardInsertionAutonomousSpi) observableReaderSpi).connect(this);
     }
@@ -142,6 +166,77 @@ ObservableReaderSpi getObservableReaderSpi() {
     return observableReaderSpi;
   }
 
+  /**
+   * (private)<br>
+   * Gets the state machine of this reader, creating it on first use.
+   *
+   * @return A not null reference.
+   */
+  private ObservableReaderStateServiceAdapter getStateService() {
+    ObservableReaderStateServiceAdapter service = stateService;
+    if (service == null) {
+      synchronized (stateServiceMonitor) {
+        service = stateService;
+        if (service == null) {
+          service = new ObservableReaderStateServiceAdapter(this);
+          stateService = service;
+        }
+      }
+    }
+    return service;
+  }
+
+  /**
+   * (private)<br>
+   * Gets the observation manager of this reader, creating it on first use.
+   *
+   * @return A not null reference.
+   */
+  private ObservationManagerAdapter<CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi>
+      getObservationManager() {
+    ObservationManagerAdapter<CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi>
+        manager = observationManager;
+    if (manager == null) {
+      synchronized (observationManagerMonitor) {
+        manager = observationManager;
+        if (manager == null) {
+          manager =
+              new ObservationManagerAdapter<
+                  CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi>(
+                  getPluginName(), getName());
+          observationManager = manager;
+        }
+      }
+    }
+    return manager;
+  }
+
+  /**
+   * (package-private)<br>
+   * Communicates to the state machine an internal event raised by the monitoring job of the
+   * provided state.
+   *
+   * <p>The event is ignored if the state is no longer the current state when it is processed.
+   *
+   * @param monitoringState The state the monitoring job is running against.
+   * @param event The internal event.
+   * @since 2.0
+   */
+  void onMonitoringEvent(AbstractObservableStateAdapter monitoringState, InternalEvent event) {
+    getStateService().onEvent(event, monitoringState);
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the polling cadence used by the active monitoring jobs of this reader.
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  PollingCadenceAdapter getPollingCadence() {
+    return pollingCadence;
+  }
+
   /**
    * (package-private)<br>
    * Gets the exception handler used to notify the application of exceptions raised during the
@@ -151,7 +246,28 @@ ObservableReaderSpi getObservableReaderSpi() {
    * @since 2.0
    */
   CardReaderObservationExceptionHandlerSpi getObservationExceptionHandler() {
-    return observationManager.getObservationExceptionHandler();
+    ObservationManagerAdapter<CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi>
+        manager = observationManager;
+    return manager != null ? manager.getObservationExceptionHandler() : null;
+  }
+
+  /**
+   * (package-private)<br>
+   * Notifies the application of an exception raised during the observation process, using the
+   * exception handler.
+   *
+   * <p>The exception is only logged if no exception handler has been set yet.
+   *
+   * @param e The exception.
+   * @since 2.0
+   */
+  void notifyObservationError(Exception e) {
+    CardReaderObservationExceptionHandlerSpi exceptionHandler = getObservationExceptionHandler();
+    if (exceptionHandler != null) {
+      exceptionHandler.onReaderObservationError(getPluginName(), getName(), e);
+    } else {
+      logger.error("[{}] {}", getName(), READER_MONITORING_ERROR, e);
+    }
   }
 
   /**
@@ -173,34 +289,81 @@ DetectionMode getDetectionMode() {
    * @since 2.0
    */
   AbstractObservableStateAdapter.MonitoringState getCurrentMonitoringState() {
-    return stateService.getCurrentMonitoringState();
+    ObservableReaderStateServiceAdapter service = stateService;
+    return service != null
+        ? service.getCurrentMonitoringState()
+        : AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_START_DETECTION;
   }
 
   /**
    * (package-private)<br>
-   * Sends a neutral APDU to the card to check its presence. The status of the response is not
-   * verified as long as the mere fact that the card responds is sufficient to indicate whether or
-   * not it is present.
+   * Checks the presence of the card according to the strategy defined for this reader.
+   *
+   * <p>If the card responded to an APDU during the cache validity period, it is considered present
+   * without any further exchange.<br>
+   * Otherwise, with the {@link CardPresenceCheckStrategy#APDU} strategy, a neutral APDU is sent to
+   * the card. The status of the response is not verified as long as the mere fact that the card
+   * responds is sufficient to indicate whether or not it is present.<br>
+   * With the {@link CardPresenceCheckStrategy#READER} strategy, the check is delegated to the
+   * reader SPI.
+   *
+   * <p>The check is also skipped, the card being considered present, while the reader is used by
+   * the application.
    *
    * <p>This method has to be called regularly until the card no longer respond.
    *
-   * @return True if the card still responds, false if not
+   * @return True if the card is still present, false if not
    * @since 2.0
    */
   boolean isCardPresentPing() {
-    // transmits the APDU and checks for the IO exception.
+    long validityNanos = cardPresenceCacheValidityNanos;
+    if (validityNanos > 0) {
+      long lastCardResponseNanos = getLastCardResponseNanos();
+      if (lastCardResponseNanos != NO_CARD_RESPONSE
+          && System.nanoTime() - lastCardResponseNanos < validityNanos) {
+        if (logger.isTraceEnabled()) {
+          logger.trace("[{}] Card recently responded, presence check skipped", getName());
+        }
+        return true;
+      }
+    }
+    // the transmissions of the application take precedence over the presence check
+    if (!tryReserveForBackgroundExchange()) {
+      if (logger.isTraceEnabled()) {
+        logger.trace("[{}] Reader in use, presence check skipped", getName());
+      }
+      return true;
+    }
+    try {
+      return pingCard();
+    } finally {
+      releaseFromBackgroundExchange();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Checks the presence of the card by sending the neutral APDU or by asking the reader, according
+   * to the strategy defined for this reader.
+   *
+   * @return True if the card is still present, false if not
+   */
+  private boolean pingCard() {
+    // transmits the APDU or asks the reader and checks for the IO exception.
     try {
+      if (cardPresenceCheckStrategy == CardPresenceCheckStrategy.READER) {
+        if (logger.isTraceEnabled()) {
+          logger.trace("[{}] Check card presence", getName());
+        }
+        return observableReaderSpi.checkCardPresence();
+      }
       if (logger.isTraceEnabled()) {
         logger.trace("[{}] Ping card", getName());
       }
-      observableReaderSpi.transmitApdu(APDU_PING_CARD_PRESENCE);
+      observableReaderSpi.transmitApdu(cardPresenceCheckApdu);
     } catch (ReaderIOException e) {
       // Notify the reader communication failure with the exception handler.
-      getObservationExceptionHandler()
-          .onReaderObservationError(
-              getPluginName(),
-              getName(),
-              new ReaderCommunicationException(READER_MONITORING_ERROR, e));
+      notifyObservationError(new ReaderCommunicationException(READER_MONITORING_ERROR, e));
     } catch (CardIOException e) {
       if (logger.isTraceEnabled()) {
         logger.trace(
@@ -211,6 +374,32 @@ boolean isCardPresentPing() {
     return true;
   }
 
+  /**
+   * (package-private)<br>
+   * Checks the presence of the card on behalf of the card removal monitoring by polling.
+   *
+   * <p>The check is skipped, the card being considered present, while the reader is used by the
+   * application.
+   *
+   * @return True if the card is present or if the check was skipped, false if not.
+   * @see #isCardPresent()
+   * @since 2.0
+   */
+  boolean isCardPresentForRemovalMonitoring() {
+    // the transmissions of the application take precedence over the presence check
+    if (!tryReserveForBackgroundExchange()) {
+      if (logger.isTraceEnabled()) {
+        logger.trace("[{}] Reader in use, presence check skipped", getName());
+      }
+      return true;
+    }
+    try {
+      return isCardPresent();
+    } finally {
+      releaseFromBackgroundExchange();
+    }
+  }
+
   /**
    * (package-private)<br>
    * This method is invoked by the card insertion monitoring process when a card is inserted.
@@ -246,10 +435,28 @@ ReaderEvent processCardInserted() {
         logger.trace("[{}] no card selection scenario defined, notify CARD_INSERTED", getName());
       }
       /* no default request is defined, just notify the card insertion */
-      return new ReaderEventAdapter(
-          getPluginName(), getName(), CardReaderEvent.Type.CARD_INSERTED, null);
+      return cardInsertedEvent;
     }
 
+    // the reader is reserved until the channels opened for an excluded card are closed, so that no
+    // session of the application can start in between
+    reserveForMonitoring();
+    try {
+      return processCardSelectionScenario();
+    } finally {
+      releaseFromMonitoring();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Processes the card selection scenario against the inserted card and closes the physical channel
+   * if the card is excluded by the scenario.
+   *
+   * @return Null if the card has been rejected by the card selection scenario.
+   */
+  private ReaderEvent processCardSelectionScenario() {
+
     // a card selection scenario is defined, send it and notify according to the notification mode
     // and the selection status
     try {
@@ -291,11 +498,7 @@ ReaderEvent processCardInserted() {
 
     } catch (ReaderBrokenCommunicationException e) {
       // Notify the reader communication failure with the exception handler.
-      getObservationExceptionHandler()
-          .onReaderObservationError(
-              getPluginName(),
-              getName(),
-              new ReaderCommunicationException(READER_MONITORING_ERROR, e));
+      notifyObservationError(new ReaderCommunicationException(READER_MONITORING_ERROR, e));
 
     } catch (CardBrokenCommunicationException e) {
       // The last transmission failed, close the logical and physical channels.
@@ -313,11 +516,7 @@ ReaderEvent processCardInserted() {
       observableReaderSpi.closePhysicalChannel();
     } catch (ReaderIOException e) {
       // Notify the reader communication failure with the exception handler.
-      getObservationExceptionHandler()
-          .onReaderObservationError(
-              getPluginName(),
-              getName(),
-              new ReaderCommunicationException(READER_MONITORING_ERROR, e));
+      notifyObservationError(new ReaderCommunicationException(READER_MONITORING_ERROR, e));
     }
 
     // no event returned
@@ -354,9 +553,7 @@ private boolean hasACardMatched(List<CardSelectionResponseApi> cardSelectionResp
    */
   void processCardRemoved() {
     closeLogicalAndPhysicalChannelsSilently();
-    notifyObservers(
-        new ReaderEventAdapter(
-            getPluginName(), getName(), CardReaderEvent.Type.CARD_REMOVED, null));
+    notifyObservers(cardRemovedEvent);
   }
 
   /**
@@ -367,7 +564,7 @@ void processCardRemoved() {
    * @since 2.0
    */
   void switchState(AbstractObservableStateAdapter.MonitoringState stateId) {
-    stateService.switchState(stateId);
+    getStateService().switchState(stateId);
   }
 
   /**
@@ -390,25 +587,40 @@ void notifyObservers(final ReaderEvent event) {
           countObservers());
     }
 
-    for (CardReaderObserverSpi observer : observationManager.getObservers()) {
-      notifyObserver(observer, event);
+    ObservationManagerAdapter<CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi>
+        manager = observationManager;
+    if (manager == null) {
+      return;
+    }
+    List<CardReaderObserverSpi> observers = manager.getObservers();
+    for (int i = 0; i < observers.size(); i++) {
+      CardReaderObserverSpi observer = observers.get(i);
+      ObserverNotificationQueueAdapter notificationQueue = notificationQueues.get(observer);
+      if (notificationQueue != null) {
+        notificationQueue.post(event);
+      } else {
+        notifyObserver(observer, event);
+      }
     }
   }
 
   /**
+   * (package-private)<br>
    * Notifies a single observer of an event.
    *
+   * <p>This method never throws an exception. Any errors at runtime are notified to the application
+   * using the exception handler.
+   *
    * @param observer The observer to notify.
    * @param event The event.
+   * @since 2.0
    */
-  private void notifyObserver(CardReaderObserverSpi observer, ReaderEvent event) {
+  void notifyObserver(CardReaderObserverSpi observer, ReaderEvent event) {
     try {
       observer.onReaderEvent(event);
     } catch (Exception e) {
       try {
-        observationManager
-            .getObservationExceptionHandler()
-            .onReaderObservationError(getPluginName(), getName(), e);
+        notifyObservationError(e);
       } catch (Exception e2) {
         logger.error("Exception during notification", e2);
         logger.error("Original cause", e);
@@ -449,19 +661,33 @@ void scheduleCardSelectionScenario(
    * Stops the card detection unconditionally.<br>
    * Shuts down the reader's executor service.
    *
+   * <p>The notification takes place once the pending events of the state machine have been
+   * processed.
+   *
    * @since 2.0
    */
   @Override
   void unregister() {
     try {
       stopCardDetection();
-      stateService.shutdown();
     } catch (Exception e) {
       logger.error("Error during the stop card detection of reader '{}'", getName(), e);
     }
-    notifyObservers(
-        new ReaderEventAdapter(getPluginName(), getName(), CardReaderEvent.Type.UNAVAILABLE, null));
-    clearObservers();
+    Runnable notifyUnavailable =
+        new Runnable() {
+          @Override
+          public void run() {
+            notifyObservers(unavailableEvent);
+            // the asynchronous observers are still notified of the pending events
+            removeAllObservers(false);
+          }
+        };
+    ObservableReaderStateServiceAdapter service = stateService;
+    if (service != null) {
+      service.shutdown(notifyUnavailable);
+    } else {
+      notifyUnavailable.run();
+    }
     super.unregister();
   }
 
@@ -495,7 +721,26 @@ public boolean isCardPresent() {
   @Override
   public void addObserver(CardReaderObserverSpi observer) {
     checkStatus();
-    observationManager.addObserver(observer);
+    NotificationOverflowPolicy overflowPolicy = notificationOverflowPolicy;
+    if (overflowPolicy != null && observer != null) {
+      notificationQueues.putIfAbsent(
+          observer,
+          new ObserverNotificationQueueAdapter(
+              this,
+              observer,
+              notificationQueueCapacity,
+              overflowPolicy,
+              SmartCardServiceAdapter.getInstance().getObserverNotificationExecutor()));
+    }
+    try {
+      getObservationManager().addObserver(observer);
+    } catch (RuntimeException e) {
+      if (observer != null) {
+        notificationQueues.remove(observer);
+      }
+      throw e;
+    }
+    getStateService();
   }
 
   /**
@@ -506,9 +751,17 @@ public void addObserver(CardReaderObserverSpi observer) {
   @Override
   public void removeObserver(CardReaderObserverSpi observer) {
     Assert.getInstance().notNull(observer, "observer");
-    if (observationManager.getObservers().contains(observer)) {
-      observationManager.removeObserver(observer);
+    ObservationManagerAdapter<CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi>
+        manager = observationManager;
+    if (manager != null && manager.getObservers().contains(observer)) {
+      manager.removeObserver(observer);
     }
+    ObserverNotificationQueueAdapter notificationQueue = notificationQueues.remove(observer);
+    if (notificationQueue != null) {
+      // the pending events are no longer expected by the removed observer
+      notificationQueue.close();
+    }
+    onObserversRemoved();
   }
 
   /**
@@ -518,7 +771,9 @@ public void removeObserver(CardReaderObserverSpi observer) {
    */
   @Override
   public int countObservers() {
-    return observationManager.countObservers();
+    ObservationManagerAdapter<CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi>
+        manager = observationManager;
+    return manager != null ? manager.countObservers() : 0;
   }
 
   /**
@@ -528,7 +783,40 @@ public int countObservers() {
    */
   @Override
   public void clearObservers() {
-    observationManager.clearObservers();
+    removeAllObservers(true);
+    onObserversRemoved();
+  }
+
+  /**
+   * (private)<br>
+   * Informs the state machine, if any, that observers have been removed.
+   */
+  private void onObserversRemoved() {
+    ObservableReaderStateServiceAdapter service = stateService;
+    if (service != null) {
+      service.onObserversRemoved();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Removes all observers.
+   *
+   * @param dropPendingEvents True if the events not yet notified to the asynchronous observers have
+   *     to be dropped.
+   */
+  private void removeAllObservers(boolean dropPendingEvents) {
+    ObservationManagerAdapter<CardReaderObserverSpi, CardReaderObservationExceptionHandlerSpi>
+        manager = observationManager;
+    if (manager != null) {
+      manager.clearObservers();
+    }
+    if (dropPendingEvents) {
+      for (ObserverNotificationQueueAdapter notificationQueue : notificationQueues.values()) {
+        notificationQueue.close();
+      }
+    }
+    notificationQueues.clear();
   }
 
   /**
@@ -548,7 +836,7 @@ public void startCardDetection(DetectionMode detectionMode) {
     }
     Assert.getInstance().notNull(detectionMode, "detectionMode");
     this.detectionMode = detectionMode;
-    stateService.onEvent(InternalEvent.START_DETECT);
+    getStateService().onEvent(InternalEvent.START_DETECT);
   }
 
   /**
@@ -564,7 +852,10 @@ public void stopCardDetection() {
           getName(),
           getPluginName());
     }
-    stateService.onEvent(InternalEvent.STOP_DETECT);
+    ObservableReaderStateServiceAdapter service = stateService;
+    if (service != null) {
+      service.onEvent(InternalEvent.STOP_DETECT);
+    }
   }
 
   /**
@@ -579,7 +870,10 @@ public void finalizeCardProcessing() {
           getName(),
           getPluginName());
     }
-    stateService.onEvent(InternalEvent.CARD_PROCESSED);
+    ObservableReaderStateServiceAdapter service = stateService;
+    if (service != null) {
+      service.onEvent(InternalEvent.CARD_PROCESSED);
+    }
   }
 
   /**
@@ -591,7 +885,7 @@ public void finalizeCardProcessing() {
   public void setReaderObservationExceptionHandler(
       CardReaderObservationExceptionHandlerSpi exceptionHandler) {
     checkStatus();
-    observationManager.setObservationExceptionHandler(exceptionHandler);
+    getObservationManager().setObservationExceptionHandler(exceptionHandler);
   }
 
   /**
@@ -601,7 +895,7 @@ public void setReaderObservationExceptionHandler(
    */
   @Override
   public void onCardInserted() {
-    stateService.onEvent(InternalEvent.CARD_INSERTED);
+    getStateService().onEvent(InternalEvent.CARD_INSERTED);
   }
 
   /**
@@ -611,6 +905,199 @@ public void onCardInserted() {
    */
   @Override
   public void onCardRemoved() {
-    stateService.onEvent(InternalEvent.CARD_REMOVED);
+    getStateService().onEvent(InternalEvent.CARD_REMOVED);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public void setPollingCycleDurations(int fastCycleDurationMillis, int slowCycleDurationMillis) {
+    checkStatus();
+    Assert.getInstance()
+        .greaterOrEqual(fastCycleDurationMillis, 1, "fastCycleDurationMillis")
+        .greaterOrEqual(
+            slowCycleDurationMillis, fastCycleDurationMillis, "slowCycleDurationMillis");
+    pollingCadence.setBounds(fastCycleDurationMillis, slowCycleDurationMillis);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public int getCurrentPollingCycleDuration() {
+    return pollingCadence.getCurrentCycleDuration();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public void setCardPresenceCheckStrategy(CardPresenceCheckStrategy strategy) {
+    checkStatus();
+    Assert.getInstance().notNull(strategy, "strategy");
+    cardPresenceCheckStrategy = strategy;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public void setCardPresenceCheckApdu(byte[] apdu) {
+    checkStatus();
+    Assert.getInstance().notEmpty(apdu, "apdu").isTrue(apdu.length >= 4, "apdu length");
+    cardPresenceCheckApdu = apdu.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public void setCardPresenceCacheValidity(int validityMillis) {
+    checkStatus();
+    Assert.getInstance().greaterOrEqual(validityMillis, 0, "validityMillis");
+    cardPresenceCacheValidityNanos = validityMillis * NANOS_PER_MILLI;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public void setAsynchronousNotification(
+      int queueCapacity, NotificationOverflowPolicy overflowPolicy) {
+    checkStatus();
+    Assert.getInstance()
+        .greaterOrEqual(queueCapacity, 1, "queueCapacity")
+        .notNull(overflowPolicy, "overflowPolicy");
+    checkNoObservers();
+    notificationQueueCapacity = queueCapacity;
+    notificationOverflowPolicy = overflowPolicy;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public void setSynchronousNotification() {
+    checkStatus();
+    checkNoObservers();
+    notificationOverflowPolicy = null;
+  }
+
+  /**
+   * (private)<br>
+   * Checks that no observer is registered.
+   *
+   * @throws IllegalStateException If at least one observer is registered.
+   */
+  private void checkNoObservers() {
+    if (countObservers() != 0) {
+      throw new IllegalStateException(
+          "The notification mode cannot be changed while observers are registered.");
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public int getNotificationQueueDepth(CardReaderObserverSpi observer) {
+    Assert.getInstance().notNull(observer, "observer");
+    ObserverNotificationQueueAdapter notificationQueue = notificationQueues.get(observer);
+    return notificationQueue != null ? notificationQueue.getDepth() : 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public long getNotificationDropCount(CardReaderObserverSpi observer) {
+    Assert.getInstance().notNull(observer, "observer");
+    ObserverNotificationQueueAdapter notificationQueue = notificationQueues.get(observer);
+    return notificationQueue != null ? notificationQueue.getDropCount() : 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public long[] getDwellTimeHistogram(MonitoringState monitoringState) {
+    AbstractObservableStateAdapter.MonitoringState internalState = toInternalState(monitoringState);
+    ObservableReaderStateServiceAdapter service = stateService;
+    return service != null
+        ? service.getMetrics().getDwellTimeHistogram(internalState)
+        : new long[MonitoringStateMetricsAdapter.HISTOGRAM_BUCKET_COUNT];
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public long getTotalDwellTime(MonitoringState monitoringState) {
+    AbstractObservableStateAdapter.MonitoringState internalState = toInternalState(monitoringState);
+    ObservableReaderStateServiceAdapter service = stateService;
+    return service != null ? service.getMetrics().getTotalDwellTimeMillis(internalState) : 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public long getMaxDwellTime(MonitoringState monitoringState) {
+    AbstractObservableStateAdapter.MonitoringState internalState = toInternalState(monitoringState);
+    ObservableReaderStateServiceAdapter service = stateService;
+    return service != null ? service.getMetrics().getMaxDwellTimeMillis(internalState) : 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.0
+   */
+  @Override
+  public long getTransitionCount(
+      MonitoringState fromMonitoringState, MonitoringState toMonitoringState) {
+    AbstractObservableStateAdapter.MonitoringState fromState = toInternalState(fromMonitoringState);
+    AbstractObservableStateAdapter.MonitoringState toState = toInternalState(toMonitoringState);
+    ObservableReaderStateServiceAdapter service = stateService;
+    return service != null ? service.getMetrics().getTransitionCount(fromState, toState) : 0;
+  }
+
+  /**
+   * (private)<br>
+   * Converts a public monitoring state into the internal state having the same name.
+   *
+   * @param monitoringState The public monitoring state.
+   * @return A not null reference.
+   * @throws IllegalArgumentException If the provided state is null.
+   */
+  private static AbstractObservableStateAdapter.MonitoringState toInternalState(
+      MonitoringState monitoringState) {
+    Assert.getInstance().notNull(monitoringState, "monitoringState");
+    return AbstractObservableStateAdapter.MonitoringState.valueOf(monitoringState.name());
   }
 }
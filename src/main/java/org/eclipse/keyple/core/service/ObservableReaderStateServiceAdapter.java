@@ -12,8 +12,14 @@
 package org.eclipse.keyple.core.service;
 
 import java.util.EnumMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.keyple.core.plugin.spi.reader.observable.ObservableReaderSpi;
 import org.eclipse.keyple.core.plugin.spi.reader.observable.state.insertion.WaitForCardInsertionAutonomousSpi;
 import org.eclipse.keyple.core.plugin.spi.reader.observable.state.insertion.WaitForCardInsertionBlockingSpi;
@@ -31,6 +37,14 @@
  * Manages the internal state of an {@link ObservableLocalReaderAdapter} Process InternalEvent
  * against the current state
  *
+ * <p>The events are posted without blocking into a mailbox specific to the reader. They are
+ * processed one at a time, in the order of their arrival, by a drain task executed by the executor
+ * shared by all readers, so that only one thread at a time runs the state machine of a given
+ * reader.<br>
+ * This executor does not bound its number of threads, so that a drain task held by a synchronous
+ * observer, by the default selection or by a card session of the application never delays the
+ * events of the other readers.
+ *
  * @since 2.0
  */
 final class ObservableReaderStateServiceAdapter {
@@ -44,8 +58,17 @@ final class ObservableReaderStateServiceAdapter {
 
   private final ObservableReaderSpi readerSpi;
 
-  /** Executor service to provide a unique thread used by the various monitoring jobs */
-  private final ExecutorService executorService;
+  /** Delay after which the idle thread of a released executor service terminates */
+  private static final long RELEASED_THREAD_KEEP_ALIVE_MILLIS = 1;
+
+  /**
+   * Executor service to provide a unique thread used by the various blocking monitoring jobs,
+   * created only if the reader requires at least one of them
+   */
+  private ThreadPoolExecutor executorService;
+
+  /** Scheduler shared by all readers to execute the polling cycles of the active monitoring jobs */
+  private final ScheduledExecutorService pollingScheduler;
 
   /** Map of all instantiated states possible */
   private final EnumMap<
@@ -53,7 +76,28 @@ final class ObservableReaderStateServiceAdapter {
       states;
 
   /** Current currentState of the Observable Reader */
-  private AbstractObservableStateAdapter currentState;
+  private volatile AbstractObservableStateAdapter currentState;
+
+  /** Dwell time and transition recorder */
+  private final MonitoringStateMetricsAdapter metrics = new MonitoringStateMetricsAdapter();
+
+  /** Mailbox of the pending tasks to be processed by the state machine */
+  private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<Runnable>();
+
+  /** Indicates whether a drain task is scheduled or running */
+  private final AtomicBoolean draining = new AtomicBoolean();
+
+  /** Executor shared by all readers to run the drain tasks */
+  private final ExecutorService eventExecutor;
+
+  /** Drain task processing the content of the mailbox */
+  private final Runnable drainTask =
+      new Runnable() {
+        @Override
+        public void run() {
+          drainMailbox();
+        }
+      };
 
   /**
    * (package-private)<br>
@@ -69,7 +113,8 @@ final class ObservableReaderStateServiceAdapter {
     this.states =
         new EnumMap<AbstractObservableStateAdapter.MonitoringState, AbstractObservableStateAdapter>(
             AbstractObservableStateAdapter.MonitoringState.class);
-    this.executorService = Executors.newSingleThreadExecutor();
+    this.pollingScheduler = SmartCardServiceAdapter.getInstance().getPollingScheduler();
+    this.eventExecutor = SmartCardServiceAdapter.getInstance().getReaderEventExecutor();
 
     // initialize states for each cases:
 
@@ -85,18 +130,19 @@ final class ObservableReaderStateServiceAdapter {
           new WaitForCardInsertionStateAdapter(this.reader));
     } else if (readerSpi instanceof WaitForCardInsertionNonBlockingSpi) {
       CardInsertionActiveMonitoringJobAdapter cardInsertionActiveMonitoringJobAdapter =
-          new CardInsertionActiveMonitoringJobAdapter(reader, 200, true);
+          new CardInsertionActiveMonitoringJobAdapter(
+              reader, reader.getPollingCadence(), true, this.pollingScheduler);
       this.states.put(
           AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_INSERTION,
           new WaitForCardInsertionStateAdapter(
-              this.reader, cardInsertionActiveMonitoringJobAdapter, this.executorService));
+              this.reader, cardInsertionActiveMonitoringJobAdapter, this.pollingScheduler));
     } else if (readerSpi instanceof WaitForCardInsertionBlockingSpi) {
       final CardInsertionPassiveMonitoringJobAdapter cardInsertionPassiveMonitoringJobAdapter =
           new CardInsertionPassiveMonitoringJobAdapter(reader);
       states.put(
           AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_INSERTION,
           new WaitForCardInsertionStateAdapter(
-              this.reader, cardInsertionPassiveMonitoringJobAdapter, this.executorService));
+              this.reader, cardInsertionPassiveMonitoringJobAdapter, getExecutorService()));
     } else {
       throw new IllegalStateException(
           "Reader should implement implement a WaitForCardInsertion interface.");
@@ -109,7 +155,7 @@ final class ObservableReaderStateServiceAdapter {
       this.states.put(
           AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_PROCESSING,
           new WaitForCardProcessingStateAdapter(
-              this.reader, cardRemovalPassiveMonitoringJobAdapter, this.executorService));
+              this.reader, cardRemovalPassiveMonitoringJobAdapter, getExecutorService()));
     } else if (readerSpi instanceof DontWaitForCardRemovalDuringProcessingSpi) {
       this.states.put(
           AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_PROCESSING,
@@ -127,18 +173,19 @@ final class ObservableReaderStateServiceAdapter {
 
     } else if (readerSpi instanceof WaitForCardRemovalNonBlockingSpi) {
       CardRemovalActiveMonitoringJobAdapter cardRemovalActiveMonitoringJobAdapter =
-          new CardRemovalActiveMonitoringJobAdapter(this.reader, 200);
+          new CardRemovalActiveMonitoringJobAdapter(
+              this.reader, reader.getPollingCadence(), this.pollingScheduler);
       this.states.put(
           AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_REMOVAL,
           new WaitForCardRemovalStateAdapter(
-              this.reader, cardRemovalActiveMonitoringJobAdapter, this.executorService));
+              this.reader, cardRemovalActiveMonitoringJobAdapter, this.pollingScheduler));
     } else if (readerSpi instanceof WaitForCardRemovalBlockingSpi) {
       final CardRemovalPassiveMonitoringJobAdapter cardRemovalPassiveMonitoringJobAdapter =
           new CardRemovalPassiveMonitoringJobAdapter(reader);
       states.put(
           AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_REMOVAL,
           new WaitForCardRemovalStateAdapter(
-              this.reader, cardRemovalPassiveMonitoringJobAdapter, this.executorService));
+              this.reader, cardRemovalPassiveMonitoringJobAdapter, getExecutorService()));
     } else {
       throw new IllegalStateException(
           "Reader should implement implement a WaitForCardRemoval interface.");
@@ -147,15 +194,102 @@ final class ObservableReaderStateServiceAdapter {
     switchState(AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_START_DETECTION);
   }
 
+  /**
+   * (private)<br>
+   * Gets the executor service dedicated to the blocking monitoring jobs of this reader, creating it
+   * on first use.
+   *
+   * @return A not null reference.
+   */
+  private ExecutorService getExecutorService() {
+    if (executorService == null) {
+      executorService =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              RELEASED_THREAD_KEEP_ALIVE_MILLIS,
+              TimeUnit.MILLISECONDS,
+              new LinkedBlockingQueue<Runnable>(),
+              new MonitoringThreadFactoryAdapter(
+                  "ReaderMonitoringThread-" + reader.getName(), false));
+    }
+    return executorService;
+  }
+
+  /**
+   * (private)<br>
+   * Lets the thread of the executor service, if any, terminate once idle, or retains it.
+   *
+   * <p>The executor service itself remains usable: a new thread is created when a monitoring job is
+   * submitted again.
+   *
+   * @param release True to release the thread, false to retain it.
+   */
+  private void releaseExecutorThread(boolean release) {
+    if (executorService != null) {
+      executorService.allowCoreThreadTimeOut(release);
+    }
+  }
+
   /**
    * (package-private)<br>
    * Thread safe method to communicate an internal event to this reader Use this method to inform
    * the reader of external event like a tag discovered or a card inserted
    *
+   * <p>The event is posted in the mailbox of the reader and processed asynchronously against the
+   * current state.
+   *
+   * @param event internal event
+   * @since 2.0
+   */
+  void onEvent(ObservableLocalReaderAdapter.InternalEvent event) {
+    onEvent(event, null);
+  }
+
+  /**
+   * (package-private)<br>
+   * Thread safe method to communicate an internal event raised by the monitoring job of a state.
+   *
+   * <p>The event is posted in the mailbox of the reader and is ignored if the provided state is no
+   * longer the current state when the event is processed.
+   *
    * @param event internal event
+   * @param monitoringState the state the monitoring job is running against (null if the event
+   *     targets the current state whatever it is)
    * @since 2.0
    */
-  synchronized void onEvent(ObservableLocalReaderAdapter.InternalEvent event) {
+  void onEvent(
+      final ObservableLocalReaderAdapter.InternalEvent event,
+      final AbstractObservableStateAdapter monitoringState) {
+    post(
+        new Runnable() {
+          @Override
+          public void run() {
+            processEvent(event, monitoringState);
+          }
+        });
+  }
+
+  /**
+   * (private)<br>
+   * Processes an internal event against the current state.
+   *
+   * @param event internal event
+   * @param monitoringState the expected current state, or null
+   */
+  private void processEvent(
+      ObservableLocalReaderAdapter.InternalEvent event,
+      AbstractObservableStateAdapter monitoringState) {
+    if (monitoringState != null && monitoringState != currentState) {
+      if (logger.isTraceEnabled()) {
+        logger.trace(
+            "[{}] Ignore => Event {} raised by the obsolete state {}",
+            this.reader.getName(),
+            event,
+            monitoringState.getMonitoringState());
+      }
+      return;
+    }
     switch (event) {
       case CARD_INSERTED:
       case CARD_REMOVED:
@@ -163,6 +297,7 @@ synchronized void onEvent(ObservableLocalReaderAdapter.InternalEvent event) {
       case TIME_OUT:
         break;
       case START_DETECT:
+        releaseExecutorThread(false);
         readerSpi.onStartDetection();
         break;
       case STOP_DETECT:
@@ -170,17 +305,92 @@ synchronized void onEvent(ObservableLocalReaderAdapter.InternalEvent event) {
         break;
     }
     this.currentState.onEvent(event);
+    if (event == ObservableLocalReaderAdapter.InternalEvent.STOP_DETECT) {
+      releaseExecutorThreadIfIdle();
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Thread safe method to inform the state machine that observers have been removed.
+   *
+   * <p>The thread of the executor service is released if the card detection is stopped and no
+   * observer remains.
+   *
+   * @since 2.0
+   */
+  void onObserversRemoved() {
+    post(
+        new Runnable() {
+          @Override
+          public void run() {
+            releaseExecutorThreadIfIdle();
+          }
+        });
+  }
+
+  /**
+   * (private)<br>
+   * Releases the thread of the executor service if the card detection is stopped and no observer
+   * remains.
+   */
+  private void releaseExecutorThreadIfIdle() {
+    if (currentState.getMonitoringState()
+            == AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_START_DETECTION
+        && reader.countObservers() == 0) {
+      // nobody is waiting for a new detection, the monitoring thread is no longer needed
+      releaseExecutorThread(true);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Adds a task to the mailbox and schedules the drain task if it is not already scheduled.
+   *
+   * @param task The task to add.
+   */
+  private void post(Runnable task) {
+    mailbox.offer(task);
+    if (draining.compareAndSet(false, true)) {
+      eventExecutor.execute(drainTask);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Processes the tasks of the mailbox until it is empty.
+   *
+   * <p>Runtime exceptions are notified to the application through the observation exception handler
+   * of the reader.
+   */
+  private void drainMailbox() {
+    try {
+      Runnable task;
+      while ((task = mailbox.poll()) != null) {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          reader.notifyObservationError(e);
+        }
+      }
+    } finally {
+      draining.set(false);
+      // a task may have been posted after the last poll but before the flag was released
+      if (!mailbox.isEmpty() && draining.compareAndSet(false, true)) {
+        eventExecutor.execute(drainTask);
+      }
+    }
   }
 
   /**
    * (package-private)<br>
-   * Thread safe method to switch the state of this reader should only be invoked by this reader or
-   * its state
+   * Switch the state of this reader should only be invoked by this reader or its state, from the
+   * thread processing the mailbox
    *
    * @param stateId next state to onActivate
    * @since 2.0
    */
-  synchronized void switchState(AbstractObservableStateAdapter.MonitoringState stateId) {
+  void switchState(AbstractObservableStateAdapter.MonitoringState stateId) {
 
     if (currentState != null) {
       if (logger.isTraceEnabled()) {
@@ -199,11 +409,23 @@ synchronized void switchState(AbstractObservableStateAdapter.MonitoringState sta
 
     // switch currentState
     currentState = this.states.get(stateId);
+    metrics.onStateEntered(stateId, System.nanoTime());
 
     // onActivate the new current state
     currentState.onActivate();
   }
 
+  /**
+   * (package-private)<br>
+   * Gets the dwell time and transition recorder of this reader.
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  MonitoringStateMetricsAdapter getMetrics() {
+    return metrics;
+  }
+
   /**
    * (package-private)<br>
    * Get reader current state
@@ -211,7 +433,7 @@ synchronized void switchState(AbstractObservableStateAdapter.MonitoringState sta
    * @return reader current state
    * @since 2.0
    */
-  synchronized AbstractObservableStateAdapter getCurrentState() {
+  AbstractObservableStateAdapter getCurrentState() {
     return currentState;
   }
 
@@ -222,20 +444,36 @@ synchronized AbstractObservableStateAdapter getCurrentState() {
    * @return current monitoring state
    * @since 2.0
    */
-  synchronized AbstractObservableStateAdapter.MonitoringState getCurrentMonitoringState() {
+  AbstractObservableStateAdapter.MonitoringState getCurrentMonitoringState() {
     return this.currentState.getMonitoringState();
   }
 
   /**
    * (package-private)<br>
-   * Shuts down the {@link ExecutorService} of this reader.
+   * Shuts down the {@link ExecutorService} of this reader if any.
    *
    * <p>This method should be invoked when the reader monitoring ends in order to stop any remaining
    * threads.
    *
+   * <p>The shutdown takes place after the processing of the events already posted, followed by the
+   * execution of the provided final task.
+   *
+   * @param finalTask The task to be executed once the pending events have been processed.
    * @since 2.0
    */
-  void shutdown() {
-    executorService.shutdown();
+  void shutdown(final Runnable finalTask) {
+    post(
+        new Runnable() {
+          @Override
+          public void run() {
+            try {
+              if (executorService != null) {
+                executorService.shutdown();
+              }
+            } finally {
+              finalTask.run();
+            }
+          }
+        });
   }
 }
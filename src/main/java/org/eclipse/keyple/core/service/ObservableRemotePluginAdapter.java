@@ -14,8 +14,7 @@
 import static org.eclipse.keyple.core.service.DistributedUtilAdapter.*;
 
 import com.google.gson.JsonObject;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.eclipse.keyple.core.distributed.remote.ObservableRemotePluginApi;
@@ -82,7 +81,7 @@ void notifyObservers(final PluginEvent event) {
           countObservers());
     }
 
-    Set<PluginObserverSpi> observers = observationManager.getObservers();
+    List<PluginObserverSpi> observers = observationManager.getObservers();
 
     for (final PluginObserverSpi observer : observers) {
       eventNotificationExecutorService.execute(
@@ -113,10 +112,9 @@ public void run() {
    */
   @Override
   final void unregister() {
-    Set<String> unregisteredReaderNames = new HashSet<String>(this.getReaderNames());
     notifyObservers(
         new PluginEventAdapter(
-            this.getName(), unregisteredReaderNames, PluginEvent.Type.UNAVAILABLE));
+            this.getName(), getReaderNamesSnapshot(), PluginEvent.Type.UNAVAILABLE));
     clearObservers();
     super.unregister();
   }
@@ -261,7 +259,7 @@ public void addRemoteReader(RemoteReaderSpi remoteReaderSpi) {
     }
 
     // Register the reader.
-    getReadersMap().put(remoteReaderAdapter.getName(), remoteReaderAdapter);
+    addReaderToMap(remoteReaderAdapter);
     remoteReaderAdapter.register();
 
     // Notify observers for a plugin event.
@@ -287,7 +285,7 @@ public void removeRemoteReader(String remoteReaderName) {
     Reader reader = getReader(remoteReaderName);
 
     if (reader instanceof RemoteReaderAdapter) {
-      getReadersMap().remove(reader.getName());
+      removeReaderFromMap(reader);
       ((RemoteReaderAdapter) reader).unregister();
     } else {
       throw new IllegalArgumentException("The reader is not found, not registered or not remote.");
@@ -77,7 +77,7 @@ void notifyObservers(final ReaderEvent event) {
           countObservers());
     }
 
-    Set<CardReaderObserverSpi> observersCopy = observationManager.getObservers();
+    List<CardReaderObserverSpi> observersCopy = observationManager.getObservers();
 
     for (final CardReaderObserverSpi observer : observersCopy) {
       eventNotificationExecutorService.execute(
@@ -11,7 +11,10 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import org.eclipse.keyple.core.util.Assert;
 import org.slf4j.Logger;
@@ -36,6 +39,7 @@
   private final String ownerComponent;
   private final Set<T> observers;
   private final Object monitor;
+  private volatile List<T> observersSnapshot;
 
   private S exceptionHandler;
 
@@ -55,6 +59,15 @@
     }
     this.observers = new LinkedHashSet<T>(1);
     this.monitor = new Object();
+    this.observersSnapshot = Collections.emptyList();
+  }
+
+  /**
+   * (private)<br>
+   * Rebuilds the immutable snapshot of the observers, must be called while holding the monitor.
+   */
+  private void updateObserversSnapshot() {
+    observersSnapshot = Collections.unmodifiableList(new ArrayList<T>(observers));
   }
 
   /**
@@ -78,7 +91,9 @@ void addObserver(T observer) {
       throw new IllegalStateException("No exception handler defined.");
     }
     synchronized (monitor) {
-      observers.add(observer);
+      if (observers.add(observer)) {
+        updateObserversSnapshot();
+      }
     }
   }
 
@@ -98,7 +113,9 @@ void removeObserver(T observer) {
           observer != null ? observer.getClass().getSimpleName() : null);
     }
     synchronized (monitor) {
-      observers.remove(observer);
+      if (observers.remove(observer)) {
+        updateObserversSnapshot();
+      }
     }
   }
 
@@ -114,6 +131,7 @@ void clearObservers() {
     }
     synchronized (monitor) {
       observers.clear();
+      updateObserversSnapshot();
     }
   }
 
@@ -125,7 +143,7 @@ void clearObservers() {
    * @since 2.0
    */
   int countObservers() {
-    return observers.size();
+    return observersSnapshot.size();
   }
 
   /**
@@ -143,15 +161,16 @@ void setObservationExceptionHandler(S exceptionHandler) {
 
   /**
    * (package-private)<br>
-   * Gets a copy of the set of all observers.
+   * Gets an immutable snapshot of all observers, in the order of their addition.
    *
-   * @return A not null copy.
+   * <p>The snapshot is shared and only rebuilt when an observer is added or removed, it can
+   * therefore be iterated by index without any allocation during the notifications.
+   *
+   * @return A not null immutable reference.
    * @since 2.0
    */
-  Set<T> getObservers() {
-    synchronized (monitor) {
-      return new LinkedHashSet<T>(observers);
-    }
+  List<T> getObservers() {
+    return observersSnapshot;
   }
 
   /**
@@ -0,0 +1,249 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import org.calypsonet.terminal.reader.CardReaderEvent;
+import org.calypsonet.terminal.reader.spi.CardReaderObserverSpi;
+
+/**
+ * (package-private)<br>
+ * Bounded queue of the reader events to be notified asynchronously to a single observer of an
+ * {@link ObservableLocalReaderAdapter}.
+ *
+ * <p>The events are notified in the order of their arrival by a drain task executed by the executor
+ * shared by all readers, so that a slow observer delays neither the card detection nor the other
+ * observers.<br>
+ * When the queue is full, the {@link ObservableLocalReader.NotificationOverflowPolicy} provided at
+ * creation is applied.
+ *
+ * @since 2.0
+ */
+final class ObserverNotificationQueueAdapter {
+
+  private final ObservableLocalReaderAdapter reader;
+  private final CardReaderObserverSpi observer;
+  private final int capacity;
+  private final ObservableLocalReader.NotificationOverflowPolicy overflowPolicy;
+  private final ExecutorService executor;
+
+  /* Pending events, guarded by this */
+  private final ArrayDeque<ReaderEvent> events;
+
+  /* Indicates whether a drain task is scheduled or running, guarded by this */
+  private boolean draining;
+
+  /* Indicates whether the observer has been removed, guarded by this */
+  private boolean closed;
+
+  private final AtomicLong dropCount = new AtomicLong();
+
+  /* Drain task notifying the pending events */
+  private final Runnable drainTask =
+      new Runnable() {
+        @Override
+        public void run() {
+          drain();
+        }
+      };
+
+  /**
+   * (package-private)<br>
+   * Constructor.
+   *
+   * @param reader The reader notifying the events.
+   * @param observer The observer to notify.
+   * @param capacity The maximum number of pending events (must be &gt;= 1).
+   * @param overflowPolicy The policy to apply when the queue is full.
+   * @param executor The executor running the drain task.
+   * @since 2.0
+   */
+  ObserverNotificationQueueAdapter(
+      ObservableLocalReaderAdapter reader,
+      CardReaderObserverSpi observer,
+      int capacity,
+      ObservableLocalReader.NotificationOverflowPolicy overflowPolicy,
+      ExecutorService executor) {
+    this.reader = reader;
+    this.observer = observer;
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.executor = executor;
+    this.events = new ArrayDeque<ReaderEvent>(capacity);
+  }
+
+  /**
+   * (package-private)<br>
+   * Adds an event to the queue, applying the overflow policy if the queue is full, and schedules
+   * the drain task if it is not already scheduled.
+   *
+   * <p>With the {@link ObservableLocalReader.NotificationOverflowPolicy#BLOCK} policy, the calling
+   * thread waits until the queue has room for the event. The event is dropped if the thread is
+   * interrupted while waiting or if the queue is closed meanwhile.<br>
+   * The calling thread being the one processing the state machine of the reader, the processing of
+   * the other events of the reader is suspended while waiting.
+   *
+   * <p>The event is ignored if the queue is closed.
+   *
+   * @param event The event to notify.
+   * @since 2.0
+   */
+  void post(ReaderEvent event) {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      if (events.size() >= capacity) {
+        switch (overflowPolicy) {
+          case BLOCK:
+            while (events.size() >= capacity && !closed) {
+              try {
+                wait();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropCount.incrementAndGet();
+                return;
+              }
+            }
+            if (closed) {
+              return;
+            }
+            break;
+          case COALESCE:
+            if (coalesce(event)) {
+              return;
+            }
+            break;
+          case DROP_OLDEST:
+          default:
+            events.pollFirst();
+            dropCount.incrementAndGet();
+            break;
+        }
+      }
+      events.addLast(event);
+      if (draining) {
+        return;
+      }
+      draining = true;
+    }
+    executor.execute(drainTask);
+  }
+
+  /**
+   * (private)<br>
+   * Makes room in the full queue by removing a pending card insertion immediately followed by the
+   * removal of the card, or the oldest event if there is no such pair.
+   *
+   * <p>If the provided event is a card removal following a pending card insertion, both cancel each
+   * other out and the event does not have to be queued.
+   *
+   * @param event The event to queue.
+   * @return True if the event has been absorbed, false if it still has to be queued.
+   */
+  private boolean coalesce(ReaderEvent event) {
+    if (event.getType() == CardReaderEvent.Type.CARD_REMOVED && isInsertion(events.peekLast())) {
+      events.pollLast();
+      dropCount.addAndGet(2);
+      return true;
+    }
+    // the payload-less events are shared instances, the pair is located by position
+    ReaderEvent[] pending = events.toArray(new ReaderEvent[events.size()]);
+    for (int i = 1; i < pending.length; i++) {
+      if (pending[i].getType() == CardReaderEvent.Type.CARD_REMOVED
+          && isInsertion(pending[i - 1])) {
+        events.clear();
+        for (int j = 0; j < pending.length; j++) {
+          if (j != i - 1 && j != i) {
+            events.addLast(pending[j]);
+          }
+        }
+        dropCount.addAndGet(2);
+        return false;
+      }
+    }
+    events.pollFirst();
+    dropCount.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * (private)<br>
+   * Indicates whether the provided event notifies the insertion of a card.
+   *
+   * @param event The event (may be null).
+   * @return True if the event is a card insertion or a card match.
+   */
+  private static boolean isInsertion(ReaderEvent event) {
+    return event != null
+        && (event.getType() == CardReaderEvent.Type.CARD_INSERTED
+            || event.getType() == CardReaderEvent.Type.CARD_MATCHED);
+  }
+
+  /**
+   * (private)<br>
+   * Notifies the pending events until the queue is empty.
+   */
+  private void drain() {
+    ReaderEvent event;
+    while (true) {
+      synchronized (this) {
+        event = closed ? null : events.pollFirst();
+        if (event == null) {
+          draining = false;
+          return;
+        }
+        notifyAll();
+      }
+      reader.notifyObserver(observer, event);
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Closes the queue once its observer has been removed.
+   *
+   * <p>The pending events are dropped without being notified, the events posted afterwards are
+   * ignored and the threads waiting for room in the queue are released.
+   *
+   * @since 2.0
+   */
+  synchronized void close() {
+    closed = true;
+    events.clear();
+    notifyAll();
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the number of events waiting to be notified.
+   *
+   * @return A positive int.
+   * @since 2.0
+   */
+  synchronized int getDepth() {
+    return events.size();
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the number of events dropped because the queue was full.
+   *
+   * @return A positive long.
+   * @since 2.0
+   */
+  long getDropCount() {
+    return dropCount.get();
+  }
+}
@@ -40,7 +40,9 @@ public interface PluginEvent {
   /**
    * Gets the names of the readers related to the event in the form of a sorted set.
    *
-   * @return A not null reference.
+   * <p>The set is shared by all the observers notified of the event and cannot be modified.
+   *
+   * @return A not null unmodifiable reference.
    * @since 2.0
    */
   SortedSet<String> getReaderNames();
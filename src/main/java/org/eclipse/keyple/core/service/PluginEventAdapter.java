@@ -50,7 +50,8 @@ final class PluginEventAdapter implements PluginEvent {
    */
   PluginEventAdapter(String pluginName, String readerName, Type type) {
     this.pluginName = pluginName;
-    this.readerNames = new TreeSet<String>(Collections.singleton(readerName));
+    this.readerNames =
+        Collections.unmodifiableSortedSet(new TreeSet<String>(Collections.singleton(readerName)));
     this.type = type;
   }
 
@@ -70,7 +71,29 @@ final class PluginEventAdapter implements PluginEvent {
    */
   PluginEventAdapter(String pluginName, Set<String> readerNames, Type type) {
     this.pluginName = pluginName;
-    this.readerNames = new TreeSet<String>(readerNames);
+    this.readerNames = Collections.unmodifiableSortedSet(new TreeSet<String>(readerNames));
+    this.type = type;
+  }
+
+  /**
+   * (package-private)<br>
+   * Create a PluginEvent for multiple readers from the plugin name, an immutable set of reader
+   * names and the type of event.
+   *
+   * <p>The provided set is not copied, it is shared by the event and must therefore never be
+   * modified (e.g. the snapshot provided by {@link
+   * AbstractPluginAdapter#getReaderNamesSnapshot()}).
+   *
+   * @param pluginName A string containing the name of the plugin (must be not empty).
+   * @param readerNames An immutable sorted set of string containing the readers names (must be not
+   *     empty).
+   * @param type An event type {@link Type#READER_CONNECTED} or {@link Type#READER_DISCONNECTED}
+   *     (must be not null).
+   * @since 2.0
+   */
+  PluginEventAdapter(String pluginName, SortedSet<String> readerNames, Type type) {
+    this.pluginName = pluginName;
+    this.readerNames = readerNames;
     this.type = type;
   }
 
@@ -0,0 +1,92 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+/**
+ * (package-private)<br>
+ * Polling cadence of an {@link ObservableLocalReaderAdapter}, shared by its active monitoring jobs.
+ *
+ * <p>The cycle duration starts from a fast bound each time a monitoring job is activated and is
+ * doubled after each unsuccessful poll, up to a slow bound.<br>
+ * When both bounds are equal, the cycle duration is fixed.
+ *
+ * @since 2.0
+ */
+final class PollingCadenceAdapter {
+
+  private volatile int fastCycleDurationMillis;
+  private volatile int slowCycleDurationMillis;
+  private volatile int currentCycleDurationMillis;
+
+  /**
+   * (package-private)<br>
+   * Creates a fixed cadence.
+   *
+   * @param cycleDurationMillis The cycle duration in milliseconds.
+   * @since 2.0
+   */
+  PollingCadenceAdapter(int cycleDurationMillis) {
+    setBounds(cycleDurationMillis, cycleDurationMillis);
+  }
+
+  /**
+   * (package-private)<br>
+   * Sets the bounds of the cycle duration.
+   *
+   * @param fastCycleDurationMillis The minimum cycle duration in milliseconds.
+   * @param slowCycleDurationMillis The maximum cycle duration in milliseconds.
+   * @since 2.0
+   */
+  void setBounds(int fastCycleDurationMillis, int slowCycleDurationMillis) {
+    this.fastCycleDurationMillis = fastCycleDurationMillis;
+    this.slowCycleDurationMillis = slowCycleDurationMillis;
+    this.currentCycleDurationMillis = fastCycleDurationMillis;
+  }
+
+  /**
+   * (package-private)<br>
+   * Restarts the cadence from the fast cycle duration.
+   *
+   * @since 2.0
+   */
+  void reset() {
+    currentCycleDurationMillis = fastCycleDurationMillis;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the duration to wait before the next poll and backs off the cadence for the following one.
+   *
+   * @return A positive int.
+   * @since 2.0
+   */
+  int nextCycleDuration() {
+    int cycleDurationMillis = currentCycleDurationMillis;
+    int slowBound = slowCycleDurationMillis;
+    if (cycleDurationMillis < slowBound) {
+      currentCycleDurationMillis =
+          cycleDurationMillis > slowBound / 2 ? slowBound : cycleDurationMillis * 2;
+    }
+    return cycleDurationMillis;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the current cycle duration.
+   *
+   * @return A positive int.
+   * @since 2.0
+   */
+  int getCurrentCycleDuration() {
+    return currentCycleDurationMillis;
+  }
+}
@@ -0,0 +1,180 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * (package-private)<br>
+ * Bounded cache remembering, for each type of card identified by its protocol and its power-on
+ * data, the power-on data regular expressions that rejected it.
+ *
+ * <p>Only rejections are cached: the outcome of a regular expression on given power-on data never
+ * changes, so skipping its evaluation cannot alter the selection result. The least recently used
+ * type of card is evicted when the capacity is reached.
+ *
+ * @since 2.0
+ */
+final class PowerOnDataNegativeCacheAdapter {
+
+  private final Map<CardType, CardType> cardTypes;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  /* Type of the last card looked up, checked first since it is usually the current card */
+  private volatile CardType lastCardType;
+
+  /**
+   * (package-private)<br>
+   * Constructor.
+   *
+   * @param capacity The maximum number of types of card remembered (must be &gt; 0).
+   * @since 2.0
+   */
+  PowerOnDataNegativeCacheAdapter(final int capacity) {
+    cardTypes =
+        new LinkedHashMap<CardType, CardType>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<CardType, CardType> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether the provided power-on data are accepted by the selector, using the cache when
+   * possible.
+   *
+   * <p>The successive lookups made for the same card, one per card selector, neither allocate nor
+   * lock: only a change of type of card requires a lookup in the map of the known types.
+   *
+   * @param protocol The current protocol (may be null).
+   * @param powerOnData The power-on data (may be null).
+   * @param cardSelector The compiled card selector.
+   * @return The same result as {@link CompiledCardSelectorAdapter#acceptsPowerOnData(String)}.
+   * @since 2.0
+   */
+  boolean acceptsPowerOnData(
+      String protocol, String powerOnData, CompiledCardSelectorAdapter cardSelector) {
+    String regex = cardSelector.getPowerOnDataRegex();
+    if (powerOnData == null || regex == null) {
+      // nothing to evaluate
+      return true;
+    }
+    CardType cardType = getCardType(protocol, powerOnData);
+    if (cardType.rejectedRegexes.contains(regex)) {
+      hitCount.incrementAndGet();
+      return false;
+    }
+    missCount.incrementAndGet();
+    if (cardSelector.acceptsPowerOnData(powerOnData)) {
+      return true;
+    }
+    cardType.rejectedRegexes.add(regex);
+    return false;
+  }
+
+  /**
+   * (private)<br>
+   * Gets the entry of the provided type of card, creating it if needed.
+   *
+   * @param protocol The current protocol (may be null).
+   * @param powerOnData The power-on data.
+   * @return A not null reference.
+   */
+  private CardType getCardType(String protocol, String powerOnData) {
+    CardType cardType = lastCardType;
+    if (cardType != null && cardType.isSameType(protocol, powerOnData)) {
+      return cardType;
+    }
+    CardType newCardType = new CardType(protocol, powerOnData);
+    synchronized (cardTypes) {
+      cardType = cardTypes.get(newCardType);
+      if (cardType == null) {
+        cardType = newCardType;
+        cardTypes.put(cardType, cardType);
+      }
+    }
+    lastCardType = cardType;
+    return cardType;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the number of evaluations avoided.
+   *
+   * @return A positive or zero long.
+   * @since 2.0
+   */
+  long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the number of evaluations performed.
+   *
+   * @return A positive or zero long.
+   * @since 2.0
+   */
+  long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * (private)<br>
+   * A type of card and the power-on data regular expressions that rejected it.
+   *
+   * <p>The equality only depends on the protocol and the power-on data.
+   */
+  private static final class CardType {
+
+    private final String protocol;
+    private final String powerOnData;
+    private final Set<String> rejectedRegexes =
+        Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private CardType(String protocol, String powerOnData) {
+      this.protocol = protocol;
+      this.powerOnData = powerOnData;
+    }
+
+    private boolean isSameType(String protocol, String powerOnData) {
+      return (this.protocol != null ? this.protocol.equals(protocol) : protocol == null)
+          && this.powerOnData.equals(powerOnData);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CardType)) {
+        return false;
+      }
+      CardType cardType = (CardType) o;
+      return isSameType(cardType.protocol, cardType.powerOnData);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = protocol != null ? protocol.hashCode() : 0;
+      return 31 * result + powerOnData.hashCode();
+    }
+  }
+}
@@ -0,0 +1,280 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * (package-private)<br>
+ * Reentrant lock giving a thread exclusive access to a local reader, with wait and hold time
+ * statistics of the sessions.
+ *
+ * <p>The sessions are the acquisitions explicitly requested by the application. Only the outermost
+ * session of a thread is measured. The acquisitions made internally for each exchange with the card
+ * are not measured, so that the statistics reveal the contention between sessions.
+ *
+ * <p>The underlying lock is fair: waiting threads acquire it in arrival order. When the fairness is
+ * disabled, an acquisition first attempts to take the lock immediately if it is free, ahead of the
+ * waiting threads. The fairness is thus approximate: an acquisition that does not find the lock
+ * free always waits in arrival order.
+ *
+ * @since 2.0
+ */
+final class ReaderSessionLockAdapter {
+
+  private static final long NANOS_PER_MILLI = 1000000L;
+
+  private final ReentrantLock lock = new ReentrantLock(true);
+  private volatile boolean isFair;
+
+  private final AtomicLong sessionCount = new AtomicLong();
+  private final AtomicLong totalWaitNanos = new AtomicLong();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+  private final AtomicLong totalHoldNanos = new AtomicLong();
+  private final AtomicLong maxHoldNanos = new AtomicLong();
+
+  /** number of nested sessions, only accessed by the thread holding the lock */
+  private int sessionHoldCount;
+
+  /** time of the outermost session acquisition, only accessed by the thread holding the lock */
+  private long acquisitionNanos;
+
+  /**
+   * (package-private)<br>
+   * Sets the fairness of the acquisitions.
+   *
+   * @param isFair True if the acquisitions must respect the arrival order.
+   * @since 2.0
+   */
+  void setFair(boolean isFair) {
+    this.isFair = isFair;
+  }
+
+  /**
+   * (package-private)<br>
+   * Acquires the lock for a session, waiting as long as necessary.
+   *
+   * @since 2.0
+   */
+  void acquire() {
+    long startNanos = System.nanoTime();
+    takeLock();
+    onSessionAcquired(startNanos);
+  }
+
+  /**
+   * (package-private)<br>
+   * Acquires the lock for a session if it becomes available within the provided timeout.
+   *
+   * <p>If the current thread is interrupted while waiting, its interrupted status is restored and
+   * the lock is not acquired.
+   *
+   * @param timeoutMillis The maximum time to wait in milliseconds.
+   * @return True if the lock was acquired.
+   * @since 2.0
+   */
+  boolean tryAcquire(long timeoutMillis) {
+    long startNanos = System.nanoTime();
+    boolean isAcquired = !isFair && lock.tryLock();
+    if (!isAcquired) {
+      try {
+        isAcquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (isAcquired) {
+      onSessionAcquired(startNanos);
+    }
+    return isAcquired;
+  }
+
+  /**
+   * (package-private)<br>
+   * Releases the lock acquired for a session.
+   *
+   * @throws IllegalStateException If no session is held by the current thread.
+   * @since 2.0
+   */
+  void release() {
+    if (!lock.isHeldByCurrentThread() || sessionHoldCount == 0) {
+      throw new IllegalStateException("The reader is not acquired by the current thread.");
+    }
+    if (--sessionHoldCount == 0) {
+      long holdNanos = System.nanoTime() - acquisitionNanos;
+      totalHoldNanos.addAndGet(holdNanos);
+      updateMax(maxHoldNanos, holdNanos);
+    }
+    lock.unlock();
+  }
+
+  /**
+   * (package-private)<br>
+   * Acquires the lock for an internal task, such as an exchange with the card, waiting as long as
+   * necessary.
+   *
+   * <p>This acquisition is not measured.
+   *
+   * @see #releaseFromInternalTask()
+   * @since 2.0
+   */
+  void acquireForInternalTask() {
+    takeLock();
+  }
+
+  /**
+   * (package-private)<br>
+   * Releases the lock acquired with {@link #acquireForInternalTask()}.
+   *
+   * @since 2.0
+   */
+  void releaseFromInternalTask() {
+    lock.unlock();
+  }
+
+  /**
+   * (package-private)<br>
+   * Acquires the lock for a background task, only if no other thread holds it or waits for it.
+   *
+   * <p>This acquisition never waits and is not measured. If the current thread already holds the
+   * lock, it is acquired again.
+   *
+   * @return True if the lock was acquired, false if the task must be skipped.
+   * @see #releaseFromBackgroundTask()
+   * @since 2.0
+   */
+  boolean tryAcquireForBackgroundTask() {
+    if (lock.isHeldByCurrentThread()) {
+      lock.lock();
+      return true;
+    }
+    return !lock.hasQueuedThreads() && lock.tryLock();
+  }
+
+  /**
+   * (package-private)<br>
+   * Releases the lock acquired with {@link #tryAcquireForBackgroundTask()}.
+   *
+   * @since 2.0
+   */
+  void releaseFromBackgroundTask() {
+    lock.unlock();
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether the lock is held by the current thread.
+   *
+   * @return True if the lock is held by the current thread.
+   * @since 2.0
+   */
+  boolean isHeldByCurrentThread() {
+    return lock.isHeldByCurrentThread();
+  }
+
+  /**
+   * (private)<br>
+   * Takes the lock according to the fairness, waiting as long as necessary.
+   */
+  private void takeLock() {
+    if (isFair || !lock.tryLock()) {
+      lock.lock();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Records the statistics of a session acquisition.
+   *
+   * @param startNanos The time at which the acquisition was requested.
+   */
+  private void onSessionAcquired(long startNanos) {
+    if (sessionHoldCount++ == 0) {
+      acquisitionNanos = System.nanoTime();
+      long waitNanos = acquisitionNanos - startNanos;
+      sessionCount.incrementAndGet();
+      totalWaitNanos.addAndGet(waitNanos);
+      updateMax(maxWaitNanos, waitNanos);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Updates a maximum value.
+   *
+   * @param max The maximum value to update.
+   * @param value The new value.
+   */
+  private static void updateMax(AtomicLong max, long value) {
+    long current = max.get();
+    while (value > current && !max.compareAndSet(current, value)) {
+      current = max.get();
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the number of outermost session acquisitions.
+   *
+   * @return A positive or zero long.
+   * @since 2.0
+   */
+  long getSessionCount() {
+    return sessionCount.get();
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the total time spent waiting for the lock by the sessions.
+   *
+   * @return A positive or zero long representing a number of milliseconds.
+   * @since 2.0
+   */
+  long getTotalWaitTime() {
+    return totalWaitNanos.get() / NANOS_PER_MILLI;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the longest time spent waiting for the lock by a session.
+   *
+   * @return A positive or zero long representing a number of milliseconds.
+   * @since 2.0
+   */
+  long getMaxWaitTime() {
+    return maxWaitNanos.get() / NANOS_PER_MILLI;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the total time during which the lock was held by the sessions.
+   *
+   * @return A positive or zero long representing a number of milliseconds.
+   * @since 2.0
+   */
+  long getTotalHoldTime() {
+    return totalHoldNanos.get() / NANOS_PER_MILLI;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the longest time during which the lock was held by a session.
+   *
+   * @return A positive or zero long representing a number of milliseconds.
+   * @since 2.0
+   */
+  long getMaxHoldTime() {
+    return maxHoldNanos.get() / NANOS_PER_MILLI;
+  }
+}
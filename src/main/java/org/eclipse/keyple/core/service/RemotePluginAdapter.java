@@ -112,7 +112,7 @@ final void register() throws PluginIOException {
         remoteReaderAdapter = new RemoteReaderAdapter(remoteReaderSpi, getName());
       }
 
-      getReadersMap().put(readerName, remoteReaderAdapter);
+      addReaderToMap(remoteReaderAdapter);
       remoteReaderAdapter.register();
     }
   }
@@ -138,7 +138,7 @@ public Reader allocateReader(String readerGroupReference) {
     RemoteReaderSpi remoteReaderSpi = remotePoolPluginSpi.createRemoteReader(readerName);
     RemoteReaderAdapter remoteReaderAdapter = new RemoteReaderAdapter(remoteReaderSpi, getName());
 
-    getReadersMap().put(remoteReaderSpi.getName(), remoteReaderAdapter);
+    addReaderToMap(remoteReaderAdapter);
     remoteReaderAdapter.register();
     return remoteReaderAdapter;
   }
@@ -174,7 +174,7 @@ public void releaseReader(Reader reader) {
     } catch (Exception e) {
       throwRuntimeException(e);
     } finally {
-      getReadersMap().remove(reader.getName());
+      removeReaderFromMap(reader);
       ((LocalReaderAdapter) reader).unregister();
     }
   }
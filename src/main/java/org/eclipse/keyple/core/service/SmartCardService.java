@@ -119,6 +119,8 @@ DistributedLocalService registerDistributedLocalService(
   /**
    * Create a new instance of a {@link CardSelectionManager} in order to perform a card selection.
    *
+   * <p>The instance also implements {@link KeypleCardSelectionManager}.
+   *
    * @return A not null reference.
    * @since 2.0
    */
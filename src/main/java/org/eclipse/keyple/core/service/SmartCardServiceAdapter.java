@@ -15,6 +15,14 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.calypsonet.terminal.card.AbstractApduException;
 import org.calypsonet.terminal.card.CardApiProperties;
 import org.calypsonet.terminal.reader.ReaderApiProperties;
@@ -48,9 +56,31 @@ final class SmartCardServiceAdapter implements SmartCardService {
 
   private static final SmartCardServiceAdapter INSTANCE = new SmartCardServiceAdapter();
 
+  private static final int POLLING_THREAD_COUNT =
+      Math.max(2, Runtime.getRuntime().availableProcessors());
+  private static final long READER_EVENT_THREAD_KEEP_ALIVE_SECONDS = 60;
+
   private final Map<String, Plugin> plugins = new ConcurrentHashMap<String, Plugin>();
   private final Object pluginMonitor = new Object();
 
+  /**
+   * registered readers by name, in their order of registration, the first one being the one found,
+   * each array being replaced and never modified
+   */
+  private final Map<String, DirectoryEntry[]> readerDirectory =
+      new ConcurrentHashMap<String, DirectoryEntry[]>();
+
+  private final Object readerDirectoryMonitor = new Object();
+
+  private ScheduledExecutorService pollingScheduler;
+  private final Object pollingSchedulerMonitor = new Object();
+
+  private ExecutorService readerEventExecutor;
+  private final Object readerEventExecutorMonitor = new Object();
+
+  private ExecutorService observerNotificationExecutor;
+  private final Object observerNotificationExecutorMonitor = new Object();
+
   private final Map<String, DistributedLocalService> distributedLocalServices =
       new ConcurrentHashMap<String, DistributedLocalService>();
   private final Object distributedLocalServiceMonitor = new Object();
@@ -472,6 +502,197 @@ public Plugin getPlugin(String pluginName) {
     return plugins.get(pluginName);
   }
 
+  /**
+   * (package-private)<br>
+   * References a reader and its owning plugin in the reader directory of the service.
+   *
+   * <p>This method is invoked by the plugins each time a reader is added to their list of readers.
+   *
+   * <p>If a reader with the same name is already referenced by another plugin, the reader
+   * registered first remains the one found by its name, the new one being found only once the first
+   * one is removed.
+   *
+   * @param plugin The plugin owning the reader.
+   * @param reader The reader.
+   * @since 2.0
+   */
+  void registerReader(Plugin plugin, Reader reader) {
+    String readerName = reader.getName();
+    synchronized (readerDirectoryMonitor) {
+      DirectoryEntry[] entries = readerDirectory.get(readerName);
+      if (entries == null) {
+        readerDirectory.put(readerName, new DirectoryEntry[] {new DirectoryEntry(plugin, reader)});
+        return;
+      }
+      logger.warn(
+          "The reader '{}' of plugin '{}' has the same name as a reader of plugin '{}'. The latter remains the one found by name.",
+          readerName,
+          plugin.getName(),
+          entries[0].plugin.getName());
+      DirectoryEntry[] newEntries = new DirectoryEntry[entries.length + 1];
+      System.arraycopy(entries, 0, newEntries, 0, entries.length);
+      newEntries[entries.length] = new DirectoryEntry(plugin, reader);
+      readerDirectory.put(readerName, newEntries);
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Removes a reader from the reader directory of the service.
+   *
+   * <p>Only the entry referencing the provided reader and plugin is removed, so that a reader with
+   * the same name registered by another plugin is preserved and found again by its name.
+   *
+   * @param plugin The plugin owning the reader.
+   * @param reader The reader.
+   * @since 2.0
+   */
+  void unregisterReader(Plugin plugin, Reader reader) {
+    String readerName = reader.getName();
+    synchronized (readerDirectoryMonitor) {
+      DirectoryEntry[] entries = readerDirectory.get(readerName);
+      if (entries == null) {
+        return;
+      }
+      for (int i = 0; i < entries.length; i++) {
+        if (entries[i].plugin == plugin && entries[i].reader == reader) {
+          if (entries.length == 1) {
+            readerDirectory.remove(readerName);
+          } else {
+            DirectoryEntry[] newEntries = new DirectoryEntry[entries.length - 1];
+            System.arraycopy(entries, 0, newEntries, 0, i);
+            System.arraycopy(entries, i + 1, newEntries, i, entries.length - i - 1);
+            readerDirectory.put(readerName, newEntries);
+          }
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Finds a reader by its name among the readers of all plugins.
+   *
+   * @param readerName The name of the reader.
+   * @return Null if no reader with this name is currently available.
+   * @since 2.0
+   */
+  Reader findReader(String readerName) {
+    DirectoryEntry[] entries = readerDirectory.get(readerName);
+    return entries != null ? entries[0].reader : null;
+  }
+
+  /**
+   * (package-private)<br>
+   * Finds the plugin owning the reader having the provided name.
+   *
+   * @param readerName The name of the reader.
+   * @return Null if no reader with this name is currently available.
+   * @since 2.0
+   */
+  Plugin findReaderPlugin(String readerName) {
+    DirectoryEntry[] entries = readerDirectory.get(readerName);
+    return entries != null ? entries[0].plugin : null;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the scheduler shared by all observable local readers to execute their card presence
+   * polling cycles.
+   *
+   * <p>The scheduler is created on first use and relies on a small fixed pool of daemon threads,
+   * whose size does not depend on the number of readers.
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  ScheduledExecutorService getPollingScheduler() {
+    synchronized (pollingSchedulerMonitor) {
+      if (pollingScheduler == null) {
+        pollingScheduler =
+            Executors.newScheduledThreadPool(
+                POLLING_THREAD_COUNT,
+                new ThreadFactory() {
+                  private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+                  @Override
+                  public Thread newThread(Runnable runnable) {
+                    Thread thread =
+                        new Thread(runnable, "keyple-polling-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                  }
+                });
+      }
+      return pollingScheduler;
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the executor shared by all observable local readers to process the events of their
+   * monitoring state machine.
+   *
+   * <p>The executor is created on first use. Its number of threads is not bounded: each reader
+   * processes its events serially and only occupies a thread while it has events to process, so
+   * that a reader whose observers or selection take time never delays the events of the other
+   * readers. The threads are daemon platform threads released after a period of inactivity, or
+   * virtual threads when enabled (see {@link MonitoringThreadFactoryAdapter}).
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  ExecutorService getReaderEventExecutor() {
+    synchronized (readerEventExecutorMonitor) {
+      if (readerEventExecutor == null) {
+        readerEventExecutor = createElasticExecutor("keyple-reader-event");
+      }
+      return readerEventExecutor;
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the executor shared by all observable local readers to notify their observers
+   * asynchronously.
+   *
+   * <p>It is distinct from the executor processing the events of the state machines, which may wait
+   * for the notifications to progress with the {@link
+   * ObservableLocalReader.NotificationOverflowPolicy#BLOCK} policy.<br>
+   * The executor is created on first use, with the same thread policy as the one processing the
+   * events.
+   *
+   * @return A not null reference.
+   * @since 2.0
+   */
+  ExecutorService getObserverNotificationExecutor() {
+    synchronized (observerNotificationExecutorMonitor) {
+      if (observerNotificationExecutor == null) {
+        observerNotificationExecutor = createElasticExecutor("keyple-observer-notification");
+      }
+      return observerNotificationExecutor;
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Creates an executor starting a new monitoring thread whenever none is idle, the threads being
+   * released after a period of inactivity.
+   *
+   * @param threadNamePrefix The prefix of the name of the threads.
+   * @return A not null reference.
+   */
+  private static ExecutorService createElasticExecutor(String threadNamePrefix) {
+    return new ThreadPoolExecutor(
+        0,
+        Integer.MAX_VALUE,
+        READER_EVENT_THREAD_KEEP_ALIVE_SECONDS,
+        TimeUnit.SECONDS,
+        new SynchronousQueue<Runnable>(),
+        new MonitoringThreadFactoryAdapter(threadNamePrefix, true));
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -582,4 +803,25 @@ public DistributedLocalService getDistributedLocalService(String distributedLoca
   public CardSelectionManager createCardSelectionManager() {
     return new CardSelectionManagerAdapter();
   }
+
+  /**
+   * (private)<br>
+   * Entry of the reader directory, associating a reader with its owning plugin.
+   */
+  private static final class DirectoryEntry {
+
+    private final Plugin plugin;
+    private final Reader reader;
+
+    /**
+     * Constructor.
+     *
+     * @param plugin The plugin owning the reader.
+     * @param reader The reader.
+     */
+    DirectoryEntry(Plugin plugin, Reader reader) {
+      this.plugin = plugin;
+      this.reader = reader;
+    }
+  }
 }
@@ -0,0 +1,114 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * (package-private)<br>
+ * Immutable set of status words stored as a sorted array of primitive ints.
+ *
+ * <p>Checking whether a status word belongs to the set involves neither boxing nor hashing, unlike
+ * the {@code Set<Integer>} of the public contracts it is built from.
+ *
+ * @since 2.0
+ */
+final class StatusWordSetAdapter {
+
+  private static final StatusWordSetAdapter EMPTY = new StatusWordSetAdapter(new int[0]);
+
+  private final int[] statusWords;
+
+  /**
+   * (private)<br>
+   * Constructor.
+   *
+   * @param statusWords The sorted status words, without duplicates.
+   */
+  private StatusWordSetAdapter(int[] statusWords) {
+    this.statusWords = statusWords;
+  }
+
+  /**
+   * (package-private)<br>
+   * Builds a set containing the provided status words.
+   *
+   * @param statusWords The status words (may be null, null elements are ignored).
+   * @return A not null reference.
+   * @since 2.0
+   */
+  static StatusWordSetAdapter of(Set<Integer> statusWords) {
+    if (statusWords == null || statusWords.isEmpty()) {
+      return EMPTY;
+    }
+    int[] values = new int[statusWords.size()];
+    int count = 0;
+    for (Integer statusWord : statusWords) {
+      if (statusWord != null) {
+        values[count++] = statusWord;
+      }
+    }
+    if (count < values.length) {
+      values = Arrays.copyOf(values, count);
+    }
+    Arrays.sort(values);
+    return new StatusWordSetAdapter(values);
+  }
+
+  /**
+   * (package-private)<br>
+   * Builds a set containing the status words of this set and the provided one.
+   *
+   * @param statusWord The status word to add.
+   * @return This instance if it already contains the status word, a new instance otherwise.
+   * @since 2.0
+   */
+  StatusWordSetAdapter with(int statusWord) {
+    int index = Arrays.binarySearch(statusWords, statusWord);
+    if (index >= 0) {
+      return this;
+    }
+    int insertionPoint = -index - 1;
+    int[] values = new int[statusWords.length + 1];
+    System.arraycopy(statusWords, 0, values, 0, insertionPoint);
+    values[insertionPoint] = statusWord;
+    System.arraycopy(
+        statusWords,
+        insertionPoint,
+        values,
+        insertionPoint + 1,
+        statusWords.length - insertionPoint);
+    return new StatusWordSetAdapter(values);
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates whether the provided status word belongs to the set.
+   *
+   * @param statusWord The status word.
+   * @return True if the status word belongs to the set.
+   * @since 2.0
+   */
+  boolean contains(int statusWord) {
+    // the sets are usually very small, a linear search is then faster than a binary search
+    if (statusWords.length <= 8) {
+      for (int value : statusWords) {
+        if (value == statusWord) {
+          return true;
+        }
+      }
+      return false;
+    }
+    return Arrays.binarySearch(statusWords, statusWord) >= 0;
+  }
+}
@@ -0,0 +1,54 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.spi;
+
+import org.calypsonet.terminal.card.CardSelectionResponseApi;
+import org.calypsonet.terminal.reader.selection.spi.SmartCard;
+
+/**
+ * Card selection observer recipient of the result of each selection case of a card selection
+ * scenario as soon as it is processed.
+ *
+ * @see org.eclipse.keyple.core.service.KeypleCardSelectionManager
+ * @since 2.0
+ */
+public interface CardSelectionObserverSpi {
+
+  /**
+   * Invoked when a selection case of the scenario has been processed.
+   *
+   * <p>With a local reader, the notification is <b>synchronous</b>: it is made by the thread
+   * processing the scenario, before the next selection case is attempted. For a scheduled scenario,
+   * this thread is the one processing the events of the reader, which is thus suspended until the
+   * observer returns.<br>
+   * During the notification, the reader is still acquired for the scenario (see {@link
+   * org.eclipse.keyple.core.service.LocalReader#acquire()}): the exchanges requested by other
+   * threads with this reader are blocked until the whole scenario is processed, so the observer
+   * must never wait for them. In multiple selection mode, the logical channel opened by the
+   * selection case is closed right after the notification.<br>
+   * The observer must therefore return quickly, must not use the reader nor communicate with the
+   * card, and must hand off any longer processing to another thread.
+   *
+   * <p>With a remote reader, the notifications are made once the responses of all the selection
+   * cases are received, by the thread building the result of the scenario.
+   *
+   * <p>The selection cases not attempted because the time budget of the scenario was exhausted are
+   * not notified.
+   *
+   * @param selectionIndex The index of the selection case, as returned when it was prepared.
+   * @param cardSelectionResponse The response of the card to the selection case.
+   * @param smartCard The smart card parsed from the response, null if the card did not match.
+   * @since 2.0
+   */
+  void onCardSelectionProcessed(
+      int selectionIndex, CardSelectionResponseApi cardSelectionResponse, SmartCard smartCard);
+}
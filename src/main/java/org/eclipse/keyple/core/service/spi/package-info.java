@@ -1,6 +1,6 @@
 /**
- * Interfaces to be implemented by applications to allow Keyple services to call the dedicated
- * methods.
+ * Interfaces to be implemented by applications, or by reader extensions for optional capabilities,
+ * to allow Keyple services to call the dedicated methods.
  *
  * @since 2.0
  */
@@ -13,6 +13,7 @@
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
 import org.junit.Test;
 
@@ -29,4 +30,16 @@ public void buildApduResponseAdapter() {
     assertThat(apduResponseAdapter.getStatusWord()).isEqualTo(0x9000);
     assertThat(apduResponseAdapter.getDataOut()).isEqualTo(ByteArrayUtil.fromHex(HEX_REQUEST_DATA));
   }
+
+  @Test
+  public void getDataOutBuffer_shouldReturnReadOnlyViewOfDataOut() {
+    apduResponseAdapter = new ApduResponseAdapter(ByteArrayUtil.fromHex(HEX_REQUEST));
+    ByteBuffer dataOut = apduResponseAdapter.getDataOutBuffer();
+    assertThat(apduResponseAdapter.getDataOutLength()).isEqualTo(4);
+    assertThat(dataOut.isReadOnly()).isTrue();
+    assertThat(dataOut.remaining()).isEqualTo(4);
+    byte[] data = new byte[dataOut.remaining()];
+    dataOut.get(data);
+    assertThat(data).isEqualTo(ByteArrayUtil.fromHex(HEX_REQUEST_DATA));
+  }
 }
@@ -0,0 +1,109 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.keyple.core.service.util.ReaderAdapterTestUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CardSelectionDecisionTreeAdapterTest {
+
+  private static final String POWER_ON_DATA = "3B8F8001804F0CA0000003060300030000000068";
+
+  private List<CompiledCardSelectorAdapter> cardSelectors;
+  private int evaluationCount;
+  private CardSelectionDecisionTreeAdapter.PowerOnDataEvaluator evaluator;
+
+  @Before
+  public void setUp() {
+    cardSelectors = new ArrayList<CompiledCardSelectorAdapter>();
+    evaluationCount = 0;
+    evaluator =
+        new CardSelectionDecisionTreeAdapter.PowerOnDataEvaluator() {
+          @Override
+          public String getPowerOnData() {
+            return POWER_ON_DATA;
+          }
+
+          @Override
+          public boolean acceptsPowerOnData(
+              String powerOnData, CompiledCardSelectorAdapter cardSelector) {
+            evaluationCount++;
+            return cardSelector.acceptsPowerOnData(powerOnData);
+          }
+        };
+  }
+
+  private void addCardSelector(String cardProtocol, String powerOnDataRegex) {
+    ReaderAdapterTestUtils.CardSelectorMock cardSelector =
+        ReaderAdapterTestUtils.getCardSelectorSpi();
+    when(cardSelector.getCardProtocol()).thenReturn(cardProtocol);
+    when(cardSelector.getPowerOnDataRegex()).thenReturn(powerOnDataRegex);
+    cardSelectors.add(new CompiledCardSelectorAdapter(cardSelector));
+  }
+
+  @Test
+  public void getLiteralPrefix_shouldStopAtTheFirstMetacharacter() {
+    assertThat(CardSelectionDecisionTreeAdapter.getLiteralPrefix("3B8F8001.*"))
+        .isEqualTo("3B8F8001");
+    assertThat(CardSelectionDecisionTreeAdapter.getLiteralPrefix("3B8F8001?.*"))
+        .isEqualTo("3B8F800");
+    assertThat(CardSelectionDecisionTreeAdapter.getLiteralPrefix("3B8F|3B88.*")).isEmpty();
+    assertThat(CardSelectionDecisionTreeAdapter.getLiteralPrefix("^3B.*")).isEmpty();
+  }
+
+  @Test
+  public void evaluate_shouldGiveTheVerdictsOfTheIndividualEvaluations() {
+    addCardSelector(null, "3B8F8001.*");
+    addCardSelector("ISO_14443_4", null);
+    addCardSelector("OTHER_PROTOCOL", ".*");
+    addCardSelector(null, "3B88.*");
+    addCardSelector(null, "3B8F8001.*");
+
+    byte[] verdicts =
+        new CardSelectionDecisionTreeAdapter(cardSelectors)
+            .evaluate("ISO_14443_4", false, evaluator);
+
+    assertThat(verdicts)
+        .isEqualTo(
+            new byte[] {
+              CardSelectionDecisionTreeAdapter.ACCEPTED,
+              CardSelectionDecisionTreeAdapter.ACCEPTED,
+              CardSelectionDecisionTreeAdapter.PROTOCOL_REJECTED,
+              CardSelectionDecisionTreeAdapter.POWER_ON_DATA_REJECTED,
+              CardSelectionDecisionTreeAdapter.ACCEPTED
+            });
+    // the regex shared by two selectors is evaluated once, the rejected prefix is not evaluated
+    assertThat(evaluationCount).isEqualTo(2);
+  }
+
+  @Test
+  public void evaluate_whenNoProtocolIsAssociated_shouldMarkSelectorsWithProtocol() {
+    addCardSelector("ISO_14443_4", null);
+    addCardSelector(null, null);
+
+    byte[] verdicts =
+        new CardSelectionDecisionTreeAdapter(cardSelectors).evaluate(null, true, evaluator);
+
+    assertThat(verdicts)
+        .isEqualTo(
+            new byte[] {
+              CardSelectionDecisionTreeAdapter.PROTOCOL_NOT_ASSOCIATED,
+              CardSelectionDecisionTreeAdapter.ACCEPTED
+            });
+  }
+}
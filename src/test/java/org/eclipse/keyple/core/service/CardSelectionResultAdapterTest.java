@@ -89,4 +89,20 @@ public void getActiveSmartCard_whenNotSmartCard_shouldReturnSmartcard() {
     cardSelectionResult.addSmartCard(0, smartCard);
     assertThat(cardSelectionResult.getActiveSmartCard()).isEqualTo(smartCard);
   }
+
+  @Test
+  public void getNotAttemptedSelectionIndexes_whenAdded_shouldReturnSortedIndexes() {
+    CardSelectionResultAdapter cardSelectionResult = new CardSelectionResultAdapter();
+    assertThat(cardSelectionResult.getNotAttemptedSelectionIndexes()).isEmpty();
+    cardSelectionResult.addNotAttemptedSelectionIndex(3);
+    cardSelectionResult.addNotAttemptedSelectionIndex(2);
+    assertThat(cardSelectionResult.getNotAttemptedSelectionIndexes()).containsExactly(2, 3);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void getNotAttemptedSelectionIndexes_whenModified_shouldUOE() {
+    CardSelectionResultAdapter cardSelectionResult = new CardSelectionResultAdapter();
+    cardSelectionResult.addNotAttemptedSelectionIndex(2);
+    cardSelectionResult.getNotAttemptedSelectionIndexes().add(3);
+  }
 }
@@ -0,0 +1,129 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.calypsonet.terminal.card.CardSelectionResponseApi;
+import org.calypsonet.terminal.card.spi.CardSelectionSpi;
+import org.calypsonet.terminal.card.spi.SmartCardSpi;
+import org.calypsonet.terminal.reader.selection.spi.SmartCard;
+import org.eclipse.keyple.core.service.spi.CardSelectionObserverSpi;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CardSelectionStreamAdapterTest {
+  private CardSelectionSpi cardSelection;
+  private CardSelectionResponseApi cardSelectionResponse;
+  private SmartCardMock smartCard;
+  private List<Integer> notifiedIndexes;
+  private List<SmartCard> notifiedSmartCards;
+  private CardSelectionObserverSpi cardSelectionObserver;
+
+  interface SmartCardMock extends SmartCard, SmartCardSpi {}
+
+  @Before
+  public void setUp() throws Exception {
+    cardSelection = mock(CardSelectionSpi.class);
+    cardSelectionResponse = buildMatchingResponse();
+    smartCard = mock(SmartCardMock.class);
+    when(cardSelection.parse(cardSelectionResponse)).thenReturn(smartCard);
+    notifiedIndexes = new ArrayList<Integer>();
+    notifiedSmartCards = new ArrayList<SmartCard>();
+    cardSelectionObserver =
+        new CardSelectionObserverSpi() {
+          @Override
+          public void onCardSelectionProcessed(
+              int selectionIndex,
+              CardSelectionResponseApi cardSelectionResponse,
+              SmartCard smartCard) {
+            notifiedIndexes.add(selectionIndex);
+            notifiedSmartCards.add(smartCard);
+          }
+        };
+  }
+
+  @Test
+  public void onCardSelectionResponse_whenMatched_shouldNotifyObserverAndKeepSmartCard()
+      throws Exception {
+    CardSelectionStreamAdapter cardSelectionStream =
+        new CardSelectionStreamAdapter(
+            Arrays.asList(cardSelection, cardSelection), cardSelectionObserver);
+
+    cardSelectionStream.onCardSelectionResponse(1, cardSelectionResponse);
+
+    assertThat(notifiedIndexes).containsExactly(1);
+    assertThat(notifiedSmartCards).containsExactly(smartCard);
+    assertThat(CardSelectionStreamAdapter.getSmartCard(cardSelectionResponse)).isSameAs(smartCard);
+    assertThat(
+            CardSelectionStreamAdapter.isStreamed(
+                Arrays.asList(mock(CardSelectionResponseApi.class), cardSelectionResponse)))
+        .isTrue();
+    verify(cardSelection, times(1)).parse(cardSelectionResponse);
+  }
+
+  @Test
+  public void onCardSelectionResponse_whenScenarioProcessedAgain_shouldKeepSmartCardOfEachRun()
+      throws Exception {
+    CardSelectionResponseApi nextCardSelectionResponse = buildMatchingResponse();
+    SmartCardMock nextSmartCard = mock(SmartCardMock.class);
+    when(cardSelection.parse(nextCardSelectionResponse)).thenReturn(nextSmartCard);
+    CardSelectionStreamAdapter cardSelectionStream =
+        new CardSelectionStreamAdapter(
+            Collections.singletonList(cardSelection), cardSelectionObserver);
+
+    cardSelectionStream.onCardSelectionResponse(0, cardSelectionResponse);
+    cardSelectionStream.onCardSelectionResponse(0, nextCardSelectionResponse);
+
+    assertThat(notifiedSmartCards).containsExactly(smartCard, nextSmartCard);
+    assertThat(CardSelectionStreamAdapter.getSmartCard(cardSelectionResponse)).isSameAs(smartCard);
+    assertThat(CardSelectionStreamAdapter.getSmartCard(nextCardSelectionResponse))
+        .isSameAs(nextSmartCard);
+  }
+
+  @Test
+  public void isStreamed_whenResponsesNotReceived_shouldReturnFalse() {
+    assertThat(
+            CardSelectionStreamAdapter.isStreamed(Collections.singletonList(cardSelectionResponse)))
+        .isFalse();
+    assertThat(CardSelectionStreamAdapter.getSmartCard(cardSelectionResponse)).isNull();
+    assertThat(notifiedIndexes).isEmpty();
+  }
+
+  @Test
+  public void notifyObserver_whenObserverFails_shouldNotThrow() {
+    CardSelectionStreamAdapter cardSelectionStream =
+        new CardSelectionStreamAdapter(
+            Collections.singletonList(cardSelection),
+            new CardSelectionObserverSpi() {
+              @Override
+              public void onCardSelectionProcessed(
+                  int selectionIndex,
+                  CardSelectionResponseApi cardSelectionResponse,
+                  SmartCard smartCard) {
+                throw new IllegalStateException("observer failure");
+              }
+            });
+
+    cardSelectionStream.notifyObserver(0, cardSelectionResponse, smartCard);
+  }
+
+  private static CardSelectionResponseAdapter buildMatchingResponse() {
+    return new CardSelectionResponseAdapter(
+        null, null, true, new CardResponseAdapter(new ArrayList<ApduResponseAdapter>(), false));
+  }
+}
@@ -26,6 +26,7 @@
 import org.eclipse.keyple.core.plugin.spi.reader.observable.state.insertion.WaitForCardInsertionBlockingSpi;
 import org.eclipse.keyple.core.plugin.spi.reader.observable.state.processing.DontWaitForCardRemovalDuringProcessingSpi;
 import org.eclipse.keyple.core.plugin.spi.reader.observable.state.removal.WaitForCardRemovalBlockingSpi;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -62,6 +63,18 @@ public void setUp() throws Exception {
     when(observableReader.getName()).thenReturn(OBSERVABLE_READER_NAME);
   }
 
+  @After
+  public void tearDown() {
+    // remove the readers left in the reader directory of the service by the tests
+    SmartCardServiceAdapter service = SmartCardServiceAdapter.getInstance();
+    for (String readerName : Arrays.asList(READER_NAME_1, READER_NAME_2, OBSERVABLE_READER_NAME)) {
+      Reader reader;
+      while ((reader = service.findReader(readerName)) != null) {
+        service.unregisterReader(service.findReaderPlugin(readerName), reader);
+      }
+    }
+  }
+
   @Test(expected = PluginIOException.class)
   public void register_whenSearchReaderFails_shouldPIO() throws Exception {
     when(pluginSpi.searchAvailableReaders())
@@ -142,6 +155,84 @@ public void unregister_shouldDisableMethodsWithISE() throws Exception {
     localPluginAdapter.getReaders();
   }
 
+  @Test
+  public void register_shouldReferenceReadersInServiceDirectory() throws Exception {
+    Set<ReaderSpi> readerSpis = new HashSet<ReaderSpi>();
+    readerSpis.add(readerSpi1);
+    when(pluginSpi.searchAvailableReaders()).thenReturn(readerSpis);
+    LocalPluginAdapter localPluginAdapter = new LocalPluginAdapter(pluginSpi);
+    localPluginAdapter.register();
+    assertThat(SmartCardServiceAdapter.getInstance().findReader(READER_NAME_1))
+        .isSameAs(localPluginAdapter.getReader(READER_NAME_1));
+    assertThat(SmartCardServiceAdapter.getInstance().findReaderPlugin(READER_NAME_1))
+        .isSameAs(localPluginAdapter);
+  }
+
+  @Test
+  public void unregister_shouldRemoveReadersFromServiceDirectory() throws Exception {
+    Set<ReaderSpi> readerSpis = new HashSet<ReaderSpi>();
+    readerSpis.add(readerSpi1);
+    when(pluginSpi.searchAvailableReaders()).thenReturn(readerSpis);
+    LocalPluginAdapter localPluginAdapter = new LocalPluginAdapter(pluginSpi);
+    localPluginAdapter.register();
+    localPluginAdapter.unregister();
+    assertThat(SmartCardServiceAdapter.getInstance().findReader(READER_NAME_1)).isNull();
+    assertThat(SmartCardServiceAdapter.getInstance().findReaderPlugin(READER_NAME_1)).isNull();
+  }
+
+  @Test
+  public void register_whenReaderNameIsAlreadyReferenced_shouldKeepFirstReaderUntilItIsRemoved()
+      throws Exception {
+    Set<ReaderSpi> readerSpis = new HashSet<ReaderSpi>();
+    readerSpis.add(readerSpi1);
+    when(pluginSpi.searchAvailableReaders()).thenReturn(readerSpis);
+    PluginSpiMock otherPluginSpi = mock(PluginSpiMock.class);
+    when(otherPluginSpi.getName()).thenReturn(PLUGIN_NAME + "2");
+    ReaderSpiMock otherReaderSpi = mock(ReaderSpiMock.class);
+    when(otherReaderSpi.getName()).thenReturn(READER_NAME_1);
+    Set<ReaderSpi> otherReaderSpis = new HashSet<ReaderSpi>();
+    otherReaderSpis.add(otherReaderSpi);
+    when(otherPluginSpi.searchAvailableReaders()).thenReturn(otherReaderSpis);
+    LocalPluginAdapter localPluginAdapter = new LocalPluginAdapter(pluginSpi);
+    LocalPluginAdapter otherLocalPluginAdapter = new LocalPluginAdapter(otherPluginSpi);
+    localPluginAdapter.register();
+    otherLocalPluginAdapter.register();
+
+    assertThat(SmartCardServiceAdapter.getInstance().findReader(READER_NAME_1))
+        .isSameAs(localPluginAdapter.getReader(READER_NAME_1));
+    assertThat(SmartCardServiceAdapter.getInstance().findReaderPlugin(READER_NAME_1))
+        .isSameAs(localPluginAdapter);
+
+    Reader otherReader = otherLocalPluginAdapter.getReader(READER_NAME_1);
+    localPluginAdapter.unregister();
+
+    assertThat(SmartCardServiceAdapter.getInstance().findReader(READER_NAME_1))
+        .isSameAs(otherReader);
+    assertThat(SmartCardServiceAdapter.getInstance().findReaderPlugin(READER_NAME_1))
+        .isSameAs(otherLocalPluginAdapter);
+    otherLocalPluginAdapter.unregister();
+    assertThat(SmartCardServiceAdapter.getInstance().findReader(READER_NAME_1)).isNull();
+  }
+
+  @Test
+  public void getReaderNamesSnapshot_shouldFollowReaderChanges() throws Exception {
+    Set<ReaderSpi> readerSpis = new HashSet<ReaderSpi>();
+    readerSpis.add(readerSpi1);
+    readerSpis.add(readerSpi2);
+    when(pluginSpi.searchAvailableReaders()).thenReturn(readerSpis);
+    LocalPluginAdapter localPluginAdapter = new LocalPluginAdapter(pluginSpi);
+    localPluginAdapter.register();
+    SortedSet<String> snapshot = localPluginAdapter.getReaderNamesSnapshot();
+    assertThat(snapshot).containsExactly(READER_NAME_1, READER_NAME_2);
+    assertThat(localPluginAdapter.getReaderNamesSnapshot()).isSameAs(snapshot);
+
+    localPluginAdapter.removeReaderFromMap(localPluginAdapter.getReader(READER_NAME_1));
+
+    assertThat(localPluginAdapter.getReaderNamesSnapshot()).containsExactly(READER_NAME_2);
+    assertThat(snapshot).containsExactly(READER_NAME_1, READER_NAME_2);
+    localPluginAdapter.unregister();
+  }
+
   @Test(expected = IllegalStateException.class)
   public void getExtension_whenNotRegistered_shouldISE() {
     LocalPluginAdapter localPluginAdapter = new LocalPluginAdapter(pluginSpi);
@@ -12,6 +12,7 @@
 package org.eclipse.keyple.core.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
 import static org.eclipse.keyple.core.service.util.PluginAdapterTestUtils.PLUGIN_NAME;
 import static org.eclipse.keyple.core.service.util.ReaderAdapterTestUtils.*;
 import static org.mockito.Mockito.*;
@@ -21,6 +22,7 @@
 import org.calypsonet.terminal.card.spi.ApduRequestSpi;
 import org.calypsonet.terminal.card.spi.CardRequestSpi;
 import org.calypsonet.terminal.card.spi.CardSelectionRequestSpi;
+import org.calypsonet.terminal.card.spi.CardSelectorSpi;
 import org.calypsonet.terminal.reader.ReaderCommunicationException;
 import org.calypsonet.terminal.reader.ReaderProtocolNotSupportedException;
 import org.eclipse.keyple.core.plugin.CardIOException;
@@ -31,9 +33,15 @@
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 
 public class LocalReaderAdapterTest {
+
+  interface BatchTransmissionReaderSpiMock
+      extends ReaderAdapterTestUtils.ReaderSpiMock, BatchTransmissionReaderSpi {}
+
   private ReaderAdapterTestUtils.ReaderSpiMock readerSpi;
   private ReaderAdapterTestUtils.CardSelectorMock cardSelector;
   private CardSelectionRequestSpi cardSelectionRequestSpi;
@@ -127,6 +135,219 @@ public void getReaderSpi_shouldReturnReaderSpi() {
     assertThat(localReaderAdapter.isLogicalChannelOpen()).isFalse();
   }
 
+  @Test
+  public void transmitCardSelectionRequests_withSamePlanTwice_shouldCompileCardSelectorOnce()
+      throws Exception {
+    when(cardSelector.getPowerOnDataRegex()).thenReturn("FAILINGREGEX");
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+    CardSelectionPlanAdapter cardSelectionPlan =
+        new CardSelectionPlanAdapter(Collections.singletonList(cardSelectionRequestSpi));
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    for (int i = 0; i < 2; i++) {
+      List<CardSelectionResponseApi> cardSelectionResponses =
+          localReaderAdapter.transmitCardSelectionRequests(
+              cardSelectionPlan, MultiSelectionProcessing.FIRST_MATCH, ChannelControl.CLOSE_AFTER);
+      assertThat(cardSelectionResponses).hasSize(1);
+      assertThat(cardSelectionResponses.get(0).hasMatched()).isFalse();
+    }
+    verify(cardSelectionRequestSpi, times(1)).getCardSelector();
+    verify(cardSelector, times(1)).getPowerOnDataRegex();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setPowerOnDataNegativeCacheCapacity_whenNegative_shouldIAE() {
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.setPowerOnDataNegativeCacheCapacity(-1);
+  }
+
+  @Test
+  public void
+      transmitCardSelectionRequests_withNegativeCacheAndSameCardTwice_shouldSkipFilterAndReturnSameResponse()
+          throws Exception {
+    when(cardSelector.getPowerOnDataRegex()).thenReturn("FAILINGREGEX");
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.setPowerOnDataNegativeCacheCapacity(4);
+    for (int i = 0; i < 2; i++) {
+      List<CardSelectionResponseApi> cardSelectionResponses =
+          localReaderAdapter.transmitCardSelectionRequests(
+              new ArrayList<CardSelectionRequestSpi>(
+                  Collections.singletonList(cardSelectionRequestSpi)),
+              MultiSelectionProcessing.FIRST_MATCH,
+              ChannelControl.CLOSE_AFTER);
+      assertThat(cardSelectionResponses).hasSize(1);
+      assertThat(cardSelectionResponses.get(0).getPowerOnData()).isEqualTo(POWER_ON_DATA);
+      assertThat(cardSelectionResponses.get(0).hasMatched()).isFalse();
+    }
+    assertThat(localReaderAdapter.getPowerOnDataNegativeCacheMissCount()).isEqualTo(1);
+    assertThat(localReaderAdapter.getPowerOnDataNegativeCacheHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void
+      transmitCardSelectionRequests_withNegativeCacheAndAlternatingCards_shouldRememberEachCard()
+          throws Exception {
+    when(readerSpi.getPowerOnData()).thenReturn(POWER_ON_DATA, "3B00", POWER_ON_DATA, "3B00");
+    when(cardSelector.getPowerOnDataRegex()).thenReturn("FAILINGREGEX");
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.setPowerOnDataNegativeCacheCapacity(4);
+    for (int i = 0; i < 4; i++) {
+      List<CardSelectionResponseApi> cardSelectionResponses =
+          localReaderAdapter.transmitCardSelectionRequests(
+              new ArrayList<CardSelectionRequestSpi>(
+                  Collections.singletonList(cardSelectionRequestSpi)),
+              MultiSelectionProcessing.FIRST_MATCH,
+              ChannelControl.CLOSE_AFTER);
+      assertThat(cardSelectionResponses.get(0).hasMatched()).isFalse();
+    }
+    assertThat(localReaderAdapter.getPowerOnDataNegativeCacheMissCount()).isEqualTo(2);
+    assertThat(localReaderAdapter.getPowerOnDataNegativeCacheHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void
+      transmitCardSelectionRequests_withNegativeCacheAndMatchingCard_shouldNotCacheAndMatch()
+          throws Exception {
+    when(cardSelector.getPowerOnDataRegex()).thenReturn(POWER_ON_DATA);
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.setPowerOnDataNegativeCacheCapacity(4);
+    for (int i = 0; i < 2; i++) {
+      List<CardSelectionResponseApi> cardSelectionResponses =
+          localReaderAdapter.transmitCardSelectionRequests(
+              new ArrayList<CardSelectionRequestSpi>(
+                  Collections.singletonList(cardSelectionRequestSpi)),
+              MultiSelectionProcessing.FIRST_MATCH,
+              ChannelControl.CLOSE_AFTER);
+      assertThat(cardSelectionResponses.get(0).hasMatched()).isTrue();
+    }
+    assertThat(localReaderAdapter.getPowerOnDataNegativeCacheMissCount()).isEqualTo(2);
+    assertThat(localReaderAdapter.getPowerOnDataNegativeCacheHitCount()).isZero();
+  }
+
+  @Test
+  public void
+      transmitCardSelectionRequests_withUnexpectedStatusWordInLightweightMode_shouldThrowCBCEWithStacklessCause()
+          throws Exception {
+    when(readerSpi.transmitApdu(any(byte[].class))).thenReturn(ByteArrayUtil.fromHex("6A82"));
+    when(apduRequestSpi.getApdu()).thenReturn(ByteArrayUtil.fromHex("00B2014400"));
+    when(apduRequestSpi.getSuccessfulStatusWords())
+        .thenReturn(new HashSet<Integer>(Arrays.asList(0x9000)));
+    when(cardRequestSpi.stopOnUnsuccessfulStatusWord()).thenReturn(true);
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+    when(cardSelectionRequestSpi.getCardRequest()).thenReturn(cardRequestSpi);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.setLightweightStatusWordFailures(true);
+    try {
+      localReaderAdapter.transmitCardSelectionRequests(
+          Collections.singletonList(cardSelectionRequestSpi),
+          MultiSelectionProcessing.FIRST_MATCH,
+          ChannelControl.CLOSE_AFTER);
+      shouldHaveThrown(CardBrokenCommunicationException.class);
+    } catch (CardBrokenCommunicationException e) {
+      assertThat(e.getCardResponse().getApduResponses()).hasSize(1);
+      assertThat(e.getCause()).isNotInstanceOf(UnexpectedStatusWordException.class);
+      assertThat(e.getCause().getStackTrace()).isEmpty();
+    }
+  }
+
+  @Test
+  public void
+      transmitCardSelectionRequests_withAdaptiveOrder_shouldTryMostMatchedFirstAndKeepOriginalIndices()
+          throws Exception {
+    ReaderAdapterTestUtils.CardSelectorMock aidCardSelector =
+        ReaderAdapterTestUtils.getCardSelectorSpi();
+    when(aidCardSelector.getAid()).thenReturn(ByteArrayUtil.fromHex("1122334455"));
+    CardSelectionRequestSpi aidCardSelectionRequestSpi = mock(CardSelectionRequestSpi.class);
+    when(aidCardSelectionRequestSpi.getCardSelector()).thenReturn(aidCardSelector);
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+    List<CardSelectionRequestSpi> cardSelectionRequests =
+        Arrays.asList(aidCardSelectionRequestSpi, cardSelectionRequestSpi);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.setAdaptiveSelectionOrder(true);
+    for (int i = 0; i < 2; i++) {
+      List<CardSelectionResponseApi> cardSelectionResponses =
+          localReaderAdapter.transmitCardSelectionRequests(
+              cardSelectionRequests,
+              MultiSelectionProcessing.FIRST_MATCH,
+              ChannelControl.CLOSE_AFTER);
+      assertThat(cardSelectionResponses).hasSize(2);
+      assertThat(cardSelectionResponses.get(0).hasMatched()).isFalse();
+      // the first request is rejected by the card, then skipped once the order has adapted
+      assertThat(((CardSelectionResponseAdapter) cardSelectionResponses.get(0)).isNotAttempted())
+          .isEqualTo(i == 1);
+      assertThat(cardSelectionResponses.get(1).hasMatched()).isTrue();
+    }
+    // the Select Application command of the first request is only sent during the first selection
+    verify(readerSpi, times(1)).transmitApdu(any(byte[].class));
+  }
+
+  @Test
+  public void
+      transmitCardSelectionRequests_withAdaptiveOrderAndSeveralMatchingRequests_shouldReportMostMatchedRequest()
+          throws Exception {
+    ReaderAdapterTestUtils.CardSelectorMock powerOnDataCardSelector =
+        ReaderAdapterTestUtils.getCardSelectorSpi();
+    when(powerOnDataCardSelector.getPowerOnDataRegex()).thenReturn("3B00");
+    CardSelectionRequestSpi powerOnDataCardSelectionRequestSpi =
+        mock(CardSelectionRequestSpi.class);
+    when(powerOnDataCardSelectionRequestSpi.getCardSelector()).thenReturn(powerOnDataCardSelector);
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+    List<CardSelectionRequestSpi> cardSelectionRequests =
+        Arrays.asList(powerOnDataCardSelectionRequestSpi, cardSelectionRequestSpi);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.setAdaptiveSelectionOrder(true);
+
+    // both requests match: the first one in the order of the list is reported
+    when(readerSpi.getPowerOnData()).thenReturn("3B00");
+    List<CardSelectionResponseApi> cardSelectionResponses =
+        localReaderAdapter.transmitCardSelectionRequests(
+            cardSelectionRequests,
+            MultiSelectionProcessing.FIRST_MATCH,
+            ChannelControl.CLOSE_AFTER);
+    assertThat(cardSelectionResponses.get(0).hasMatched()).isTrue();
+    assertThat(cardSelectionResponses).hasSize(1);
+
+    // only the second request matches, its statistics exceed the ones of the first request
+    when(readerSpi.getPowerOnData()).thenReturn(POWER_ON_DATA);
+    for (int i = 0; i < 2; i++) {
+      cardSelectionResponses =
+          localReaderAdapter.transmitCardSelectionRequests(
+              cardSelectionRequests,
+              MultiSelectionProcessing.FIRST_MATCH,
+              ChannelControl.CLOSE_AFTER);
+      assertThat(cardSelectionResponses.get(0).hasMatched()).isFalse();
+      assertThat(cardSelectionResponses.get(1).hasMatched()).isTrue();
+    }
+
+    // both requests match again: the most frequently matched one is now reported
+    when(readerSpi.getPowerOnData()).thenReturn("3B00");
+    cardSelectionResponses =
+        localReaderAdapter.transmitCardSelectionRequests(
+            cardSelectionRequests,
+            MultiSelectionProcessing.FIRST_MATCH,
+            ChannelControl.CLOSE_AFTER);
+    assertThat(cardSelectionResponses.get(0).hasMatched()).isFalse();
+    assertThat(((CardSelectionResponseAdapter) cardSelectionResponses.get(0)).isNotAttempted())
+        .isTrue();
+    assertThat(cardSelectionResponses.get(1).hasMatched()).isTrue();
+  }
+
   @Test
   public void
       transmitCardSelectionRequests_withNonMatchingDFNameFilteringCardSelector_shouldReturnNotMatchingResponseAndNotOpenChannel()
@@ -377,6 +598,213 @@ public void transmitCardRequest_withUnsuccessfulStatusWord_shouldThrow_USW() thr
     localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.CLOSE_AFTER);
   }
 
+  @Test
+  public void transmitCardRequest_withBatchTransmissionSpi_shouldTransmitAllApdusAtOnce()
+      throws Exception {
+    byte[] requestApdu = ByteArrayUtil.fromHex("00B2014400");
+    byte[] responseApdu = ByteArrayUtil.fromHex("123456789000");
+    BatchTransmissionReaderSpiMock batchReaderSpi = mock(BatchTransmissionReaderSpiMock.class);
+    when(batchReaderSpi.getName()).thenReturn(READER_NAME);
+    when(batchReaderSpi.transmitApdus(
+            ArgumentMatchers.<byte[]>anyList(),
+            ArgumentMatchers.<BatchTransmissionReaderSpi.StatusWordChecker>isNull()))
+        .thenReturn(Arrays.asList(responseApdu, responseApdu));
+    when(apduRequestSpi.getApdu()).thenReturn(requestApdu);
+    when(cardRequestSpi.getApduRequests())
+        .thenReturn(Arrays.asList(apduRequestSpi, apduRequestSpi));
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(batchReaderSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    CardResponseApi response =
+        localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.CLOSE_AFTER);
+
+    assertThat(response.getApduResponses()).hasSize(2);
+    assertThat(response.getApduResponses().get(1).getApdu()).isEqualTo(responseApdu);
+    verify(batchReaderSpi, times(1))
+        .transmitApdus(
+            ArgumentMatchers.<byte[]>anyList(),
+            ArgumentMatchers.<BatchTransmissionReaderSpi.StatusWordChecker>isNull());
+    verify(batchReaderSpi, never()).transmitApdu(any(byte[].class));
+  }
+
+  @Test(expected = UnexpectedStatusWordException.class)
+  public void
+      transmitCardRequest_withBatchTransmissionSpiAndUnsuccessfulStatusWord_shouldThrow_USW()
+          throws Exception {
+    byte[] requestApdu = ByteArrayUtil.fromHex("00B2014400");
+    byte[] responseApdu = ByteArrayUtil.fromHex("6A82");
+    BatchTransmissionReaderSpiMock batchReaderSpi = mock(BatchTransmissionReaderSpiMock.class);
+    when(batchReaderSpi.getName()).thenReturn(READER_NAME);
+    when(batchReaderSpi.transmitApdus(
+            ArgumentMatchers.<byte[]>anyList(),
+            any(BatchTransmissionReaderSpi.StatusWordChecker.class)))
+        .thenReturn(Collections.singletonList(responseApdu));
+    when(apduRequestSpi.getApdu()).thenReturn(requestApdu);
+    when(apduRequestSpi.getSuccessfulStatusWords())
+        .thenReturn(new HashSet<Integer>(Arrays.asList(0x9000)));
+    when(cardRequestSpi.getApduRequests())
+        .thenReturn(Arrays.asList(apduRequestSpi, apduRequestSpi));
+    when(cardRequestSpi.stopOnUnsuccessfulStatusWord()).thenReturn(true);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(batchReaderSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.CLOSE_AFTER);
+  }
+
+  @Test
+  public void transmitCardRequest_withBatchTransmissionSpiAndStatusWordCheck_shouldProvideChecker()
+      throws Exception {
+    byte[] requestApdu = ByteArrayUtil.fromHex("00B2014400");
+    byte[] responseApdu = ByteArrayUtil.fromHex("123456789000");
+    BatchTransmissionReaderSpiMock batchReaderSpi = mock(BatchTransmissionReaderSpiMock.class);
+    when(batchReaderSpi.getName()).thenReturn(READER_NAME);
+    when(batchReaderSpi.transmitApdus(
+            ArgumentMatchers.<byte[]>anyList(),
+            any(BatchTransmissionReaderSpi.StatusWordChecker.class)))
+        .thenReturn(Arrays.asList(responseApdu, responseApdu));
+    ApduRequestSpi otherApduRequestSpi = mock(ApduRequestSpi.class);
+    when(otherApduRequestSpi.getApdu()).thenReturn(requestApdu);
+    when(otherApduRequestSpi.getSuccessfulStatusWords())
+        .thenReturn(new HashSet<Integer>(Arrays.asList(0x6283)));
+    when(apduRequestSpi.getApdu()).thenReturn(requestApdu);
+    when(apduRequestSpi.getSuccessfulStatusWords())
+        .thenReturn(new HashSet<Integer>(Arrays.asList(0x9000)));
+    when(cardRequestSpi.getApduRequests())
+        .thenReturn(Arrays.asList(apduRequestSpi, otherApduRequestSpi));
+    when(cardRequestSpi.stopOnUnsuccessfulStatusWord()).thenReturn(true);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(batchReaderSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    try {
+      localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.CLOSE_AFTER);
+      shouldHaveThrown(UnexpectedStatusWordException.class);
+    } catch (UnexpectedStatusWordException e) {
+      // the second response is not successful for the second APDU
+    }
+
+    ArgumentCaptor<BatchTransmissionReaderSpi.StatusWordChecker> checkerCaptor =
+        ArgumentCaptor.forClass(BatchTransmissionReaderSpi.StatusWordChecker.class);
+    verify(batchReaderSpi)
+        .transmitApdus(ArgumentMatchers.<byte[]>anyList(), checkerCaptor.capture());
+    BatchTransmissionReaderSpi.StatusWordChecker checker = checkerCaptor.getValue();
+    assertThat(checker.isSuccessful(0, 0x9000)).isTrue();
+    assertThat(checker.isSuccessful(0, 0x6283)).isFalse();
+    assertThat(checker.isSuccessful(1, 0x6283)).isTrue();
+    assertThat(checker.isSuccessful(1, 0x9000)).isFalse();
+  }
+
+  @Test
+  public void transmitCardRequest_withBatchTransmissionSpiAndCase4Apdu_shouldEndBatchAtCase4Apdu()
+      throws Exception {
+    byte[] case4RequestApdu = ByteArrayUtil.fromHex("11223344041234567803");
+    byte[] requestApdu = ByteArrayUtil.fromHex("00B2014400");
+    byte[] responseApdu = ByteArrayUtil.fromHex("123456789000");
+    BatchTransmissionReaderSpiMock batchReaderSpi = mock(BatchTransmissionReaderSpiMock.class);
+    when(batchReaderSpi.getName()).thenReturn(READER_NAME);
+    when(batchReaderSpi.transmitApdus(
+            ArgumentMatchers.<byte[]>anyList(),
+            ArgumentMatchers.<BatchTransmissionReaderSpi.StatusWordChecker>isNull()))
+        .thenReturn(Collections.singletonList(responseApdu))
+        .thenReturn(Arrays.asList(responseApdu, responseApdu));
+    ApduRequestSpi case4ApduRequestSpi = mock(ApduRequestSpi.class);
+    when(case4ApduRequestSpi.getApdu()).thenReturn(case4RequestApdu);
+    when(apduRequestSpi.getApdu()).thenReturn(requestApdu);
+    when(cardRequestSpi.getApduRequests())
+        .thenReturn(Arrays.asList(case4ApduRequestSpi, apduRequestSpi, apduRequestSpi));
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(batchReaderSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    CardResponseApi response =
+        localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.CLOSE_AFTER);
+
+    assertThat(response.getApduResponses()).hasSize(3);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<byte[]>> apdusCaptor = ArgumentCaptor.forClass(List.class);
+    verify(batchReaderSpi, times(2))
+        .transmitApdus(
+            apdusCaptor.capture(),
+            ArgumentMatchers.<BatchTransmissionReaderSpi.StatusWordChecker>isNull());
+    assertThat(apdusCaptor.getAllValues().get(0)).containsExactly(case4RequestApdu);
+    assertThat(apdusCaptor.getAllValues().get(1)).containsExactly(requestApdu, requestApdu);
+    verify(batchReaderSpi, never()).transmitApdu(any(byte[].class));
+  }
+
+  @Test
+  public void
+      transmitCardRequest_withBatchTransmissionSpiAndCase4ApduWithoutData_shouldGetResponseBeforeNextBatch()
+          throws Exception {
+    byte[] case4RequestApdu = ByteArrayUtil.fromHex("11223344041234567803");
+    byte[] requestApdu = ByteArrayUtil.fromHex("00B2014400");
+    byte[] responseApdu = ByteArrayUtil.fromHex("123456789000");
+    byte[] case4ResponseApdu = ByteArrayUtil.fromHex("9000");
+    byte[] getResponseResponseApdu = ByteArrayUtil.fromHex("AABBCCDD9000");
+    byte[] APDU_GET_RESPONSE = {(byte) 0x00, (byte) 0xC0, (byte) 0x00, (byte) 0x00, (byte) 0x00};
+    BatchTransmissionReaderSpiMock batchReaderSpi = mock(BatchTransmissionReaderSpiMock.class);
+    when(batchReaderSpi.getName()).thenReturn(READER_NAME);
+    when(batchReaderSpi.transmitApdus(
+            ArgumentMatchers.<byte[]>anyList(),
+            ArgumentMatchers.<BatchTransmissionReaderSpi.StatusWordChecker>isNull()))
+        .thenReturn(Arrays.asList(responseApdu, case4ResponseApdu))
+        .thenReturn(Collections.singletonList(responseApdu));
+    when(batchReaderSpi.transmitApdu(APDU_GET_RESPONSE)).thenReturn(getResponseResponseApdu);
+    ApduRequestSpi case4ApduRequestSpi = mock(ApduRequestSpi.class);
+    when(case4ApduRequestSpi.getApdu()).thenReturn(case4RequestApdu);
+    when(apduRequestSpi.getApdu()).thenReturn(requestApdu);
+    when(cardRequestSpi.getApduRequests())
+        .thenReturn(Arrays.asList(apduRequestSpi, case4ApduRequestSpi, apduRequestSpi));
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(batchReaderSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    CardResponseApi response =
+        localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.CLOSE_AFTER);
+
+    assertThat(response.getApduResponses()).hasSize(3);
+    assertThat(response.getApduResponses().get(0).getApdu()).isEqualTo(responseApdu);
+    assertThat(response.getApduResponses().get(1).getApdu()).isEqualTo(getResponseResponseApdu);
+    assertThat(response.getApduResponses().get(2).getApdu()).isEqualTo(responseApdu);
+    InOrder inOrder = inOrder(batchReaderSpi);
+    inOrder
+        .verify(batchReaderSpi)
+        .transmitApdus(
+            ArgumentMatchers.<byte[]>anyList(),
+            ArgumentMatchers.<BatchTransmissionReaderSpi.StatusWordChecker>isNull());
+    inOrder.verify(batchReaderSpi).transmitApdu(APDU_GET_RESPONSE);
+    inOrder
+        .verify(batchReaderSpi)
+        .transmitApdus(
+            ArgumentMatchers.<byte[]>anyList(),
+            ArgumentMatchers.<BatchTransmissionReaderSpi.StatusWordChecker>isNull());
+  }
+
+  @Test
+  public void
+      transmitCardRequest_withBatchTransmissionSpiReturningTooFewResponses_shouldThrow_CBCE()
+          throws Exception {
+    byte[] requestApdu = ByteArrayUtil.fromHex("00B2014400");
+    byte[] responseApdu = ByteArrayUtil.fromHex("123456789000");
+    BatchTransmissionReaderSpiMock batchReaderSpi = mock(BatchTransmissionReaderSpiMock.class);
+    when(batchReaderSpi.getName()).thenReturn(READER_NAME);
+    when(batchReaderSpi.transmitApdus(
+            ArgumentMatchers.<byte[]>anyList(),
+            ArgumentMatchers.<BatchTransmissionReaderSpi.StatusWordChecker>isNull()))
+        .thenReturn(Collections.singletonList(responseApdu));
+    when(apduRequestSpi.getApdu()).thenReturn(requestApdu);
+    when(cardRequestSpi.getApduRequests())
+        .thenReturn(Arrays.asList(apduRequestSpi, apduRequestSpi));
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(batchReaderSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    try {
+      localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.CLOSE_AFTER);
+      shouldHaveThrown(CardBrokenCommunicationException.class);
+    } catch (CardBrokenCommunicationException e) {
+      assertThat(e.getCause()).isInstanceOf(CardIOException.class);
+      assertThat(e.getCardResponse().getApduResponses()).hasSize(1);
+      assertThat(e.getCardResponse().getApduResponses().get(0).getApdu()).isEqualTo(responseApdu);
+    }
+    assertThat(localReaderAdapter.isLogicalChannelOpen()).isFalse();
+  }
+
   @Test(expected = CardBrokenCommunicationException.class)
   public void transmitCardRequest_withCardExceptionOnTransmit_shouldThrow_CBCE() throws Exception {
     byte[] requestApdu = ByteArrayUtil.fromHex("0000");
@@ -479,4 +907,359 @@ public void isCardPresent_whenReaderSpiFails_shouldKRCE() throws Exception {
     localReaderAdapter.register();
     localReaderAdapter.isCardPresent();
   }
+
+  /*
+   * Reader sessions
+   */
+  @Test
+  public void tryAcquire_whenAcquiredByAnotherThread_shouldReturnFalse() throws Exception {
+    final LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.acquire();
+    final boolean[] isAcquired = {true};
+    Thread thread =
+        new Thread() {
+          @Override
+          public void run() {
+            isAcquired[0] = localReaderAdapter.tryAcquire(10);
+          }
+        };
+    thread.start();
+    thread.join();
+    localReaderAdapter.release();
+    assertThat(isAcquired[0]).isFalse();
+    assertThat(localReaderAdapter.getSessionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void acquire_whenReentrant_shouldCountOneSession() {
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.acquire();
+    assertThat(localReaderAdapter.tryAcquire(0)).isTrue();
+    localReaderAdapter.release();
+    localReaderAdapter.release();
+    assertThat(localReaderAdapter.getSessionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void transmitCardRequest_shouldCountOnlyExplicitSessions() throws Exception {
+    when(readerSpi.transmitApdu(any(byte[].class))).thenReturn(ByteArrayUtil.fromHex("9000"));
+    when(apduRequestSpi.getApdu()).thenReturn(ByteArrayUtil.fromHex("0000"));
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+
+    localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.KEEP_OPEN);
+    assertThat(localReaderAdapter.getSessionCount()).isZero();
+
+    localReaderAdapter.acquire();
+    localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.KEEP_OPEN);
+    localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.CLOSE_AFTER);
+    localReaderAdapter.release();
+    assertThat(localReaderAdapter.getSessionCount()).isEqualTo(1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void release_whenNotAcquired_shouldThrowISE() {
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.release();
+  }
+
+  @Test
+  public void tryReserveForBackgroundExchange_whenAcquiredByAnotherThread_shouldReturnFalse()
+      throws Exception {
+    final LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.acquire();
+    final boolean[] isReserved = {true};
+    Thread thread =
+        new Thread() {
+          @Override
+          public void run() {
+            isReserved[0] = localReaderAdapter.tryReserveForBackgroundExchange();
+          }
+        };
+    thread.start();
+    thread.join();
+    localReaderAdapter.release();
+    assertThat(isReserved[0]).isFalse();
+  }
+
+  @Test
+  public void tryReserveForBackgroundExchange_whenIdle_shouldReturnTrueAndNotCountSession() {
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    assertThat(localReaderAdapter.tryReserveForBackgroundExchange()).isTrue();
+    localReaderAdapter.releaseFromBackgroundExchange();
+    assertThat(localReaderAdapter.getSessionCount()).isZero();
+  }
+
+  @Test
+  public void
+      closeLogicalAndPhysicalChannelsSilently_whenAcquiredByAnotherThread_shouldWaitRelease()
+          throws Exception {
+    final LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.acquire();
+    Thread thread =
+        new Thread() {
+          @Override
+          public void run() {
+            localReaderAdapter.closeLogicalAndPhysicalChannelsSilently();
+          }
+        };
+    thread.start();
+    thread.join(100);
+    verify(readerSpi, never()).closePhysicalChannel();
+    localReaderAdapter.release();
+    thread.join();
+    verify(readerSpi).closePhysicalChannel();
+  }
+
+  /*
+   * Logical channels
+   */
+  @Test
+  public void transmitCardRequest_onSupplementaryLogicalChannel_shouldEncodeChannelInClass()
+      throws Exception {
+    byte[] openChannelApdu = ByteArrayUtil.fromHex("0070000001");
+    byte[] requestApdu = ByteArrayUtil.fromHex("00B2014400");
+    byte[] encodedRequestApdu = ByteArrayUtil.fromHex("02B2014400");
+    when(readerSpi.isPhysicalChannelOpen()).thenReturn(true);
+    when(readerSpi.transmitApdu(openChannelApdu)).thenReturn(ByteArrayUtil.fromHex("029000"));
+    when(readerSpi.transmitApdu(encodedRequestApdu)).thenReturn(ByteArrayUtil.fromHex("9000"));
+    when(apduRequestSpi.getApdu()).thenReturn(requestApdu);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    int logicalChannel = localReaderAdapter.openSupplementaryLogicalChannel();
+    CardResponseApi response =
+        localReaderAdapter.transmitCardRequest(
+            cardRequestSpi, logicalChannel, ChannelControl.KEEP_OPEN);
+
+    assertThat(logicalChannel).isEqualTo(2);
+    assertThat(response.isLogicalChannelOpen()).isTrue();
+    verify(readerSpi).transmitApdu(encodedRequestApdu);
+  }
+
+  @Test
+  public void
+      transmitCardRequest_onSupplementaryLogicalChannelWithCloseAfter_shouldCloseOnlyThisChannel()
+          throws Exception {
+    byte[] openChannelApdu = ByteArrayUtil.fromHex("0070000001");
+    byte[] closeChannelApdu = ByteArrayUtil.fromHex("00708002");
+    byte[] encodedRequestApdu = ByteArrayUtil.fromHex("02B2014400");
+    when(readerSpi.isPhysicalChannelOpen()).thenReturn(true);
+    when(readerSpi.transmitApdu(openChannelApdu)).thenReturn(ByteArrayUtil.fromHex("029000"));
+    when(readerSpi.transmitApdu(encodedRequestApdu)).thenReturn(ByteArrayUtil.fromHex("9000"));
+    when(readerSpi.transmitApdu(closeChannelApdu)).thenReturn(ByteArrayUtil.fromHex("9000"));
+    when(apduRequestSpi.getApdu()).thenReturn(ByteArrayUtil.fromHex("00B2014400"));
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    int logicalChannel = localReaderAdapter.openSupplementaryLogicalChannel();
+    CardResponseApi response =
+        localReaderAdapter.transmitCardRequest(
+            cardRequestSpi, logicalChannel, ChannelControl.CLOSE_AFTER);
+
+    assertThat(response.isLogicalChannelOpen()).isFalse();
+    assertThat(response.getApduResponses()).hasSize(1);
+    verify(readerSpi).transmitApdu(closeChannelApdu);
+    verify(readerSpi, never()).closePhysicalChannel();
+    try {
+      localReaderAdapter.transmitCardRequest(
+          cardRequestSpi, logicalChannel, ChannelControl.KEEP_OPEN);
+      shouldHaveThrown(IllegalStateException.class);
+    } catch (IllegalStateException e) {
+      // the logical channel is closed
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void transmitCardRequest_onClosedSupplementaryLogicalChannel_shouldThrowISE()
+      throws Exception {
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.transmitCardRequest(cardRequestSpi, 1, ChannelControl.KEEP_OPEN);
+  }
+
+  /*
+   * Selected application reuse
+   */
+  @Test
+  public void
+      transmitCardSelectionRequests_withSelectedApplicationReuse_shouldNotSelectTheSameApplicationTwice()
+          throws Exception {
+    byte[] selectResponseApdu = ByteArrayUtil.fromHex("123456789000");
+    when(readerSpi.isPhysicalChannelOpen()).thenReturn(true);
+    when(readerSpi.transmitApdu(any(byte[].class))).thenReturn(selectResponseApdu);
+    when(cardSelector.getAid()).thenReturn(ByteArrayUtil.fromHex("1122334455"));
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.setSelectedApplicationReuse(true);
+    List<CardSelectionRequestSpi> cardSelectionRequests =
+        new ArrayList<CardSelectionRequestSpi>(Collections.singletonList(cardSelectionRequestSpi));
+    localReaderAdapter.transmitCardSelectionRequests(
+        cardSelectionRequests, MultiSelectionProcessing.FIRST_MATCH, ChannelControl.KEEP_OPEN);
+    List<CardSelectionResponseApi> cardSelectionResponses =
+        localReaderAdapter.transmitCardSelectionRequests(
+            cardSelectionRequests, MultiSelectionProcessing.FIRST_MATCH, ChannelControl.KEEP_OPEN);
+
+    assertThat(cardSelectionResponses.get(0).hasMatched()).isTrue();
+    assertThat(cardSelectionResponses.get(0).getSelectApplicationResponse().getApdu())
+        .isEqualTo(selectResponseApdu);
+    verify(readerSpi, times(1)).transmitApdu(any(byte[].class));
+  }
+
+  @Test
+  public void
+      transmitCardSelectionRequests_withSelectedApplicationReuseAfterRelease_shouldSelectAgain()
+          throws Exception {
+    when(readerSpi.isPhysicalChannelOpen()).thenReturn(true);
+    when(readerSpi.transmitApdu(any(byte[].class)))
+        .thenReturn(ByteArrayUtil.fromHex("123456789000"));
+    when(cardSelector.getAid()).thenReturn(ByteArrayUtil.fromHex("1122334455"));
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.setSelectedApplicationReuse(true);
+    List<CardSelectionRequestSpi> cardSelectionRequests =
+        new ArrayList<CardSelectionRequestSpi>(Collections.singletonList(cardSelectionRequestSpi));
+    localReaderAdapter.transmitCardSelectionRequests(
+        cardSelectionRequests, MultiSelectionProcessing.FIRST_MATCH, ChannelControl.CLOSE_AFTER);
+    localReaderAdapter.transmitCardSelectionRequests(
+        cardSelectionRequests, MultiSelectionProcessing.FIRST_MATCH, ChannelControl.KEEP_OPEN);
+
+    verify(readerSpi, times(2)).transmitApdu(any(byte[].class));
+  }
+
+  @Test
+  public void
+      transmitCardSelectionRequests_withSelectedApplicationReuseAfterCardRequest_shouldSelectAgain()
+          throws Exception {
+    when(readerSpi.isPhysicalChannelOpen()).thenReturn(true);
+    when(readerSpi.transmitApdu(any(byte[].class)))
+        .thenReturn(ByteArrayUtil.fromHex("123456789000"));
+    when(cardSelector.getAid()).thenReturn(ByteArrayUtil.fromHex("1122334455"));
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+    when(apduRequestSpi.getApdu()).thenReturn(ByteArrayUtil.fromHex("00A4040005AABBCCDDEE00"));
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    localReaderAdapter.setSelectedApplicationReuse(true);
+    List<CardSelectionRequestSpi> cardSelectionRequests =
+        new ArrayList<CardSelectionRequestSpi>(Collections.singletonList(cardSelectionRequestSpi));
+    localReaderAdapter.transmitCardSelectionRequests(
+        cardSelectionRequests, MultiSelectionProcessing.FIRST_MATCH, ChannelControl.KEEP_OPEN);
+    localReaderAdapter.transmitCardRequest(cardRequestSpi, ChannelControl.KEEP_OPEN);
+    localReaderAdapter.transmitCardSelectionRequests(
+        cardSelectionRequests, MultiSelectionProcessing.FIRST_MATCH, ChannelControl.KEEP_OPEN);
+
+    // selection, card request, selection again
+    verify(readerSpi, times(3)).transmitApdu(any(byte[].class));
+  }
+
+  @Test
+  public void transmitCardSelectionRequests_withProcessAll_shouldReadPowerOnDataOnce()
+      throws Exception {
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    List<CardSelectionResponseApi> cardSelectionResponses =
+        localReaderAdapter.transmitCardSelectionRequests(
+            Arrays.asList(cardSelectionRequestSpi, cardSelectionRequestSpi),
+            MultiSelectionProcessing.PROCESS_ALL,
+            ChannelControl.KEEP_OPEN);
+
+    assertThat(cardSelectionResponses).hasSize(2);
+    assertThat(cardSelectionResponses.get(1).getPowerOnData()).isEqualTo(POWER_ON_DATA);
+    verify(readerSpi, times(1)).getPowerOnData();
+  }
+
+  @Test
+  public void
+      transmitCardSelectionRequests_whenTimeBudgetExhausted_shouldMarkRemainingRequestsNotAttempted()
+          throws Exception {
+    CardSelectionRequestSpi slowCardSelectionRequest =
+        new CardSelectionRequestSpi() {
+          @Override
+          public CardSelectorSpi getCardSelector() {
+            return cardSelector;
+          }
+
+          @Override
+          public CardRequestSpi getCardRequest() {
+            try {
+              Thread.sleep(10);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return null;
+          }
+        };
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+    CardSelectionPlanAdapter cardSelectionPlan =
+        new CardSelectionPlanAdapter(
+            Arrays.asList(slowCardSelectionRequest, cardSelectionRequestSpi),
+            Arrays.asList(
+                new CompiledCardSelectorAdapter(cardSelector),
+                new CompiledCardSelectorAdapter(cardSelector)),
+            1,
+            null);
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    List<CardSelectionResponseApi> cardSelectionResponses =
+        localReaderAdapter.transmitCardSelectionRequests(
+            cardSelectionPlan, MultiSelectionProcessing.PROCESS_ALL, ChannelControl.KEEP_OPEN);
+
+    assertThat(cardSelectionResponses).hasSize(2);
+    assertThat(((CardSelectionResponseAdapter) cardSelectionResponses.get(0)).isNotAttempted())
+        .isFalse();
+    assertThat(((CardSelectionResponseAdapter) cardSelectionResponses.get(1)).isNotAttempted())
+        .isTrue();
+    assertThat(cardSelectionResponses.get(1).hasMatched()).isFalse();
+    assertThat(localReaderAdapter.getSelectionTimeBudgetOverrunCount()).isEqualTo(1);
+    verify(cardSelectionRequestSpi, never()).getCardRequest();
+  }
+
+  @Test
+  public void transmitCardSelectionRequests_withResponseListener_shouldNotifyEachResponseInTurn()
+      throws Exception {
+    when(cardSelectionRequestSpi.getCardSelector()).thenReturn(cardSelector);
+    final List<CardSelectionResponseApi> cardSelectionResponses =
+        new ArrayList<CardSelectionResponseApi>();
+    final List<Integer> notifiedIndexes = new ArrayList<Integer>();
+    CardSelectionPlanAdapter cardSelectionPlan =
+        new CardSelectionPlanAdapter(
+            Arrays.asList(cardSelectionRequestSpi, cardSelectionRequestSpi),
+            Arrays.asList(
+                new CompiledCardSelectorAdapter(cardSelector),
+                new CompiledCardSelectorAdapter(cardSelector)),
+            0,
+            new CardSelectionPlanAdapter.ResponseListener() {
+              @Override
+              public void onCardSelectionResponse(
+                  int index, CardSelectionResponseApi cardSelectionResponse) {
+                // each response is notified before the next request is processed
+                assertThat(notifiedIndexes).hasSize(index);
+                notifiedIndexes.add(index);
+                cardSelectionResponses.add(cardSelectionResponse);
+              }
+            });
+
+    LocalReaderAdapter localReaderAdapter = new LocalReaderAdapter(readerSpi, PLUGIN_NAME);
+    localReaderAdapter.register();
+    List<CardSelectionResponseApi> returnedCardSelectionResponses =
+        localReaderAdapter.transmitCardSelectionRequests(
+            cardSelectionPlan, MultiSelectionProcessing.PROCESS_ALL, ChannelControl.KEEP_OPEN);
+
+    assertThat(notifiedIndexes).containsExactly(0, 1);
+    assertThat(cardSelectionResponses).isEqualTo(returnedCardSelectionResponses);
+  }
 }
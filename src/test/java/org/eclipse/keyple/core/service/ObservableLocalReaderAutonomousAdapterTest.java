@@ -111,6 +111,7 @@ public void observerThrowsError_shouldBe_transferTo_handler() {
     RuntimeException e = new RuntimeException();
     testSuite.setObserver(new ReaderObserverSpiMock(e));
     testSuite.insertCard_onWaitForCard_shouldNotify_CardInsertedEvent();
-    verify(handler, times(1)).onReaderObservationError(anyString(), eq(READER_NAME), eq(e));
+    verify(handler, timeout(1000).times(1))
+        .onReaderObservationError(anyString(), eq(READER_NAME), eq(e));
   }
 }
@@ -11,10 +11,13 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.service;
 
+import static org.awaitility.Awaitility.await;
 import static org.eclipse.keyple.core.service.util.PluginAdapterTestUtils.PLUGIN_NAME;
 import static org.eclipse.keyple.core.service.util.ReaderAdapterTestUtils.READER_NAME;
 import static org.mockito.Mockito.mock;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import org.calypsonet.terminal.reader.spi.CardReaderObservationExceptionHandlerSpi;
 import org.eclipse.keyple.core.service.util.ObservableReaderBlockingSpiMock;
 import org.eclipse.keyple.core.service.util.ReaderObserverSpiMock;
@@ -94,4 +97,41 @@ public void removeCard_beforeFinalize_shouldNotify_CardRemoved() {
     // todo flaky?, depends on what values are given for waitInsertion and waitRemoval
     testSuite.removeCard_beforeFinalize_shouldNotify_CardRemoved();
   }
+
+  @Test
+  public void removeObserver_afterStopDetection_shouldReleaseTheMonitoringThread() {
+    testSuite.addFirstObserver_should_startDetection();
+    reader.stopCardDetection();
+    await()
+        .atMost(1, TimeUnit.SECONDS)
+        .until(stateIs(AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_START_DETECTION));
+
+    reader.removeObserver(observer);
+
+    await().atMost(waitInsertion * 2, TimeUnit.MILLISECONDS).until(noMonitoringThreadIsAlive());
+  }
+
+  private Callable<Boolean> stateIs(
+      final AbstractObservableStateAdapter.MonitoringState monitoringState) {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return reader.getCurrentMonitoringState() == monitoringState;
+      }
+    };
+  }
+
+  private Callable<Boolean> noMonitoringThreadIsAlive() {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+          if (thread.getName().startsWith("ReaderMonitoringThread-" + READER_NAME + "-")) {
+            return false;
+          }
+        }
+        return true;
+      }
+    };
+  }
 }
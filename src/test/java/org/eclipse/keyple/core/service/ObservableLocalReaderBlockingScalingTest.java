@@ -0,0 +1,193 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.eclipse.keyple.core.service.util.PluginAdapterTestUtils.PLUGIN_NAME;
+import static org.mockito.Mockito.mock;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.calypsonet.terminal.reader.ObservableCardReader;
+import org.calypsonet.terminal.reader.spi.CardReaderObservationExceptionHandlerSpi;
+import org.eclipse.keyple.core.service.util.ObservableReaderBlockingSpiMock;
+import org.eclipse.keyple.core.service.util.ReaderObserverSpiMock;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ObservableLocalReaderBlockingScalingTest {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(ObservableLocalReaderBlockingScalingTest.class);
+
+  private static final int READER_COUNT = 5000;
+  private static final long WAIT_INSERTION = 60000;
+  private static final long WAIT_REMOVAL = 60000;
+  private static final int MAX_ADDITIONAL_PLATFORM_THREADS = 100;
+  private static final int PLATFORM_THREAD_READER_COUNT = 100;
+  private static final long MAX_HEAP_BYTES_PER_READER = 256 * 1024;
+  private static final String SCALING_READER_NAME_PREFIX = "scalingReader";
+  private static final String MONITORING_THREAD_NAME_PREFIX =
+      "ReaderMonitoringThread-" + SCALING_READER_NAME_PREFIX;
+
+  private List<ObservableLocalReaderAdapter> readers;
+  private List<ObservableReaderBlockingSpiMock> readerSpis;
+  private CardReaderObservationExceptionHandlerSpi handler;
+  private ReaderObserverSpiMock observer;
+
+  @Before
+  public void setUp() {
+    readers = new ArrayList<ObservableLocalReaderAdapter>(READER_COUNT);
+    readerSpis = new ArrayList<ObservableReaderBlockingSpiMock>(READER_COUNT);
+    handler = mock(CardReaderObservationExceptionHandlerSpi.class);
+    observer = new ReaderObserverSpiMock(null);
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    for (ObservableLocalReaderAdapter reader : readers) {
+      reader.unregister();
+    }
+    // the monitoring jobs must have been stopped by the unregistration
+    await().atMost(30, TimeUnit.SECONDS).until(noReaderIsWaiting());
+    for (Thread thread : getMonitoringThreads()) {
+      thread.join(TimeUnit.SECONDS.toMillis(30));
+      assertThat(thread.isAlive()).isFalse();
+    }
+  }
+
+  /*
+   * Virtual threads are opt-in: this test only runs on Java 21 or later with the system property
+   * enabling them, as done by the virtualThreadScalingTest Gradle task.
+   */
+  @Test
+  public void startCardDetection_withBlockingReaders_shouldNotCreateOnePlatformThreadPerReader() {
+    Assume.assumeTrue(MonitoringThreadFactoryAdapter.isVirtualThreadAvailable());
+
+    long[] footprint = startCardDetectionAndMeasureFootprint(READER_COUNT);
+
+    assertThat(footprint[0]).isLessThan(MAX_ADDITIONAL_PLATFORM_THREADS);
+    assertThat(footprint[1] / READER_COUNT).isLessThan(MAX_HEAP_BYTES_PER_READER);
+  }
+
+  @Test
+  public void startCardDetection_onPlatformThreads_shouldUseOneMonitoringThreadPerReader() {
+    Assume.assumeFalse(MonitoringThreadFactoryAdapter.isVirtualThreadAvailable());
+
+    long[] footprint = startCardDetectionAndMeasureFootprint(PLATFORM_THREAD_READER_COUNT);
+
+    List<Thread> monitoringThreads = getMonitoringThreads();
+    assertThat(monitoringThreads).hasSize(PLATFORM_THREAD_READER_COUNT);
+    for (Thread thread : monitoringThreads) {
+      assertThat(thread.isDaemon()).isFalse();
+    }
+    assertThat(footprint[0]).isGreaterThanOrEqualTo(PLATFORM_THREAD_READER_COUNT);
+    assertThat(footprint[1] / PLATFORM_THREAD_READER_COUNT).isLessThan(MAX_HEAP_BYTES_PER_READER);
+  }
+
+  /**
+   * Starts the card detection on the provided number of readers and measures the resulting
+   * footprint, which is logged.
+   *
+   * @return The number of additional platform threads and the number of bytes of additional heap.
+   */
+  private long[] startCardDetectionAndMeasureFootprint(int readerCount) {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    Runtime runtime = Runtime.getRuntime();
+    System.gc();
+    int platformThreadsBefore = threadMXBean.getThreadCount();
+    long usedMemoryBefore = runtime.totalMemory() - runtime.freeMemory();
+
+    startCardDetection(readerCount);
+
+    System.gc();
+    int platformThreadsAfter = threadMXBean.getThreadCount();
+    long usedMemoryAfter = runtime.totalMemory() - runtime.freeMemory();
+
+    logger.info(
+        "{} blocking readers waiting for a card on {} threads: {} additional platform threads, {} KB of additional heap.",
+        readerCount,
+        MonitoringThreadFactoryAdapter.isVirtualThreadAvailable() ? "virtual" : "platform",
+        platformThreadsAfter - platformThreadsBefore,
+        (usedMemoryAfter - usedMemoryBefore) / 1024);
+
+    return new long[] {
+      platformThreadsAfter - platformThreadsBefore, usedMemoryAfter - usedMemoryBefore
+    };
+  }
+
+  private void startCardDetection(int readerCount) {
+    for (int i = 0; i < readerCount; i++) {
+      ObservableReaderBlockingSpiMock readerSpi =
+          new ObservableReaderBlockingSpiMock(
+              SCALING_READER_NAME_PREFIX + i, WAIT_INSERTION, WAIT_REMOVAL);
+      ObservableLocalReaderAdapter reader =
+          new ObservableLocalReaderAdapter(readerSpi, PLUGIN_NAME);
+      reader.register();
+      reader.setReaderObservationExceptionHandler(handler);
+      reader.addObserver(observer);
+      reader.startCardDetection(ObservableCardReader.DetectionMode.REPEATING);
+      readers.add(reader);
+      readerSpis.add(readerSpi);
+    }
+    await().atMost(30, TimeUnit.SECONDS).until(allReadersAreWaitingForCardInsertion());
+  }
+
+  private static List<Thread> getMonitoringThreads() {
+    List<Thread> monitoringThreads = new ArrayList<Thread>();
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().startsWith(MONITORING_THREAD_NAME_PREFIX)) {
+        monitoringThreads.add(thread);
+      }
+    }
+    return monitoringThreads;
+  }
+
+  private Callable<Boolean> noReaderIsWaiting() {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        for (ObservableReaderBlockingSpiMock readerSpi : readerSpis) {
+          if (readerSpi.isWaiting()) {
+            return false;
+          }
+        }
+        return true;
+      }
+    };
+  }
+
+  private Callable<Boolean> allReadersAreWaitingForCardInsertion() {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        for (int i = 0; i < readers.size(); i++) {
+          if (readers.get(i).getCurrentMonitoringState()
+                  != AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_INSERTION
+              || !readerSpis.get(i).isWaiting()) {
+            return false;
+          }
+        }
+        return true;
+      }
+    };
+  }
+}
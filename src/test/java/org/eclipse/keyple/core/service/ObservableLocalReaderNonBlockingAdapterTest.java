@@ -16,9 +16,17 @@
 import static org.eclipse.keyple.core.service.util.PluginAdapterTestUtils.PLUGIN_NAME;
 import static org.eclipse.keyple.core.service.util.ReaderAdapterTestUtils.READER_NAME;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import org.calypsonet.terminal.reader.CardReaderEvent;
+import org.calypsonet.terminal.reader.ObservableCardReader;
 import org.calypsonet.terminal.reader.spi.CardReaderObservationExceptionHandlerSpi;
+import org.calypsonet.terminal.reader.spi.CardReaderObserverSpi;
+import org.eclipse.keyple.core.service.util.BlockingReaderObserverSpiMock;
 import org.eclipse.keyple.core.service.util.ObservableReaderNonBlockingSpiMock;
 import org.eclipse.keyple.core.service.util.ReaderObserverSpiMock;
 import org.junit.After;
@@ -102,4 +110,371 @@ public void removeCard_beforeFinalize_shouldNotify_CardRemoved() {
     assertThat(reader.getCurrentMonitoringState())
         .isEqualTo(AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_PROCESSING);
   }
+
+  @Test
+  public void notifyObservationError_whenNoHandlerIsSet_shouldNotThrow() {
+    reader.notifyObservationError(new IllegalStateException("test"));
+  }
+
+  @Test
+  public void notifyObservationError_shouldNotifyTheHandler() {
+    reader.setReaderObservationExceptionHandler(handler);
+    IllegalStateException e = new IllegalStateException("test");
+
+    reader.notifyObservationError(e);
+
+    verify(handler).onReaderObservationError(PLUGIN_NAME, READER_NAME, e);
+  }
+
+  @Test
+  public void getCurrentPollingCycleDuration_byDefault_shouldReturn200() {
+    testSuite.addFirstObserver_should_startDetection();
+    assertThat(reader.getCurrentPollingCycleDuration()).isEqualTo(200);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setPollingCycleDurations_whenSlowIsLowerThanFast_shouldIAE() {
+    reader.setPollingCycleDurations(100, 50);
+  }
+
+  @Test
+  public void setPollingCycleDurations_whenNoCard_shouldBackOffToSlowCycle() {
+    reader.setPollingCycleDurations(10, 80);
+    reader.setReaderObservationExceptionHandler(handler);
+    reader.addObserver(observer);
+    reader.startCardDetection(ObservableCardReader.DetectionMode.REPEATING);
+
+    await().atMost(1, TimeUnit.SECONDS).until(pollingCycleDurationIs(80));
+  }
+
+  @Test
+  public void stopCardDetection_shouldStopPollingCardPresence() throws Exception {
+    reader.setPollingCycleDurations(10, 10);
+    testSuite.addFirstObserver_should_startDetection();
+    await().atMost(1, TimeUnit.SECONDS).until(cardPresenceCheckCountIsAtLeast(2));
+
+    reader.stopCardDetection();
+    await()
+        .atMost(1, TimeUnit.SECONDS)
+        .until(stateIs(AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_START_DETECTION));
+    // lets a cycle that was running when the detection stopped complete
+    Thread.sleep(50);
+    int cardPresenceCheckCount = readerSpi.getCardPresenceCheckCount();
+    Thread.sleep(100);
+
+    assertThat(readerSpi.getCardPresenceCheckCount()).isEqualTo(cardPresenceCheckCount);
+  }
+
+  @Test
+  public void removeCard_whenPresenceIsCheckedByReader_shouldNotify_CardRemoved() {
+    reader.setCardPresenceCheckStrategy(ObservableLocalReader.CardPresenceCheckStrategy.READER);
+    testSuite.removeCard_afterFinalize_shouldNotify_CardRemoved();
+  }
+
+  @Test
+  public void removeCard_whenPresenceIsCheckedByCustomApdu_shouldNotify_CardRemoved() {
+    reader.setCardPresenceCheckApdu(
+        new byte[] {(byte) 0x00, (byte) 0xB0, (byte) 0x00, (byte) 0x00});
+    testSuite.removeCard_afterFinalize_shouldNotify_CardRemoved();
+  }
+
+  @Test
+  public void removeCard_severalTimes_shouldNotifyTheSameCardRemovedEvent() {
+    testSuite.removeCard_afterFinalize_shouldNotify_CardRemoved();
+    CardReaderEvent firstEvent = observer.getLastEventOfType(CardReaderEvent.Type.CARD_REMOVED);
+
+    insertAndRemoveCard();
+
+    assertThat(observer.getLastEventOfType(CardReaderEvent.Type.CARD_REMOVED)).isSameAs(firstEvent);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setCardPresenceCheckApdu_whenApduIsTooShort_shouldIAE() {
+    reader.setCardPresenceCheckApdu(new byte[] {(byte) 0x00, (byte) 0xC0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setCardPresenceCacheValidity_whenNegative_shouldIAE() {
+    reader.setCardPresenceCacheValidity(-1);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void setCardPresenceCheckStrategy_whenReaderIsNotRegistered_shouldISE() {
+    new ObservableLocalReaderAdapter(readerSpi, PLUGIN_NAME)
+        .setCardPresenceCheckStrategy(ObservableLocalReader.CardPresenceCheckStrategy.READER);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void setCardPresenceCheckApdu_whenReaderIsNotRegistered_shouldISE() {
+    new ObservableLocalReaderAdapter(readerSpi, PLUGIN_NAME)
+        .setCardPresenceCheckApdu(new byte[] {(byte) 0x00, (byte) 0xB0, (byte) 0x00, (byte) 0x00});
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void setCardPresenceCacheValidity_whenReaderIsNotRegistered_shouldISE() {
+    new ObservableLocalReaderAdapter(readerSpi, PLUGIN_NAME).setCardPresenceCacheValidity(0);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void setAsynchronousNotification_whenObserverIsRegistered_shouldISE() {
+    reader.setReaderObservationExceptionHandler(handler);
+    reader.addObserver(observer);
+    reader.setAsynchronousNotification(1, ObservableLocalReader.NotificationOverflowPolicy.BLOCK);
+  }
+
+  @Test
+  public void notifyObservers_whenAsynchronousAndObserverIsSlow_shouldDropOldestEvents()
+      throws Exception {
+    BlockingReaderObserverSpiMock slowObserver = new BlockingReaderObserverSpiMock();
+    reader.setAsynchronousNotification(
+        1, ObservableLocalReader.NotificationOverflowPolicy.DROP_OLDEST);
+    reader.setReaderObservationExceptionHandler(handler);
+    reader.addObserver(slowObserver);
+    reader.addObserver(observer);
+    reader.startCardDetection(ObservableCardReader.DetectionMode.REPEATING);
+
+    // the slow observer blocks on the first card insertion
+    insertAndRemoveCard();
+    slowObserver.awaitFirstEvent();
+    // 1 card removal, then 2 card insertions and removals, only the last one is kept
+    insertAndRemoveCard();
+    insertAndRemoveCard();
+
+    assertThat(reader.getNotificationQueueDepth(slowObserver)).isEqualTo(1);
+    assertThat(reader.getNotificationDropCount(slowObserver)).isEqualTo(4);
+    assertThat(reader.getNotificationDropCount(observer)).isEqualTo(0);
+
+    slowObserver.release();
+    await().atMost(1, TimeUnit.SECONDS).until(notificationQueueIsEmpty(slowObserver));
+    assertThat(slowObserver.getEventCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void notifyObservers_whenCoalescing_shouldDropInsertionAndRemovalPairs() throws Exception {
+    BlockingReaderObserverSpiMock slowObserver = new BlockingReaderObserverSpiMock();
+    reader.setAsynchronousNotification(
+        2, ObservableLocalReader.NotificationOverflowPolicy.COALESCE);
+    reader.setReaderObservationExceptionHandler(handler);
+    reader.addObserver(slowObserver);
+    reader.startCardDetection(ObservableCardReader.DetectionMode.REPEATING);
+
+    insertAndRemoveCard();
+    slowObserver.awaitFirstEvent();
+    // the first card removal is kept, the 2 next insertion/removal pairs cancel out
+    insertAndRemoveCard();
+    insertAndRemoveCard();
+
+    assertThat(reader.getNotificationDropCount(slowObserver)).isEqualTo(4);
+
+    slowObserver.release();
+    await().atMost(1, TimeUnit.SECONDS).until(notificationQueueIsEmpty(slowObserver));
+    assertThat(slowObserver.getEventCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void removeObserver_whenAsynchronous_shouldDropPendingEvents() throws Exception {
+    BlockingReaderObserverSpiMock slowObserver = new BlockingReaderObserverSpiMock();
+    reader.setAsynchronousNotification(
+        4, ObservableLocalReader.NotificationOverflowPolicy.DROP_OLDEST);
+    reader.setReaderObservationExceptionHandler(handler);
+    reader.addObserver(slowObserver);
+    reader.addObserver(observer);
+    reader.startCardDetection(ObservableCardReader.DetectionMode.REPEATING);
+
+    insertAndRemoveCard();
+    slowObserver.awaitFirstEvent();
+    insertAndRemoveCard();
+    assertThat(reader.getNotificationQueueDepth(slowObserver)).isEqualTo(3);
+
+    reader.removeObserver(slowObserver);
+    slowObserver.release();
+    Thread.sleep(100);
+
+    assertThat(slowObserver.getEventCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void insertCard_whenObserversOfManyReadersAreBlocked_shouldNotify_CardInsertedEvent()
+      throws Exception {
+    // more readers blocked in their observers than processors, which a pool of threads bounded
+    // according to the number of processors could not serve
+    int blockedReaderCount = 2 * Runtime.getRuntime().availableProcessors() + 4;
+    List<ObservableLocalReaderAdapter> blockedReaders =
+        new ArrayList<ObservableLocalReaderAdapter>(blockedReaderCount);
+    List<BlockingReaderObserverSpiMock> blockedObservers =
+        new ArrayList<BlockingReaderObserverSpiMock>(blockedReaderCount);
+    try {
+      for (int i = 0; i < blockedReaderCount; i++) {
+        ObservableReaderNonBlockingSpiMock blockedReaderSpi =
+            new ObservableReaderNonBlockingSpiMock(READER_NAME + "-blocked-" + i);
+        ObservableLocalReaderAdapter blockedReader =
+            new ObservableLocalReaderAdapter(blockedReaderSpi, PLUGIN_NAME);
+        blockedReader.register();
+        blockedReaders.add(blockedReader);
+        BlockingReaderObserverSpiMock blockedObserver = new BlockingReaderObserverSpiMock();
+        blockedObservers.add(blockedObserver);
+        blockedReader.setReaderObservationExceptionHandler(handler);
+        blockedReader.addObserver(blockedObserver);
+        blockedReader.startCardDetection(ObservableCardReader.DetectionMode.REPEATING);
+        blockedReaderSpi.setCardPresent(true);
+      }
+      for (BlockingReaderObserverSpiMock blockedObserver : blockedObservers) {
+        blockedObserver.awaitFirstEvent();
+      }
+
+      reader.setReaderObservationExceptionHandler(handler);
+      reader.addObserver(observer);
+      reader.startCardDetection(ObservableCardReader.DetectionMode.REPEATING);
+      readerSpi.setCardPresent(true);
+
+      await()
+          .atMost(1, TimeUnit.SECONDS)
+          .until(observerHasReceived(CardReaderEvent.Type.CARD_INSERTED));
+    } finally {
+      for (BlockingReaderObserverSpiMock blockedObserver : blockedObservers) {
+        blockedObserver.release();
+      }
+      for (ObservableLocalReaderAdapter blockedReader : blockedReaders) {
+        blockedReader.unregister();
+      }
+    }
+  }
+
+  private void insertAndRemoveCard() {
+    readerSpi.setCardPresent(true);
+    await()
+        .atMost(1, TimeUnit.SECONDS)
+        .until(stateIs(AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_PROCESSING));
+    reader.finalizeCardProcessing();
+    await()
+        .atMost(1, TimeUnit.SECONDS)
+        .until(stateIs(AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_REMOVAL));
+    readerSpi.setCardPresent(false);
+    await()
+        .atMost(1, TimeUnit.SECONDS)
+        .until(stateIs(AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_INSERTION));
+  }
+
+  private Callable<Boolean> stateIs(
+      final AbstractObservableStateAdapter.MonitoringState monitoringState) {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return reader.getCurrentMonitoringState() == monitoringState;
+      }
+    };
+  }
+
+  private Callable<Boolean> observerHasReceived(final CardReaderEvent.Type eventType) {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return observer.hasReceived(eventType);
+      }
+    };
+  }
+
+  private Callable<Boolean> notificationQueueIsEmpty(final CardReaderObserverSpi observer) {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return reader.getNotificationQueueDepth(observer) == 0;
+      }
+    };
+  }
+
+  @Test
+  public void getCurrentMonitoringState_whenNeverStarted_shouldBeWaitForStartDetection() {
+    assertThat(reader.getCurrentMonitoringState())
+        .isEqualTo(AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_START_DETECTION);
+    assertThat(reader.countObservers()).isEqualTo(0);
+    assertThat(
+            sum(
+                reader.getDwellTimeHistogram(
+                    ObservableLocalReader.MonitoringState.WAIT_FOR_START_DETECTION)))
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void getTransitionCount_afterCardProcessing_shouldCountEachTransition() {
+    testSuite.finalizeCardProcessing_afterInsert_switchState();
+
+    assertThat(
+            reader.getTransitionCount(
+                ObservableLocalReader.MonitoringState.WAIT_FOR_START_DETECTION,
+                ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_INSERTION))
+        .isEqualTo(1);
+    assertThat(
+            reader.getTransitionCount(
+                ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_INSERTION,
+                ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_PROCESSING))
+        .isEqualTo(1);
+    assertThat(
+            reader.getTransitionCount(
+                ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_PROCESSING,
+                ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_REMOVAL))
+        .isEqualTo(1);
+    assertThat(
+            reader.getTransitionCount(
+                ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_REMOVAL,
+                ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_INSERTION))
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void getDwellTimeHistogram_afterCardInsertion_shouldCountOneStayInEachPreviousState() {
+    testSuite.insertCard_onWaitForCard_shouldNotify_CardInsertedEvent();
+
+    assertThat(
+            sum(
+                reader.getDwellTimeHistogram(
+                    ObservableLocalReader.MonitoringState.WAIT_FOR_START_DETECTION)))
+        .isEqualTo(1);
+    assertThat(
+            sum(
+                reader.getDwellTimeHistogram(
+                    ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_INSERTION)))
+        .isEqualTo(1);
+    assertThat(
+            sum(
+                reader.getDwellTimeHistogram(
+                    ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_PROCESSING)))
+        .isEqualTo(0);
+    assertThat(
+            reader.getMaxDwellTime(ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_INSERTION))
+        .isLessThanOrEqualTo(
+            reader.getTotalDwellTime(
+                ObservableLocalReader.MonitoringState.WAIT_FOR_CARD_INSERTION));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getTotalDwellTime_whenStateIsNull_shouldIAE() {
+    reader.getTotalDwellTime(null);
+  }
+
+  private static long sum(long[] counters) {
+    long sum = 0;
+    for (long counter : counters) {
+      sum += counter;
+    }
+    return sum;
+  }
+
+  private Callable<Boolean> cardPresenceCheckCountIsAtLeast(final int count) {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return readerSpi.getCardPresenceCheckCount() >= count;
+      }
+    };
+  }
+
+  private Callable<Boolean> pollingCycleDurationIs(final int cycleDurationMillis) {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return reader.getCurrentPollingCycleDuration() == cycleDurationMillis;
+      }
+    };
+  }
 }
@@ -55,8 +55,9 @@ public void addFirstObserver_should_startDetection() {
     reader.startCardDetection(ObservableCardReader.DetectionMode.REPEATING);
     assertThat(reader.countObservers()).isEqualTo(1);
 
-    assertThat(reader.getCurrentMonitoringState())
-        .isEqualTo(AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_INSERTION);
+    await()
+        .atMost(1, TimeUnit.SECONDS)
+        .until(stateIs(AbstractObservableStateAdapter.MonitoringState.WAIT_FOR_CARD_INSERTION));
   }
 
   public void removeLastObserver_shoul_StopDetection() {
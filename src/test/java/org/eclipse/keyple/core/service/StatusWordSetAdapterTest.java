@@ -0,0 +1,57 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import org.junit.Test;
+
+public class StatusWordSetAdapterTest {
+
+  @Test
+  public void contains_whenStatusWordBelongsToTheSet_shouldReturnTrue() {
+    StatusWordSetAdapter statusWordSet =
+        StatusWordSetAdapter.of(new HashSet<Integer>(Arrays.asList(0x9000, 0x6283)));
+    assertThat(statusWordSet.contains(0x9000)).isTrue();
+    assertThat(statusWordSet.contains(0x6283)).isTrue();
+    assertThat(statusWordSet.contains(0x6A82)).isFalse();
+  }
+
+  @Test
+  public void contains_whenSetIsNull_shouldReturnFalse() {
+    assertThat(StatusWordSetAdapter.of(null).contains(0x9000)).isFalse();
+  }
+
+  @Test
+  public void with_shouldReturnASetContainingTheNewStatusWord() {
+    StatusWordSetAdapter statusWordSet =
+        StatusWordSetAdapter.of(new HashSet<Integer>(Arrays.asList(0x9000)));
+    StatusWordSetAdapter newStatusWordSet = statusWordSet.with(0x6283);
+    assertThat(newStatusWordSet.contains(0x6283)).isTrue();
+    assertThat(newStatusWordSet.contains(0x9000)).isTrue();
+    assertThat(statusWordSet.contains(0x6283)).isFalse();
+    assertThat(newStatusWordSet.with(0x9000)).isSameAs(newStatusWordSet);
+  }
+
+  @Test
+  public void contains_whenSetIsLarge_shouldUseTheSortedValues() {
+    HashSet<Integer> statusWords = new HashSet<Integer>();
+    for (int i = 0; i < 20; i++) {
+      statusWords.add(0x6100 + i);
+    }
+    StatusWordSetAdapter statusWordSet = StatusWordSetAdapter.of(statusWords);
+    assertThat(statusWordSet.contains(0x6113)).isTrue();
+    assertThat(statusWordSet.contains(0x6114)).isFalse();
+  }
+}
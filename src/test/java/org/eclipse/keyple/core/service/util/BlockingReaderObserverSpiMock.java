@@ -0,0 +1,47 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.service.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.calypsonet.terminal.reader.CardReaderEvent;
+import org.calypsonet.terminal.reader.spi.CardReaderObserverSpi;
+
+public class BlockingReaderObserverSpiMock implements CardReaderObserverSpi {
+
+  final CountDownLatch firstEventReceived = new CountDownLatch(1);
+  final CountDownLatch released = new CountDownLatch(1);
+  final AtomicInteger eventCount = new AtomicInteger();
+
+  @Override
+  public void onReaderEvent(CardReaderEvent readerEvent) {
+    eventCount.incrementAndGet();
+    firstEventReceived.countDown();
+    try {
+      released.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public void awaitFirstEvent() throws InterruptedException {
+    firstEventReceived.await();
+  }
+
+  public void release() {
+    released.countDown();
+  }
+
+  public int getEventCount() {
+    return eventCount.get();
+  }
+}
@@ -40,6 +40,7 @@
   long waitInsertion;
   long waitRemoval;
   String name;
+  volatile Thread waitingThread;
 
   public ObservableReaderBlockingSpiMock(String name, long waitInsertion, long waitRemoval) {
     this.detectionStarted = false;
@@ -138,11 +139,15 @@ public void onUnregister() {}
    */
   @Override
   public void waitForCardInsertion() throws ReaderIOException, TaskCanceledException {
+    waitingThread = Thread.currentThread();
     try {
       // card is detected after a timeout
       sleep(waitInsertion);
       insertions.incrementAndGet();
     } catch (InterruptedException e) {
+      throw new TaskCanceledException("the waiting for the card insertion has been stopped");
+    } finally {
+      waitingThread = null;
     }
     // if card already inserted, throw ex
     if (insertions.get() > 1) {
@@ -152,16 +157,20 @@ public void waitForCardInsertion() throws ReaderIOException, TaskCanceledExcepti
 
   @Override
   public void stopWaitForCardInsertion() {
-    Thread.currentThread().interrupt();
+    interruptWaitingThread();
   }
 
   @Override
   public void waitForCardRemoval() throws ReaderIOException, TaskCanceledException {
+    waitingThread = Thread.currentThread();
     try {
       sleep(waitRemoval);
       // card removal is detected after a timeout
       removals.incrementAndGet();
     } catch (InterruptedException e) {
+      throw new TaskCanceledException("the waiting for the card removal has been stopped");
+    } finally {
+      waitingThread = null;
     }
     if (removals.get() > 1) {
       throw new ReaderIOException("card not removed ?!");
@@ -170,7 +179,7 @@ public void waitForCardRemoval() throws ReaderIOException, TaskCanceledException
 
   @Override
   public void stopWaitForCardRemoval() {
-    Thread.currentThread().interrupt();
+    interruptWaitingThread();
   }
 
   @Override
@@ -182,4 +191,16 @@ public void waitForCardRemovalDuringProcessing() throws ReaderIOException, TaskC
   public void stopWaitForCardRemovalDuringProcessing() {
     stopWaitForCardRemoval();
   }
+
+  /** Indicates whether a thread is currently waiting for a card insertion or removal. */
+  public boolean isWaiting() {
+    return waitingThread != null;
+  }
+
+  private void interruptWaitingThread() {
+    Thread thread = waitingThread;
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
 }
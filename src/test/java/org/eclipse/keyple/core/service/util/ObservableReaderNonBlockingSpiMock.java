@@ -12,6 +12,7 @@
 package org.eclipse.keyple.core.service.util;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.keyple.core.common.KeypleReaderExtension;
 import org.eclipse.keyple.core.plugin.CardIOException;
 import org.eclipse.keyple.core.plugin.ReaderIOException;
@@ -31,6 +32,7 @@
   boolean detectionStarted;
   boolean physicalChannelOpen;
   AtomicBoolean cardPresent;
+  AtomicInteger cardPresenceCheckCount;
   String name;
 
   public ObservableReaderNonBlockingSpiMock(String name) {
@@ -38,6 +40,7 @@ public ObservableReaderNonBlockingSpiMock(String name) {
     this.name = name;
     this.physicalChannelOpen = false;
     this.cardPresent = new AtomicBoolean(false);
+    this.cardPresenceCheckCount = new AtomicInteger();
   }
 
   @Override
@@ -88,6 +91,7 @@ public boolean isPhysicalChannelOpen() {
 
   @Override
   public boolean checkCardPresence() throws ReaderIOException {
+    cardPresenceCheckCount.incrementAndGet();
     return cardPresent.get();
   }
 
@@ -117,4 +121,8 @@ public void onUnregister() {}
   public void setCardPresent(boolean cardPresent) {
     this.cardPresent.set(cardPresent);
   }
+
+  public int getCardPresenceCheckCount() {
+    return cardPresenceCheckCount.get();
+  }
 }